@@ -2,21 +2,48 @@ package com.tablr;
 
 import com.tablr.controller.AppController;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Entry point for the application.
  */
 public class App {
+    // System property naming the journal file, an empty value turns journaling off
+    private static final String JOURNAL_PROPERTY = "tablr.journal";
 
     /**
      * The main method that serves as the entry point for the application.
      * It initializes the application by invoking the AppController.
+     * The tables of a session that crashed are restored from its journal, if there is one.
      *
      * @param args Command-line arguments passed to the application.
      */
     public static void main(String[] args) {
+        Path journalFile = journalFile();
         java.awt.EventQueue.invokeLater(() -> {
-            AppController appController = new AppController();
+            AppController appController = new AppController(journalFile);
+            // Also run when the application is killed, so the journal is written out but kept for the next launch;
+            // only closing the window ends the session and deletes it
+            Runtime.getRuntime().addShutdownHook(new Thread(appController::close, "command-journal-close"));
             appController.initializeApp();
         });
     }
-}
\ No newline at end of file
+
+    private static Path journalFile() {
+        String property = System.getProperty(JOURNAL_PROPERTY);
+        Path file = property == null
+                ? Path.of(System.getProperty("user.home"), ".tablr", "session.journal")
+                : property.isEmpty() ? null : Path.of(property);
+        if (file != null && file.getParent() != null) {
+            try {
+                Files.createDirectories(file.getParent());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return file;
+    }
+}
@@ -42,6 +42,12 @@ public class BooleanCell extends Cell {
         this.grayedOut = !this.grayedOut;
     }
 
+    @Override
+    void moveTo(int x, int y) {
+        checkBox.translate(x - region.x, y - region.y);
+        super.moveTo(x, y);
+    }
+
     @Override
     public void setValid(boolean valid) {
         this.valid = valid;
@@ -64,6 +70,14 @@ public class BooleanCell extends Cell {
      * @return
      */
     public Rectangle getCheckBox() {
+        return new Rectangle(checkBox.x + origin.x, checkBox.y + origin.y, checkBox.width, checkBox.height);
+    }
+
+    /**
+     * Retrieves Rectangle representing area of checkbox relative to the origin of its area
+     * @return
+     */
+    public Rectangle getAreaCheckBox() {
         return checkBox;
     }
 
@@ -74,7 +88,7 @@ public class BooleanCell extends Cell {
      * @return
      */
     public boolean isCheckBoxClicked(int x, int y) {
-        return checkBox.contains(x, y);
+        return checkBox.contains(x - origin.x, y - origin.y);
     }
 
     /**
@@ -6,8 +6,11 @@ import java.awt.*;
  * abstract to represent a cell in UI, contains a Rectangle
  */
 public abstract class Cell {
+    // Region relative to the origin of the area holding this cell
     protected Rectangle region;
     protected Boolean selected;
+    // Origin of the area holding this cell, shared by all its cells so moving the area moves them at once
+    protected Point origin = new Point();
 
     /**
      * Constructs a new Cell
@@ -30,12 +33,36 @@ public abstract class Cell {
     }
 
     /**
-     * Retrives this cell's region
+     * Retrives this cell's region on the screen
      */
     public Rectangle getRegion() {
+        return new Rectangle(region.x + origin.x, region.y + origin.y, region.width, region.height);
+    }
+
+    /**
+     * Retrieves this cell's region relative to the origin of its area, to draw the area with a single translation
+     */
+    public Rectangle getAreaRegion() {
         return region;
     }
 
+    /**
+     * Places this cell in an area, its region is then relative to the origin of the area
+     * @param origin | origin of the area, shared with its other cells
+     */
+    void attachTo(Point origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Moves this cell's region to given coordinates relative to its area, keeping its size
+     * @param x | new x coordinate of the region
+     * @param y | new y coordinate of the region
+     */
+    void moveTo(int x, int y) {
+        region.setLocation(x, y);
+    }
+
     /**
      * Sets valid property of a cell to given value.
      * @param valid | new valid value of cell.
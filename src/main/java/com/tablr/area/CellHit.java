@@ -0,0 +1,12 @@
+package com.tablr.area;
+
+/**
+ * Cell of a TableArea found at a point by {@link TableArea#hitTest(int, int)}.
+ *
+ * @param column | index of the column of the cell
+ * @param row | index of the row of the cell, in the whole table for areas that only build the visible rows
+ * @param cell | the cell at the point
+ * @param onCheckBox | True if the point lies on the checkbox of a BooleanCell, false otherwise.
+ */
+public record CellHit(int column, int row, Cell cell, boolean onCheckBox) {
+}
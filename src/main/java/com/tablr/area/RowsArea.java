@@ -0,0 +1,326 @@
+package com.tablr.area;
+
+import com.tablr.model.Column;
+import com.tablr.model.Table;
+
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * TableArea of Rows Mode that only holds cells for the rows around the visible part of the table.
+ * When the area scrolls, the cells of rows leaving the view are given the values of the rows entering it,
+ * so the amount of cells depends on the height of the subwindow instead of on the amount of rows.
+ * Row indices and coordinates still refer to the whole table: row i always lies at rowTop + 20 * i.
+ * After a change of the table only the cells it touched are given new values, see {@link #patch}.
+ */
+public class RowsArea extends TableArea {
+    /**
+     * Tells which cells a change of the table touched.
+     */
+    @FunctionalInterface
+    public interface CellFilter {
+        /**
+         * @param columnId | ID of the column of the cell
+         * @param row | index of the row of the cell
+         * @return True if the cell may show another value now, false otherwise.
+         */
+        boolean isChanged(int columnId, int row);
+    }
+
+    /** Rows built above and below the visible ones, so a small scroll does not rebind any cell */
+    public static final int OVERSCAN = 5;
+    // Rows built before the area knows which part is visible
+    private static final int INITIAL_ROWS = 20;
+    private static final int ROW_HEIGHT = 20;
+
+    private List<Column<?>> columns;
+    private int rowCount;
+    // Row shown by the first cell of every column
+    private int firstRow = 0;
+    // Visible part given to the last setViewport relative to the origin, kept to build rows again after rows were added or removed
+    private boolean hasViewport = false;
+    private int viewTop, viewBottom;
+    // Cell being edited that scrolled out of the built rows, put back when its row is built again
+    private Cell held;
+    private int heldRow = -1;
+    private int heldColumn = -1;
+
+    /**
+     * Constructs a RowsArea for the first rows of given table
+     *
+     * @param source | table to display, the area reads its values while scrolling so it should not change anymore
+     */
+    public RowsArea(Table source) {
+        super(source.getColumnCount(), 0);
+        this.columns = source.getColumns();
+        this.rowCount = source.getRowCount();
+        int end = Math.min(rowCount, INITIAL_ROWS + OVERSCAN);
+        for (int c = 0; c < columns.size(); c++) {
+            Cell[] cells = new Cell[end];
+            for (int row = 0; row < end; row++) {
+                cells[row] = bind(null, c, row, 20 + 100 * c, 40 + ROW_HEIGHT * row);
+            }
+            table[c] = cells;
+        }
+    }
+
+    /**
+     * Retrieves the amount of rows of the displayed table, not only the built ones
+     * @return amount of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Retrieves index of the row shown by the first built cell of every column
+     * @return index of the first built row
+     */
+    public int getFirstBuiltRow() {
+        return firstRow;
+    }
+
+    /**
+     * Builds the cells for the visible rows and OVERSCAN rows around them.
+     * Cells of rows that stay built keep their row, the others are reused for the new rows.
+     *
+     * @param top | y coordinate of the top of the visible part
+     * @param bottom | y coordinate of the bottom of the visible part
+     */
+    @Override
+    public void setViewport(int top, int bottom) {
+        hasViewport = true;
+        viewTop = top - origin.y;
+        viewBottom = bottom - origin.y;
+        buildVisibleRows();
+    }
+
+    /**
+     * Brings the cells up to date with a newer version of the same table, with the same columns.
+     * Cells of rows that moved and cells the filter reports are given their new value, all other cells are left alone.
+     * When rows were added or removed, the built rows follow the new amount of rows.
+     *
+     * @param source | newer version of the table, which should not change anymore, like a snapshot
+     * @param firstMovedRow | first row that was inserted or removed, Integer.MAX_VALUE if no rows moved
+     * @param changed | tells which other cells got another value
+     * @throws IllegalArgumentException | if the table has another amount of columns
+     */
+    public void patch(Table source, int firstMovedRow, CellFilter changed) {
+        if (source.getColumnCount() != table.length) {
+            throw new IllegalArgumentException("Table must have the same columns");
+        }
+        this.columns = source.getColumns();
+        int oldCount = rowCount;
+        this.rowCount = source.getRowCount();
+        int rowTop = rowTop();
+        for (int c = 0; c < table.length; c++) {
+            int x = titles[c].region.x;
+            int columnId = idList.get(c);
+            Cell[] cells = table[c];
+            for (int i = 0; i < cells.length; i++) {
+                int row = firstRow + i;
+                if (row < rowCount && (row >= firstMovedRow || changed.isChanged(columnId, row))) {
+                    cells[i] = bind(cells[i], c, row, x, rowTop + ROW_HEIGHT * row);
+                }
+            }
+        }
+        if (rowCount != oldCount) {
+            if (selectedRow >= firstMovedRow) {
+                selectedRow = -1;
+            }
+            if (held != null && heldRow >= firstMovedRow) {
+                held = null;
+            }
+            buildVisibleRows();
+        }
+    }
+
+    /**
+     * Builds the cells for the rows around the last viewport, or the first rows if there was none yet
+     */
+    private void buildVisibleRows() {
+        if (table.length == 0) {
+            return;
+        }
+        int rowTop = rowTop();
+        int first = 0;
+        int end = Math.min(rowCount, INITIAL_ROWS + OVERSCAN);
+        if (hasViewport) {
+            end = Math.min(rowCount, Math.max(0, Math.floorDiv(viewBottom - rowTop, ROW_HEIGHT) + 1 + OVERSCAN));
+            first = Math.min(end, Math.max(0, Math.floorDiv(viewTop - rowTop, ROW_HEIGHT) - OVERSCAN));
+        }
+        if (first == firstRow && end == firstRow + table[0].length) {
+            return;
+        }
+        for (int c = 0; c < table.length; c++) {
+            table[c] = rebind(c, first, end, rowTop);
+        }
+        firstRow = first;
+    }
+
+    /**
+     * Moves the cells of a column to the rows [first, end), reusing the cells of rows that are no longer built
+     */
+    private Cell[] rebind(int c, int first, int end, int rowTop) {
+        Cell[] old = table[c];
+        Cell[] cells = new Cell[end - first];
+        Deque<Cell> free = new ArrayDeque<>();
+        for (int i = 0; i < old.length; i++) {
+            int row = firstRow + i;
+            if (row >= first && row < end) {
+                cells[row - first] = old[i];
+            } else if (old[i] instanceof NormalCell n && n.isCellSelected()) {
+                held = n;
+                heldRow = row;
+                heldColumn = c;
+            } else {
+                free.push(old[i]);
+            }
+        }
+        int x = titles[c].region.x;
+        for (int row = first; row < end; row++) {
+            if (cells[row - first] != null) continue;
+            int y = rowTop + ROW_HEIGHT * row;
+            if (held != null && heldRow == row && heldColumn == c) {
+                held.moveTo(x, y);
+                cells[row - first] = held;
+                held = null;
+            } else {
+                cells[row - first] = bind(free.poll(), c, row, x, y);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Shows the value of a row in a cell
+     *
+     * @param cell | cell to reuse, null to create a new one
+     * @param c | index of the column
+     * @param row | index of the row
+     * @param x | x coordinate of the cell, relative to the origin
+     * @param y | y coordinate of the cell, relative to the origin
+     * @return the cell showing the value
+     */
+    private Cell bind(Cell cell, int c, int row, int x, int y) {
+        Column<?> column = columns.get(c);
+        Object value = column.getRowValue(row);
+        if (column.isBooleanColumn()) {
+            if (!(cell instanceof BooleanCell b)) {
+                BooleanCell created = new BooleanCell((Boolean) value, null, new Rectangle(x, y, 100, 20));
+                created.attachTo(origin);
+                return created;
+            }
+            b.setSelectValue((Boolean) value);
+            b.setValid(true);
+            b.moveTo(x, y);
+            return b;
+        }
+        String text = value == null ? null : value.toString();
+        if (!(cell instanceof NormalCell n)) {
+            NormalCell created = new NormalCell(text, new Rectangle(x, y, 100, 20));
+            created.attachTo(origin);
+            return created;
+        }
+        n.setValue(text);
+        n.resetEdit();
+        n.moveTo(x, y);
+        return n;
+    }
+
+    /**
+     * Retrieves y coordinate of the top of the first row relative to the origin, derived from the titles
+     */
+    private int rowTop() {
+        return titles[0].region.y + ROW_HEIGHT;
+    }
+
+    @Override
+    protected int indexToY(int index) {
+        return origin.y + rowTop() + index * ROW_HEIGHT;
+    }
+
+    @Override
+    public int[] getCellRange(int top, int bottom) {
+        if (table.length == 0) {
+            return new int[]{0, 0};
+        }
+        return clampRange(rowTop() + firstRow * ROW_HEIGHT, ROW_HEIGHT, top, bottom, table[0].length);
+    }
+
+    @Override
+    protected int rowOfCell(int index) {
+        return firstRow + index;
+    }
+
+    @Override
+    public int getRowfromY(int y) {
+        y -= origin.y;
+        int top = rowTop();
+        if (y < top || y >= top + rowCount * ROW_HEIGHT) {
+            throw new IllegalArgumentException("y out of range");
+        }
+        return (y - top) / ROW_HEIGHT;
+    }
+
+    @Override
+    public int getTotalHeight() {
+        if (table.length == 0 || rowCount == 0) {
+            return 0;
+        }
+        return rowCount * ROW_HEIGHT + 20 + 50;
+    }
+
+    @Override
+    public int getLowestY() {
+        if (rowCount == 0) {
+            return origin.y + titles[titles.length - 1].region.y + titles[titles.length - 1].region.height;
+        }
+        return origin.y + rowTop() + rowCount * ROW_HEIGHT;
+    }
+
+    @Override
+    public boolean leftMarginClicked(int x, int y) {
+        if (rowCount == 0) {
+            return false;
+        }
+        x -= origin.x;
+        y -= origin.y;
+        int left = titles[0].region.x;
+        int top = rowTop();
+        return left - 20 <= x && x <= left && top <= y && y <= top + rowCount * ROW_HEIGHT;
+    }
+
+    @Override
+    public void selectRow(int x, int y) {
+        int left = origin.x + titles[0].region.x - 20;
+        if (x < left || x > left + 20) {
+            throw new IllegalArgumentException("x must be between " + left + " and " + (left + 20));
+        }
+        int index = getRowfromY(y);
+        this.selectedRow = index == this.selectedRow ? -1 : index;
+    }
+
+    @Override
+    public boolean isTableAreaClicked(int x, int y) {
+        if (rowCount == 0) {
+            return false;
+        }
+        return new Rectangle(titles[0].region.x, rowTop(), 100 * table.length, ROW_HEIGHT * rowCount)
+                .contains(x - origin.x, y - origin.y);
+    }
+
+    @Override
+    public NormalCell transferCellWithId(NormalCell cell, int id) {
+        int columnIndex = idList.indexOf(id);
+        int builtIndex = getRowfromY(cell.getRegion().y) - firstRow;
+        if (columnIndex == -1 || builtIndex < 0 || builtIndex >= table[columnIndex].length) return null;
+        Rectangle newRegion = table[columnIndex][builtIndex].region;
+        table[columnIndex][builtIndex] = cell;
+        cell.region = newRegion;
+        cell.attachTo(origin);
+        return cell;
+    }
+}
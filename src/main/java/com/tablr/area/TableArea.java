@@ -8,14 +8,18 @@ import java.util.List;
 
 /**
  * Class to represent any type of Mode table in UI consisting of Cells
+ * The regions of the cells are relative to the origin of the area, so moving the area only moves its origin.
+ * Methods taking or returning coordinates use screen coordinates, unless stated otherwise.
  */
 public class TableArea {
+    // Screen position of the point the regions of the cells are relative to, shared with the cells
+    protected final Point origin = new Point();
     //Cells containing the titles
-    private Cell[] titles;
-    private List<Integer> idList;
+    protected Cell[] titles;
+    protected List<Integer> idList;
     //Cells containing the values of the table to be displayed in current mode
-    private Cell[][] table;
-    private int selectedRow = -1;
+    protected Cell[][] table;
+    protected int selectedRow = -1;
     /**
      * Constructs a new TableArea without Cells
      *
@@ -54,6 +58,7 @@ public class TableArea {
      * @return
      */
     public int getIdFromX(int x) {
+        x -= origin.x;
         int left = this.titles[0].region.x;
         int right = this.titles[this.titles.length - 1].region.x + this.titles[this.titles.length - 1].region.width;
         if (x < left || x > right) {
@@ -68,6 +73,7 @@ public class TableArea {
      * @return
      */
     public int getIdFromY(int y) {
+        y -= origin.y;
         int top = this.table[0][0].region.y;
         int bottom = this.table[0][this.table[0].length - 1].region.y + this.table[0][this.table[0].length - 1].region.height;
         if (y < top || y > bottom) {
@@ -82,6 +88,7 @@ public class TableArea {
      * @return
      */
     public int getRowfromY(int y) {
+        y -= origin.y;
         int top = this.table[0][0].region.y;
         int bottom = this.table[0][this.table[0].length-1].region.y + this.table[0][this.table[0].length-1].region.height;
         if (y < top || y > bottom) {
@@ -91,6 +98,7 @@ public class TableArea {
     }
 
     public int getColumnFromX(int x) {
+        x -= origin.x;
         int left = this.titles[0].region.x;
         int right = this.titles[this.titles.length - 1].region.x + this.titles[this.titles.length - 1].region.width;
         if (x < left || x > right) {
@@ -121,6 +129,115 @@ public class TableArea {
     }
 
 
+    /**
+     * Tells the area which part of it is visible, in screen coordinates like the other methods of the area.
+     * Every cell of this area is always built, so nothing changes; areas that only build the visible
+     * cells use this to follow scrolling and resizing.
+     *
+     * @param top | y coordinate of the top of the visible part
+     * @param bottom | y coordinate of the bottom of the visible part
+     */
+    public void setViewport(int top, int bottom) {
+    }
+
+    /**
+     * Retrieves the screen position of the origin of this area, the cell regions of getAreaRegion are relative to it.
+     * @return origin of the area
+     */
+    public Point getOrigin() {
+        return new Point(origin);
+    }
+
+    /**
+     * Retrieves the indices of the columns whose cells may overlap the x coordinates [left, right] relative to the origin.
+     * Right of the area this is the last column, whose values may run past its cells.
+     * The range follows from the position and spacing of the titles; an area without titles returns all columns.
+     *
+     * @param left | smallest x coordinate, relative to the origin
+     * @param right | largest x coordinate, relative to the origin
+     * @return {first, end}, the index of the first column and the index after the last one
+     */
+    public int[] getColumnRange(int left, int right) {
+        if (titles.length == 0 || titles[0] == null || (titles.length > 1 && titles[1] == null)) {
+            return new int[]{0, table.length};
+        }
+        int origin = titles[0].region.x;
+        int pitch = titles.length > 1 ? titles[1].region.x - origin : 100;
+        int[] range = clampRange(origin, pitch, left, right, table.length);
+        // Long values run past the right side of their cell, only the next column covers them
+        if (range[0] == table.length && table.length > 0 && left >= origin) {
+            range[0] = table.length - 1;
+        }
+        return range;
+    }
+
+    /**
+     * Retrieves the indices, in every column of getTableCells, of the cells that may overlap the y coordinates
+     * [top, bottom] relative to the origin.
+     * The range follows from the position and spacing of the first cells; an area whose first cells are missing
+     * returns all cells.
+     *
+     * @param top | smallest y coordinate, relative to the origin
+     * @param bottom | largest y coordinate, relative to the origin
+     * @return {first, end}, the index of the first cell and the index after the last one
+     */
+    public int[] getCellRange(int top, int bottom) {
+        if (table.length == 0 || table[0].length == 0 || table[0][0] == null
+                || (table[0].length > 1 && table[0][1] == null)) {
+            return new int[]{0, table.length == 0 ? 0 : table[0].length};
+        }
+        int origin = table[0][0].region.y;
+        int pitch = table[0].length > 1 ? table[0][1].region.y - origin : 20;
+        return clampRange(origin, pitch, top, bottom, table[0].length);
+    }
+
+    /**
+     * Finds the cell at a point from the position and spacing of the grid, so only the cells next to the point
+     * are looked at instead of every cell of the area.
+     *
+     * @param x | x coordinate of the point
+     * @param y | y coordinate of the point
+     * @return the cell at the point with its column and row, null if the point is not on a cell
+     */
+    public CellHit hitTest(int x, int y) {
+        x -= origin.x;
+        y -= origin.y;
+        int[] columns = getColumnRange(x, x);
+        int[] cells = getCellRange(y, y);
+        for (int c = columns[0]; c < columns[1]; c++) {
+            for (int i = cells[0]; i < Math.min(cells[1], table[c].length); i++) {
+                Cell cell = table[c][i];
+                if (cell != null && cell.getAreaRegion().contains(x, y)) {
+                    boolean onCheckBox = cell instanceof BooleanCell b && b.getAreaCheckBox().contains(x, y);
+                    return new CellHit(c, rowOfCell(i), cell, onCheckBox);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the row shown by the cells at given index in every column of getTableCells
+     * @param index | index of the cells
+     * @return index of the row
+     */
+    protected int rowOfCell(int index) {
+        return index;
+    }
+
+    /**
+     * Computes which of count evenly spaced cells, starting at origin, may overlap [low, high].
+     * A border is drawn one pixel past the end of a cell, so a cell ending at low still counts.
+     */
+    protected static int[] clampRange(int origin, int pitch, int low, int high, int count) {
+        if (pitch <= 0) {
+            return new int[]{0, count};
+        }
+        int first = Math.clamp(Math.floorDiv(low - origin - 1, pitch), 0, count);
+        int end = Math.clamp(Math.floorDiv(high - origin, pitch) + 1, first, count);
+        return new int[]{first, end};
+    }
+
     /**
      * Retrieves id from selected row index
      * @return
@@ -161,7 +278,7 @@ public class TableArea {
      * @return
      */
     private int leftMostX() {
-        return this.titles[0].region.x - 20;
+        return origin.x + this.titles[0].region.x - 20;
     }
 
     /**
@@ -169,8 +286,8 @@ public class TableArea {
      * @param index
      * @return
      */
-    private int indexToY(int index) {
-        return this.table[0][0].region.y + index * 20;
+    protected int indexToY(int index) {
+        return origin.y + this.table[0][0].region.y + index * 20;
     }
 
     /**
@@ -187,11 +304,12 @@ public class TableArea {
 
     public NormalCell transferCellWithId(NormalCell cell,int id) {
         int columnIndex = this.idList.indexOf(id);
-        int rowIndex = this.getRowfromY(cell.region.y);
+        int rowIndex = this.getRowfromY(cell.getRegion().y);
         if(columnIndex == -1 || rowIndex == -1 || columnIndex >= this.titles.length || rowIndex >= this.table[columnIndex].length) return null;
         Rectangle newRegion = this.table[columnIndex][rowIndex].region;
         this.table[columnIndex][rowIndex] = cell;
         this.table[columnIndex][rowIndex].region = newRegion;
+        cell.attachTo(origin);
         return (NormalCell) this.table[columnIndex][rowIndex];
     }
 
@@ -206,40 +324,16 @@ public class TableArea {
         } else {
             lowest = table[0][table[0].length - 1];
         }
-        return lowest.region.y + lowest.region.height;
+        return origin.y + lowest.region.y + lowest.region.height;
     }
 
     /**
-     * Sets bounds of all rectangles in cells of this tableArea with new origin coordinates
+     * Moves this tableArea to the subwindow at given coordinates, by moving the origin all cells are relative to
      * @param x
      * @param y
      */
     public void SetBounds(int x, int y) {
-        y += 30;
-        x += 20;
-        int currentY = this.titles[titles.length - 1].region.y;
-        int currentx = this.leftMostX() +20;
-        int xDiff2 = x-currentx;
-        int yDiff2 = y-currentY;
-        for (Cell cell : titles) {
-            cell.region.setBounds(cell.region.x+xDiff2, cell.region.y+yDiff2, 100, 20);
-        }
-        for (Cell[] column : table) {
-            for (Cell cell : column) {
-                if(cell != null){
-                    switch (cell){
-                        case NormalCell c-> c.region.setBounds(cell.region.x+xDiff2,cell.region.y+yDiff2,100,20);
-                        case BooleanCell b -> {
-                            b.region.setBounds(cell.region.x+xDiff2, cell.region.y+yDiff2, 100, 20);
-//                            int cx = cell.region.x+xDiff2+ (100 - 12) / 2;
-                            int cy =yDiff2-10;
-                            b.checkBox.setBounds(b.checkBox.x+xDiff2,b.checkBox.y+yDiff2 , 12, 12);
-                        }
-                        default -> throw new IllegalStateException("Unexpected value: " + cell);
-                    }
-                }
-            }
-        }
+        origin.setLocation(x + 20 - this.titles[0].region.x, y + 30 - this.titles[titles.length - 1].region.y);
     }
 
     /**
@@ -249,6 +343,8 @@ public class TableArea {
      * @return | false when no rows or not clicked margin left of a row else true
      */
     public boolean leftMarginClicked(int x, int y) {
+        x -= origin.x;
+        y -= origin.y;
         if(table[0].length == 0) {
             return false;
         }
@@ -268,6 +364,7 @@ public class TableArea {
      */
     public void selectRow(int x, int y) {
         if (x < leftMostX() || x >leftMostX()+20){throw new IllegalArgumentException("x must be between " +leftMostX()+ " and "+leftMostX()+20);}
+        y -= origin.y;
         int top = this.table[0][0].region.y;
         int bottom = this.table[0][this.table[0].length - 1].region.y + this.table[0][this.table[0].length - 1].region.height;
         if (y < top || y > bottom) {
@@ -293,6 +390,7 @@ public class TableArea {
         Cell[] titlesRow = new Cell[titles.size()];
         for (int i = 0; i < titles.size(); i++) {
             titlesRow[i] = new NormalCell(titles.get(i), new Rectangle(20 + i * 100, 20, 100, 20));
+            titlesRow[i].attachTo(origin);
         }
         this.titles = titlesRow;
     }
@@ -325,6 +423,9 @@ public class TableArea {
                 this.table[3][row] = new NormalCell(column.getDefaultValue().toString(), new Rectangle(320, y, 100, 20));
             }
         }
+        for (Cell[] column1 : this.table) {
+            column1[row].attachTo(origin);
+        }
     }
 
     /**
@@ -355,6 +456,7 @@ public class TableArea {
                 }
             }
         }
+        attach(columnValues);
         this.table[index] = columnValues;
     }
 
@@ -371,6 +473,7 @@ public class TableArea {
         if (column.length != this.table[0].length) {
             throw new IllegalArgumentException("Column length does not match dimensions");
         }
+        attach(column);
         this.table[index] = column;
     }
 
@@ -389,7 +492,21 @@ public class TableArea {
         return null;
     }
 
+    /**
+     * Makes the regions of given cells relative to the origin of this area
+     * @param cells | cells placed in this area, may contain null
+     */
+    protected void attach(Cell[] cells) {
+        for (Cell cell : cells) {
+            if (cell != null) {
+                cell.attachTo(origin);
+            }
+        }
+    }
+
     public boolean isTableAreaClicked(int x, int y) {
+        x -= origin.x;
+        y -= origin.y;
         if(table[0].length==0) {
             return false;
         }else{
@@ -2,6 +2,7 @@ package com.tablr.area;
 
 import com.tablr.model.Column;
 import com.tablr.model.ColumnType;
+import com.tablr.model.RowCursor;
 import com.tablr.model.Table;
 
 import java.awt.*;
@@ -53,22 +54,19 @@ public class TableAreaGenerator {
     }
 
     /**
-     * Generates Rows UI TableArea object from given table
+     * Generates Rows UI TableArea object from given table.
+     * Only the cells of the first rows are built, the area builds the others while it is scrolled.
      *
-     * @param table
-     * @return
+     * @param table | table to display, should not change anymore, like a snapshot
+     * @return RowsArea of the table
      */
     public static TableArea GenerateRowsArea(Table table) {
-        TableArea tableArea = new TableArea(table.getColumnCount(), table.getRowCount());
-        List<Column<?>> columns = table.getColumns();
+        RowsArea tableArea = new RowsArea(table);
         List<String> titles = new ArrayList<>();
         List<Integer> ids = new ArrayList<>();
-        int columnIndex = 0;
-        for (Column<?> column : columns) {
+        for (Column<?> column : table.getColumns()) {
             titles.add(column.getName());
-            tableArea.setColumn(column, columnIndex);
             ids.add(column.getId());
-            columnIndex += 1;
         }
         tableArea.setAreaTitle(titles);
         tableArea.setIdList(ids);
@@ -88,22 +86,7 @@ public class TableAreaGenerator {
         if (values != null) {
             Cell[] valuesArray = new Cell[values.size()];
             for (int i = 0; i < values.size(); i++) {
-                switch (columnTypes.get(i)) {
-                    case ColumnType.INTEGER ,ColumnType.STRING,ColumnType.EMAIL  -> {
-                        if(values.get(i)==null){
-                            NormalCell cell = new NormalCell(null, new Rectangle(120, 40 + 30 * i, 100, 20));
-                            valuesArray[i] = cell;
-                        }else {
-                            NormalCell cell = new NormalCell(values.get(i).toString(), new Rectangle(120, 40 + 30 * i, 100, 20));
-                            valuesArray[i] = cell;
-                        }
-                    }
-                    case ColumnType.BOOLEAN -> {
-                        BooleanCell cell = new BooleanCell((Boolean) values.get(i), null, new Rectangle(120, 40 + 30 * i, 100, 20));
-                        valuesArray[i] = cell;
-                    }
-                    default -> throw new IllegalStateException("Unexpected value: " + columnTypes.get(i));
-                }
+                valuesArray[i] = createFormValueCell(columnTypes.get(i), values.get(i), i);
             }
             tableArea.setColumn(valuesArray, 1);
         }
@@ -111,4 +94,49 @@ public class TableAreaGenerator {
         return tableArea;
     }
 
+    /**
+     * Generates Form UI TableArea object for the row a cursor is on.
+     * Names, types and values are read from the cursor instead of from separate lists.
+     *
+     * @param cursor | cursor on the row to show, the values are left out if it is not on a row
+     * @return TableArea of the form
+     */
+    public static TableArea GenerateFormArea(RowCursor cursor) {
+        int columnCount = cursor.getColumnCount();
+        TableArea tableArea = new TableArea(2, columnCount);
+        tableArea.setAreaTitle(asList("Column Name", "Value"));
+        Cell[] names = new Cell[columnCount];
+        Cell[] valuesArray = cursor.isValid() ? new Cell[columnCount] : null;
+        List<Integer> ids = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = new NormalCell(cursor.getColumnName(i), new Rectangle(20, 40 + 30 * i, 100, 20));
+            if (valuesArray != null) {
+                valuesArray[i] = createFormValueCell(cursor.getColumnType(i), cursor.getValue(i), i);
+            }
+            ids.add(cursor.getColumnId(i));
+        }
+        tableArea.setColumn(names, 0);
+        if (valuesArray != null) {
+            tableArea.setColumn(valuesArray, 1);
+        }
+        tableArea.setIdList(ids);
+        return tableArea;
+    }
+
+    /**
+     * Creates the cell showing a value in the form.
+     *
+     * @param type | type of the column
+     * @param value | value of the cell
+     * @param i | index of the column, determines the position of the cell
+     * @return cell for the value
+     */
+    private static Cell createFormValueCell(ColumnType type, Object value, int i) {
+        return switch (type) {
+            case ColumnType.INTEGER, ColumnType.STRING, ColumnType.EMAIL ->
+                    new NormalCell(value == null ? null : value.toString(), new Rectangle(120, 40 + 30 * i, 100, 20));
+            case ColumnType.BOOLEAN -> new BooleanCell((Boolean) value, null, new Rectangle(120, 40 + 30 * i, 100, 20));
+            default -> throw new IllegalStateException("Unexpected value: " + type);
+        };
+    }
 }
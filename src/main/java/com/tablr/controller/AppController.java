@@ -3,10 +3,12 @@ package com.tablr.controller;
 import com.tablr.model.Column;
 import com.tablr.undoRedo.*;
 import com.tablr.model.ColumnType;
+import com.tablr.model.RowCursor;
 import com.tablr.model.Table;
 import com.tablr.subwindow.SubwindowController;
 
 import java.awt.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,18 +21,62 @@ public class AppController {
     private final SubwindowController subwindowController;
     private final UIController uiController;
     private final CommandManager commandManager = new CommandManager();
+    // Deleted tables and columns estimated larger than this are kept in a temporary file for undo
+    private long spillThreshold = DeleteTableCommand.NEVER_SPILL;
+    // Records every command for crash recovery, null when the session is only kept in memory
+    private final CommandJournal journal;
 
 
     /**
      * Constructs an AppController and initializes all core controllers.
      */
     public AppController() {
+        this(null);
+    }
+
+    /**
+     * Constructs an AppController that journals every command to the given file.
+     * Commands already in the journal are replayed first, which rebuilds the tables of a session that crashed.
+     *
+     * @param journalFile | file to journal to, null to keep the session in memory only
+     * @throws IllegalStateException if the journal does not match the tables it is replayed on.
+     * @throws java.io.UncheckedIOException if the journal cannot be opened or read.
+     */
+    public AppController(Path journalFile) {
         this.tableController = new TableController();
         initializeTables();
+        if (journalFile == null) {
+            this.journal = null;
+        } else {
+            this.journal = CommandJournal.open(journalFile);
+            journal.replay(commandManager, tableController);
+            commandManager.setListener(journal);
+        }
         this.subwindowController = new SubwindowController(this);
         this.uiController = new UIController(this);
     }
 
+    /**
+     * Writes the journal to disk and closes it, keeping the file so the next session can replay it.
+     * Does nothing without a journal.
+     */
+    public void close() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Ends the session because the user closed the window. The journal is only kept to recover
+     * from a crash or kill, so it is deleted and the next session starts from the default tables.
+     * Does nothing without a journal.
+     */
+    public void endSession() {
+        if (journal != null) {
+            journal.delete();
+        }
+    }
+
     /**
      * Initializes the UI and launches the application.
      */
@@ -38,10 +84,12 @@ public class AppController {
         uiController.show();
     }
 
+    /**
+     * Adds two extra test tables next to the default tables.
+     */
     public void initializeTestApp() {
-        tableController.clearTables();
-        tableController.addTableDirectly(new Table("TestTable1", 1));
-        tableController.addTableDirectly(new Table("TestTable2", 2));
+        tableController.renameTable(tableController.createTable(), "TestTable1");
+        tableController.renameTable(tableController.createTable(), "TestTable2");
     }
 
 
@@ -73,7 +121,7 @@ public class AppController {
      */
     public void deleteTable(int tableId) {
         subwindowController.closeAllSubwindowsForTable(tableId);
-        commandManager.executeCommand(new DeleteTableCommand(tableController, tableId));
+        commandManager.executeCommand(new DeleteTableCommand(tableController, tableId, spillThreshold));
     }
 
     /**
@@ -107,27 +155,28 @@ public class AppController {
     }
 
     /**
-     * Gets a deep clone of the list of tables.
+     * Gets read-only snapshots of all tables.
+     * Taking a snapshot does not copy any rows.
      *
-     * @return A deep clone of the list of tables.
+     * @return A snapshot of every table, in display order.
      */
     public List<Table> getTables() {
         List<Table> tables = tableController.getTables();
-        List<Table> newTables = new ArrayList<>();
+        List<Table> snapshots = new ArrayList<>();
         for (Table table : tables) {
-            newTables.add(table.deepClone());
+            snapshots.add(table.snapshot());
         }
-        return newTables;
+        return snapshots;
     }
 
     /**
      * Gets a table by its ID.
      *
      * @param tableId The ID of the table.
-     * @return A deep clone of the table object.
+     * @return A read-only snapshot of the table object.
      */
     public Table getTable(int tableId) {
-        return tableController.cloneTable(tableId);
+        return tableController.getTable(tableId).snapshot();
     }
 
     /**
@@ -158,6 +207,17 @@ public class AppController {
         return tableController.getTableRowValues(tableId, rowIndex);
     }
 
+    /**
+     * Creates a read-only cursor over the rows of a table.
+     * The cursor follows later changes to the table.
+     *
+     * @param tableId | ID of table
+     * @return cursor positioned before the first row
+     */
+    public RowCursor getRowCursor(int tableId) {
+        return tableController.getTable(tableId).cursor();
+    }
+
     /**
      * Checks if a table exists by its name.
      *
@@ -251,7 +311,7 @@ public class AppController {
      * @param columnId The ID of the column to delete.
      */
     public void deleteColumn(int tableId, int columnId) {
-        commandManager.executeCommand(new DeleteColumnCommand(tableController, tableId, columnId));
+        commandManager.executeCommand(new DeleteColumnCommand(tableController, tableId, columnId, spillThreshold));
 
         if (tableController.getColumnCount(tableId) == 0) {
             subwindowController.closeRowsSubwindowIfOpen(tableId);
@@ -291,6 +351,16 @@ public class AppController {
         commandManager.executeCommand(new AddRowCommand(tableController, tableId));
     }
 
+    /**
+     * Adds a number of rows to a specified table as a single undoable step.
+     *
+     * @param tableId The ID of the table.
+     * @param count The amount of rows to add.
+     */
+    public void addRowsToTable(int tableId, int count) {
+        commandManager.executeCommand(new AddRowsCommand(tableController, tableId, count));
+    }
+
     /**
      * Removes a row from a specified table.
      *
@@ -471,6 +541,15 @@ public class AppController {
         subwindowController.paint(g);
     }
 
+    /**
+     * Retrieves the part of the screen that changed since the last call.
+     *
+     * @return smallest rectangle around all changes, null if nothing changed
+     */
+    public Rectangle takeDamage() {
+        return subwindowController.takeDamage();
+    }
+
     /**
      * Handles the "Control + T" key combination.
      */
@@ -485,53 +564,97 @@ public class AppController {
     public void onPageDown() { subwindowController.onPageDown();}
     public void onControlD() { subwindowController.onControlD();}
 
-    private int getTableIdIfUndoingCreate() {
-        Command top = commandManager.peekUndo();
-        if (top instanceof CreateTableCommand command) {
-            return command.getCreatedTableId();
-        }
-        return -1;
+    /**
+     * Changes the size above which deleted tables and columns are written to a temporary file
+     * instead of being kept in memory until they are undone.
+     *
+     * @param spillThreshold | estimated size in bytes, DeleteTableCommand.NEVER_SPILL to keep everything in memory
+     */
+    public void setSpillThreshold(long spillThreshold) {
+        this.spillThreshold = spillThreshold;
     }
 
-    private int getTableIdIfRedoingDelete() {
-        Command top = commandManager.peekRedo();
-        if (top instanceof DeleteTableCommand command) {
-            return command.getDeletedTableId();
-        }
-        return -1;
+    /**
+     * Starts a transaction, the changes made until commitTransaction are undone and redone as one step.
+     *
+     * @throws IllegalStateException if a transaction is already active.
+     */
+    public void beginTransaction() {
+        commandManager.begin();
     }
 
     /**
-     * Undo an action.
+     * Ends the active transaction, keeping its changes as one undoable step.
+     *
+     * @throws IllegalStateException if no transaction is active.
      */
-    public void undo() {
-        int deletedTableId = getTableIdIfUndoingCreate();
+    public void commitTransaction() {
+        commandManager.commit();
+    }
 
-        commandManager.undo();
+    /**
+     * Ends the active transaction and reverts all its changes.
+     *
+     * @throws IllegalStateException if no transaction is active.
+     */
+    public void rollbackTransaction() {
+        refreshAfter(commandManager.rollback());
+    }
 
-        if (deletedTableId != -1) {
-            subwindowController.closeAllSubwindowsForTable(deletedTableId);
-        }
+    /**
+     * Gets the estimated memory held by the undo and redo history.
+     *
+     * @return estimated size in bytes
+     */
+    public long getHistoryFootprint() {
+        return commandManager.getFootprint();
+    }
 
-        for (Table table : tableController.getTables()) {
-            closeRowsSubwindowIfNoColumns(table.getId());
-        }
-        subwindowController.updateTableAreas(-1);
+    /**
+     * Changes the limits of the undo history, dropping the oldest commands if it is now too large.
+     *
+     * @param memoryBudget | maximum estimated size of the history in bytes
+     * @param maxDepth | maximum amount of commands that can be undone
+     * @throws IllegalArgumentException if memoryBudget is negative or maxDepth is smaller than 1.
+     */
+    public void setHistoryLimits(long memoryBudget, int maxDepth) {
+        commandManager.setMemoryBudget(memoryBudget);
+        commandManager.setMaxDepth(maxDepth);
+    }
+
+    /**
+     * Undo an action.
+     */
+    public void undo() {
+        refreshAfter(commandManager.undo());
     }
 
     /**
      * Redo an undone action.
      */
     public void redo() {
-        int deletedTableId = getTableIdIfRedoingDelete();
-
-        commandManager.redo();
+        refreshAfter(commandManager.redo());
+    }
 
-        if (deletedTableId != -1) {
-            subwindowController.closeAllSubwindowsForTable(deletedTableId);
+    /**
+     * Updates only the subwindows showing what an undo, redo or rollback changed.
+     * Rows subwindows of tables that lost their last column are closed.
+     *
+     * @param change | what was changed
+     */
+    private void refreshAfter(Change change) {
+        if (change.isEverything()) {
+            for (Table table : tableController.getTables()) {
+                closeRowsSubwindowIfNoColumns(table.getId());
+            }
+        } else {
+            for (int tableId : change.getTableIds()) {
+                if (change.isSchemaChanged(tableId) && tableController.hasTable(tableId)) {
+                    closeRowsSubwindowIfNoColumns(tableId);
+                }
+            }
         }
-
-        subwindowController.updateTableAreas(-1);
+        subwindowController.refresh(change);
     }
 
     /**
@@ -589,6 +712,15 @@ public class AppController {
         return tableController.getColumnCount(tableId);
     }
 
+    /**
+     * Retrieve amount of rows of a table
+     * @param tableId | ID of table
+     * @return amount of rows
+     */
+    public int getRowCount(int tableId) {
+        return tableController.getRowCount(tableId);
+    }
+
     /**
      * retrieve if given column of given table allows blanks.
      * @param tableId | ID of table
@@ -1,63 +1,134 @@
 package com.tablr.controller;
 
 import com.tablr.model.Column;
-import com.tablr.model.ColumnFactory;
+import com.tablr.model.ColumnConverter;
+import com.tablr.model.ColumnStorage;
 import com.tablr.model.ColumnType;
+import com.tablr.model.IdAllocator;
 import com.tablr.model.Table;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Manages tables by allowing creation, deletion, retrieval, and renaming.
  */
 public class TableController  {
-    private List<Table> tables;
+    private static final String TABLE_PREFIX = "Table";
+    // Tables in display order
+    private final List<Table> tables;
+    // Indexes on the tables list, kept in sync by register and unregister
+    private final Map<Integer, Table> tablesById;
+    private final Map<String, Integer> tableIdsByName;
+    private final Map<Integer, Integer> positionsById;
+    // Ids and numbers of "TableN" names in use, kept in sync by register, unregister and renameTable
+    private final IdAllocator tableIds = new IdAllocator();
+    private final IdAllocator tableNumbers = new IdAllocator();
+    // Creates the storage for the values of every new table
+    private Supplier<ColumnStorage> storageFactory = ColumnStorage::heap;
 
     /**
      * Constructs a new TableController with an empty list of tables.
      */
     public TableController() {
-
         this.tables = new ArrayList<>();
+        this.tablesById = new HashMap<>();
+        this.tableIdsByName = new HashMap<>();
+        this.positionsById = new HashMap<>();
     }
 
     /**
      * Creates a new table with a unique name and id and adds it to the list.
+     *
+     * @return ID of the created table
      */
-    public void createTable() {
-        int tableNumber = IntStream.iterate(1, n -> n + 1)
-                .filter(n -> tables.stream().noneMatch(t -> t.getName().equals("Table" + n)))
-                .findFirst()
-                .orElseThrow(); // Zou nooit mogen gebeuren
-        int tableId = IntStream.iterate(1, n -> n+1)
-                .filter(n -> tables.stream().noneMatch(t -> t.getId() == n))
-                .findFirst()
-                .orElseThrow(); // Zou nooit mogen gebeuren
-        String newTableName = "Table" + tableNumber;
-        Table table = new Table(newTableName, tableId);
-        tables.add(table);
+    public int createTable() {
+        String newTableName = TABLE_PREFIX + tableNumbers.lowestFree();
+        int tableId = tableIds.lowestFree();
+        Table table = new Table(newTableName, tableId, createStorage());
+        register(table, tables.size());
+        return tableId;
     }
 
     /**
      * Add table directly to list (for testing purposes)
      * @param table | table to add
+     * @throws IllegalArgumentException if a table with the same id already exists.
      */
     public void addTableDirectly(Table table) {
-        tables.add(table);
+        register(table, tables.size());
     }
 
     /**
      * Inserts a table in the list of tables in the place of the index
      * @param table | Table to add
      * @param index | Index of where table should be added
+     * @throws IllegalArgumentException if a table with the same id already exists.
      */
     public void insertTableAt(Table table, int index) {
-        List<Table> copy = new ArrayList<>(tables);
-        copy.add(index, table);
-        this.tables = copy;
+        register(table, index);
+    }
+
+    /**
+     * Adds a table to the list at the given position and to the id and name indexes.
+     * @param table | Table to add
+     * @param index | Position of the table in the list
+     * @throws IllegalArgumentException if a table with the same id already exists.
+     */
+    private void register(Table table, int index) {
+        if (tablesById.containsKey(table.getId())) {
+            throw new IllegalArgumentException("Table with id " + table.getId() + " already exists.");
+        }
+        tables.add(index, table);
+        renumber(index);
+        tablesById.put(table.getId(), table);
+        tableIdsByName.put(table.getName(), table.getId());
+        tableIds.reserve(table.getId());
+        tableNumbers.reserve(IdAllocator.suffixOf(table.getName(), TABLE_PREFIX));
+    }
+
+    /**
+     * Removes a table from the list and from the id and name indexes.
+     * @param table | Table to remove
+     */
+    private void unregister(Table table) {
+        int index = positionsById.remove(table.getId());
+        tables.remove(index);
+        renumber(index);
+        tablesById.remove(table.getId());
+        tableIds.release(table.getId());
+        if (tableIdsByName.remove(table.getName(), table.getId())) {
+            tableNumbers.release(IdAllocator.suffixOf(table.getName(), TABLE_PREFIX));
+        }
+    }
+
+    /**
+     * Updates the positions of the tables from the given index on, after a table was inserted or removed there.
+     * Only the tables the list itself shifted are visited, so adding or removing the last table is constant time.
+     * @param from | first position that changed
+     */
+    private void renumber(int from) {
+        for (int i = from; i < tables.size(); i++) {
+            positionsById.put(tables.get(i).getId(), i);
+        }
+    }
+
+    /**
+     * Retrieves position of a table in the list of tables.
+     * @param tableId | ID of table
+     * @return index of the table
+     * @throws IllegalArgumentException if table is not found.
+     */
+    public int getTableIndex(int tableId) {
+        Integer index = positionsById.get(tableId);
+        if (index == null) {
+            throw new IllegalArgumentException("Table not found with Id: " + tableId);
+        }
+        return index;
     }
 
     /**
@@ -66,7 +137,7 @@ public class TableController  {
      * @return True if table exists, otherwise False.
      */
     public boolean hasTable (int tableId){
-        return tables.stream().anyMatch(c -> c.getId() == tableId);
+        return tablesById.containsKey(tableId);
     }
 
     /**
@@ -78,7 +149,7 @@ public class TableController  {
     public boolean isValidTableName(String tableName) {
         boolean notnull = tableName != null;
         boolean notEmpty = !tableName.trim().isEmpty();
-        boolean unique = tables.stream().noneMatch(c -> c.getName().equals(tableName));
+        boolean unique = !tableIdsByName.containsKey(tableName);
         return notnull && notEmpty && unique;
     }
 
@@ -92,8 +163,7 @@ public class TableController  {
     public boolean isValidColumnName(int tableId, String columnName) {
         boolean notnull = columnName != null;
         boolean notEmpty = !columnName.trim().isEmpty();
-        boolean unique = getTable(tableId).getColumns().stream()
-                .noneMatch(col -> col.getName().equals(columnName));
+        boolean unique = !getTable(tableId).hasColumn(columnName);
 
         return notnull && notEmpty && unique;
     }
@@ -115,20 +185,56 @@ public class TableController  {
      * @return True if table exists, otherwise False.
      */
     public boolean hasTable (String tableName){
-        return tables.stream().anyMatch(c -> c.getName().equals(tableName));
+        return tableIdsByName.containsKey(tableName);
     }
 
     /**
-     * Deletes a table by its id.
+     * Chooses where the values of tables created from now on are kept,
+     * for example ColumnStorage::offHeap to keep large tables out of the heap.
+     *
+     * @param storageFactory | creates the storage of a new table
+     */
+    public void setStorageFactory(Supplier<ColumnStorage> storageFactory) {
+        this.storageFactory = Objects.requireNonNull(storageFactory);
+    }
+
+    /**
+     * Deletes a table by its id and closes the storage of its values.
+     * Off-heap memory is no longer counted afterwards and is returned once the garbage collector collects it.
      *
      * @param tableId | The id of the table to delete.
      * @throws IllegalArgumentException if the table is not found.
      */
     public void deleteTable(int tableId) {
-        boolean removed = tables.removeIf(table-> table.getId() == tableId);
-        if (!removed) {
+        Table table = tablesById.get(tableId);
+        if (table == null) {
             throw new IllegalArgumentException("Table not found with id: " + tableId);
         }
+        unregister(table);
+        table.close();
+    }
+
+    /**
+     * Removes a table by its id without freeing its storage.
+     * The caller becomes the owner of the table and has to close it when it is not put back.
+     *
+     * @param tableId | The id of the table to remove.
+     * @return the removed table
+     * @throws IllegalArgumentException if the table is not found.
+     */
+    public Table removeTable(int tableId) {
+        Table table = getTable(tableId);
+        unregister(table);
+        return table;
+    }
+
+    /**
+     * Creates storage for the values of a new table, in the same way as for tables made by createTable.
+     *
+     * @return new storage
+     */
+    public ColumnStorage createStorage() {
+        return storageFactory.get();
     }
 
     /**
@@ -171,10 +277,11 @@ public class TableController  {
      * @throws IllegalArgumentException if table is not found.
      */
     public Table getTable(int id) {
-        return tables.stream()
-                .filter(t -> t.getId() == id)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Table not found with Id: " + id));
+        Table table = tablesById.get(id);
+        if (table == null) {
+            throw new IllegalArgumentException("Table not found with Id: " + id);
+        }
+        return table;
     }
 
     /**
@@ -194,10 +301,7 @@ public class TableController  {
      * @param index | index of where in list of columns, column should be added
      */
     public void insertColumnAt(int tableId, Column<?> column, int index) {
-        Table table = getTable(tableId);
-        List<Column<?>> mutable = new ArrayList<>(table.getColumns());
-        mutable.add(index, column);
-        table.setColumns(mutable);
+        getTable(tableId).insertColumnAt(index, column);
     }
 
     /**
@@ -239,15 +343,33 @@ public class TableController  {
         getTable(tableId).createRow();
     }
 
+    /**
+     * Appends a number of rows to a specified table in one batch.
+     *
+     * @param tableId | ID of the table.
+     * @param count | amount of rows to add.
+     */
+    public void appendRowsToTable(int tableId, int count) {
+        getTable(tableId).appendRows(count);
+    }
+
+    /**
+     * Removes the last rows of a specified table.
+     *
+     * @param tableId | ID of the table.
+     * @param count | amount of rows to remove.
+     */
+    public void removeLastRowsFromTable(int tableId, int count) {
+        getTable(tableId).removeLastRows(count);
+    }
+
     /**
      * Insert a row at a specific index in a table.
      * @param tableId | ID of table
      * @param rowIndex | index of the row
      */
     public void insertRowAt(int tableId, int rowIndex) {
-        for (Column<?> col : getTable(tableId).getColumns()) {
-            col.addDefaultValueAt(rowIndex); // this method must exist in your Column class
-        }
+        getTable(tableId).insertRowAt(rowIndex);
     }
 
     /**
@@ -273,10 +395,16 @@ public class TableController  {
         if (userInput.trim().isEmpty()) {
             throw new IllegalArgumentException("Table name cannot be empty.");
         }
-        if (tables.stream().anyMatch(table -> table.getName().equals(userInput))) {
+        if (tableIdsByName.containsKey(userInput)) {
             throw new IllegalArgumentException("Table name '" + userInput + "' already exists.");
         }
-        getTable(tableId).setName(userInput);
+        Table table = getTable(tableId);
+        if (tableIdsByName.remove(table.getName(), tableId)) {
+            tableNumbers.release(IdAllocator.suffixOf(table.getName(), TABLE_PREFIX));
+        }
+        table.setName(userInput);
+        tableIdsByName.put(userInput, tableId);
+        tableNumbers.reserve(IdAllocator.suffixOf(userInput, TABLE_PREFIX));
     }
 
     /**
@@ -332,20 +460,11 @@ public class TableController  {
      * @param tableId | ID of table
      * @param columnId | ID of column
      * @param newType | New type of the column
+     * @throws IllegalArgumentException if a value of the column cannot be converted, the table is left unchanged.
      */
     public void cycleColumnType(int tableId, int columnId, ColumnType newType) {
         Table table = getTable(tableId);
-        Column<?> oldCol = table.getColumn(columnId);
-        Column<?> newCol = ColumnFactory.createColumn(newType, oldCol);
-
-        for (int r = 0; r < table.getRowCount(); r++) {
-            newCol.addDefaultValue();
-        }
-        for (int r = 0; r < table.getRowCount(); r++) {
-            newCol.setValueFromString(r,objectToString(oldCol.getValue(r)));
-        }
-
-        table.replaceColumnById(columnId, newCol);
+        table.replaceColumnById(columnId, ColumnConverter.convert(table.getColumn(columnId), newType));
     }
 
     /**
@@ -358,11 +477,6 @@ public class TableController  {
         getTable(tableId).replaceColumnById(columnId, newColumn);
     }
 
-    private String objectToString(Object object) {
-        if(object == null) return "";
-        else return object.toString();
-    }
-
     /**
      * Retrieves column id of a given table and row
      * @param tableId | ID of table
@@ -471,7 +585,15 @@ public class TableController  {
      * Clears list of tables
      */
     public void clearTables() {
-        getTables().clear();
+        for (Table table : tables) {
+            table.close();
+        }
+        tables.clear();
+        tablesById.clear();
+        tableIdsByName.clear();
+        positionsById.clear();
+        tableIds.clear();
+        tableNumbers.clear();
     }
 
     /**
@@ -479,7 +601,7 @@ public class TableController  {
      * @return List of tableIds
      */
     public List<Integer> getTableIds() {
-        return getTables().stream().map(Table::getId).collect(Collectors.toList());
+        return tables.stream().map(Table::getId).collect(Collectors.toList());
     }
 
     /**
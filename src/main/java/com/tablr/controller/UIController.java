@@ -25,6 +25,14 @@ public class UIController extends CanvasWindow {
         this.appController = appController;
     }
 
+    /**
+     * Ends the session when the user closes the window.
+     */
+    @Override
+    protected void handleWindowClosed() {
+        appController.endSession();
+    }
+
     /**
      * Paints all current subwindows on the canvas by retrieving them via the AppController.
      *
@@ -62,7 +70,7 @@ public class UIController extends CanvasWindow {
             case MouseEvent.MOUSE_DRAGGED -> appController.onMouseDragged(x, y);
             case MouseEvent.MOUSE_RELEASED -> appController.onMouseReleased();
         }
-        repaint();
+        repaintDamage();
     }
 
     /**
@@ -124,7 +132,17 @@ public class UIController extends CanvasWindow {
                 }
             }
         }
-        repaint();
+        repaintDamage();
+    }
+
+    /**
+     * Repaints only the part of the canvas the last event changed, if any.
+     */
+    private void repaintDamage() {
+        Rectangle damage = appController.takeDamage();
+        if (damage != null) {
+            repaint(damage);
+        }
     }
 
     /**
@@ -0,0 +1,125 @@
+package com.tablr.model;
+
+import java.nio.LongBuffer;
+
+/**
+ * Helpers for bitsets stored as longs in a buffer, one bit per row.
+ * Used by the compact value lists to manipulate whole words at a time.
+ */
+final class BitWords {
+
+    private BitWords() {}
+
+    /**
+     * Number of words needed to hold the given amount of bits.
+     *
+     * @param bits | amount of bits
+     * @return number of longs
+     */
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Checks if a bit is set.
+     */
+    static boolean get(LongBuffer words, int index) {
+        return (word(words, index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets or clears a bit.
+     */
+    static void set(LongBuffer words, int index, boolean value) {
+        long word = word(words, index >>> 6);
+        setWord(words, index >>> 6, value ? word | (1L << index) : word & ~(1L << index));
+    }
+
+    /**
+     * Counts the set bits among the first size bits.
+     * Bits after size are expected to be cleared.
+     */
+    static int count(LongBuffer words, int size) {
+        int count = 0;
+        for (int w = 0; w < words(size); w++) {
+            count += Long.bitCount(word(words, w));
+        }
+        return count;
+    }
+
+    /**
+     * Moves a range of bits to another bitset and clears them in the source.
+     *
+     * @param from       | bitset to take the bits from
+     * @param fromIndex  | first bit to move
+     * @param to         | bitset receiving the bits, the target range is expected to be cleared
+     * @param toIndex    | position of the first moved bit
+     * @param count      | amount of bits to move
+     */
+    static void move(LongBuffer from, int fromIndex, LongBuffer to, int toIndex, int count) {
+        for (int i = 0; i < count; i++) {
+            if (get(from, fromIndex + i)) {
+                set(to, toIndex + i, true);
+                set(from, fromIndex + i, false);
+            }
+        }
+    }
+
+    /**
+     * Clears a range of bits.
+     *
+     * @param words     | bitset
+     * @param fromIndex | first bit to clear
+     * @param count     | amount of bits to clear
+     */
+    static void clear(LongBuffer words, int fromIndex, int count) {
+        for (int i = fromIndex; i < fromIndex + count; i++) {
+            set(words, i, false);
+        }
+    }
+
+    /**
+     * Moves every bit at or after the given index one position up, leaving the bit at the index cleared.
+     *
+     * @param words | bitset with room for size + 1 bits
+     * @param index | position that is opened
+     * @param size  | amount of bits in use before the shift
+     */
+    static void shiftUp(LongBuffer words, int index, int size) {
+        int first = index >>> 6;
+        for (int w = words(size + 1) - 1; w > first; w--) {
+            setWord(words, w, (word(words, w) << 1) | (word(words, w - 1) >>> 63));
+        }
+        long lowMask = (1L << index) - 1;
+        long word = word(words, first);
+        setWord(words, first, (word & lowMask) | ((word & ~lowMask) << 1));
+    }
+
+    /**
+     * Moves every bit after the given index one position down, dropping the bit at the index.
+     *
+     * @param words | bitset
+     * @param index | position that is removed
+     * @param size  | amount of bits in use before the shift
+     */
+    static void shiftDown(LongBuffer words, int index, int size) {
+        int first = index >>> 6;
+        int last = words(size) - 1;
+        long lowMask = (1L << index) - 1;
+        long word = word(words, first);
+        setWord(words, first, (word & lowMask) | ((word >>> 1) & ~lowMask));
+        for (int w = first; w < last; w++) {
+            long next = word(words, w + 1);
+            setWord(words, w, word(words, w) | (next << 63));
+            setWord(words, w + 1, next >>> 1);
+        }
+    }
+
+    private static long word(LongBuffer words, int w) {
+        return words.get(w);
+    }
+
+    private static void setWord(LongBuffer words, int w, long value) {
+        words.put(w, value);
+    }
+}
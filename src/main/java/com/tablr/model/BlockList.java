@@ -0,0 +1,562 @@
+package com.tablr.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class for the compact value lists of the columns.
+ * Rows are stored in blocks of at most BLOCK_SIZE rows. A full block is split in two when a row is
+ * inserted into it and small neighbouring blocks are merged, so inserting or removing a row only moves
+ * rows inside one block. A Fenwick tree over the block sizes finds the block of a row in O(log n).
+ * <p>
+ * Blocks are shared copy-on-write between a list and its copies, so copying a list is O(1)
+ * and a write only copies the block it touches.
+ * <p>
+ * The fixed-width data of the blocks is allocated from a {@link ColumnStorage}, which keeps it on the heap
+ * or off-heap. Blocks owned by a single list are handed back to the storage when they are dropped,
+ * blocks that copies such as snapshots may still hold are freed once nothing refers to them anymore.
+ *
+ * @param <T> | type of the values
+ * @param <B> | type of the blocks holding the rows
+ */
+abstract class BlockList<T, B extends BlockList.Block> extends AbstractList<T> implements RandomAccess {
+    static final int BLOCK_SIZE = 1024;
+    // Neighbouring blocks that hold no more rows than this together are merged
+    private static final int MERGE_LIMIT = BLOCK_SIZE / 2;
+    private static final AtomicLong EPOCHS = new AtomicLong();
+
+    /**
+     * Storage for the rows of one block.
+     * A block may only be changed in place by the list whose epoch it carries.
+     */
+    abstract static class Block {
+        long epoch;
+        int count;
+    }
+
+    private final ColumnStorage storage;
+    private ArrayList<B> blocks = new ArrayList<>();
+    // Fenwick tree over the row counts of the blocks, 1-based
+    private int[] blockIndex = new int[1];
+    // True while the blocks list and the index are shared with a copy
+    private boolean spineShared;
+    private long epoch = EPOCHS.incrementAndGet();
+    private boolean readOnly;
+    private int size;
+    // Block found by the last lookup and its first row, makes sequential access O(1)
+    private int fingerBlock;
+    private int fingerStart;
+
+    /**
+     * Constructs an empty list that allocates its blocks from the given storage.
+     *
+     * @param storage | storage for the block data
+     */
+    protected BlockList(ColumnStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Creates an empty block with room for BLOCK_SIZE rows.
+     */
+    protected abstract B newBlock();
+
+    /**
+     * Creates a copy of a block that can be changed without affecting the original.
+     */
+    protected abstract B copyBlock(B block);
+
+    /**
+     * Reads the value at an offset in a block.
+     */
+    protected abstract T read(B block, int offset);
+
+    /**
+     * Writes a value at an offset in a block.
+     */
+    protected abstract void write(B block, int offset, T value);
+
+    /**
+     * Moves the rows at and after the offset one place up, opening the offset.
+     *
+     * @param block  | block to change, with room for one more row
+     * @param offset | offset that is opened
+     * @param used   | rows in use in the block before the shift
+     */
+    protected abstract void shiftUp(B block, int offset, int used);
+
+    /**
+     * Moves the rows after the offset one place down, dropping the row at the offset.
+     * The slot that becomes free at the end is cleared.
+     *
+     * @param block  | block to change
+     * @param offset | offset that is removed
+     * @param used   | rows in use in the block before the shift
+     */
+    protected abstract void shiftDown(B block, int offset, int used);
+
+    /**
+     * Moves the last rows of a block to another block and clears them in the source block.
+     *
+     * @param from       | block to take the rows from
+     * @param fromOffset | first row to move, the rows up to the end of the used part are moved
+     * @param to         | block that receives the rows
+     * @param toOffset   | offset of the first moved row in the receiving block
+     * @param count      | amount of rows to move
+     */
+    protected abstract void moveRows(B from, int fromOffset, B to, int toOffset, int count);
+
+    /**
+     * Clears the last rows of a block.
+     *
+     * @param block  | block to change
+     * @param offset | first row to clear, the rows up to the end of the used part are cleared
+     * @param count  | amount of rows to clear
+     */
+    protected abstract void clearRows(B block, int offset, int count);
+
+    /**
+     * Hands the memory of a block that is no longer used back to the storage.
+     */
+    protected abstract void releaseBlock(B block);
+
+    /**
+     * Estimates the memory held by a block, including the objects only it refers to.
+     */
+    protected abstract long blockBytes(B block);
+
+    /**
+     * Creates an empty list in the given storage with the same settings as this list.
+     */
+    protected abstract BlockList<T, B> emptyCopy(ColumnStorage storage);
+
+    /**
+     * Creates a copy of this list that shares all blocks with it.
+     * Subclasses create an empty list, copy their own fields and call {@link #shareInto(BlockList)}.
+     *
+     * @return A new list with the same values, independent from this list.
+     */
+    abstract BlockList<T, B> copy();
+
+    /**
+     * Creates a copy of this list whose blocks are allocated in another storage.
+     * Unlike {@link #copy()} this copies every block.
+     *
+     * @param target | storage for the blocks of the copy
+     * @return A new list with the same values in the target storage.
+     */
+    final BlockList<T, B> copyTo(ColumnStorage target) {
+        BlockList<T, B> moved = emptyCopy(target);
+        for (B block : blocks) {
+            B copy = moved.ownedBlock(moved.copyBlock(block));
+            copy.count = block.count;
+            moved.blocks.add(copy);
+        }
+        moved.size = size;
+        moved.rebuildIndex();
+        return moved;
+    }
+
+    /**
+     * Estimates the memory held by the values of this list.
+     * Blocks shared with copies are counted in full, so the estimate is an upper bound.
+     *
+     * @return estimated size in bytes
+     */
+    long retainedBytes() {
+        long bytes = (long) blockIndex.length * Integer.BYTES;
+        for (B block : blocks) {
+            bytes += blockBytes(block);
+        }
+        return bytes;
+    }
+
+    /**
+     * Gets the storage the blocks of this list are allocated from.
+     */
+    final ColumnStorage storage() {
+        return storage;
+    }
+
+    /**
+     * Creates a read-only copy of this list, later changes to this list are not visible in it.
+     *
+     * @return A read-only list with the current values.
+     */
+    BlockList<T, B> snapshot() {
+        BlockList<T, B> snapshot = copy();
+        snapshot.readOnly = true;
+        return snapshot;
+    }
+
+    /**
+     * Checks if this list rejects changes.
+     *
+     * @return True if this list is a snapshot, false otherwise.
+     */
+    boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Lets an empty list share the blocks of this list.
+     * Afterwards neither list owns any block, so the first write to a block copies it.
+     *
+     * @param copy | freshly created list
+     */
+    protected final void shareInto(BlockList<T, B> copy) {
+        copy.blocks = blocks;
+        copy.blockIndex = blockIndex;
+        copy.size = size;
+        copy.spineShared = true;
+        spineShared = true;
+        epoch = EPOCHS.incrementAndGet();
+    }
+
+    @Override
+    public T get(int index) {
+        int k = locate(index);
+        return read(blocks.get(k), index - fingerStart);
+    }
+
+    @Override
+    public T set(int index, T value) {
+        checkWritable();
+        T old = get(index);
+        int k = locate(index);
+        write(writableBlock(k), index - fingerStart, value);
+        return old;
+    }
+
+    @Override
+    public void add(int index, T value) {
+        checkWritable();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        int k;
+        int offset;
+        if (index == size) {
+            if (blocks.isEmpty() || blocks.getLast().count == BLOCK_SIZE) {
+                writableSpine().add(ownedBlock(newBlock()));
+                rebuildIndex();
+            }
+            k = blocks.size() - 1;
+            offset = blocks.getLast().count;
+        } else {
+            k = locate(index);
+            offset = index - fingerStart;
+        }
+        B block = writableBlock(k);
+        if (block.count == BLOCK_SIZE) {
+            B upper = split(k);
+            if (offset > block.count) {
+                offset -= block.count;
+                block = upper;
+                k++;
+            }
+        }
+        shiftUp(block, offset, block.count);
+        write(block, offset, value);
+        block.count++;
+        size++;
+        addToIndex(k, 1);
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        checkWritable();
+        T old = get(index);
+        int k = locate(index);
+        B block = writableBlock(k);
+        shiftDown(block, index - fingerStart, block.count);
+        block.count--;
+        size--;
+        addToIndex(k, -1);
+        if (block.count == 0) {
+            release(writableSpine().remove(k));
+            rebuildIndex();
+        } else if (k + 1 < blocks.size() && block.count + blocks.get(k + 1).count <= MERGE_LIMIT) {
+            merge(k);
+        } else if (k > 0 && block.count + blocks.get(k - 1).count <= MERGE_LIMIT) {
+            merge(k - 1);
+        }
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Appends the same value a number of times.
+     * The last block is filled before new blocks are created, and the block index is updated once for the whole batch.
+     *
+     * @param value | value to append
+     * @param count | amount of rows to append
+     * @throws IllegalArgumentException if count is negative.
+     */
+    void addCopies(T value, int count) {
+        checkWritable();
+        if (count < 0) {
+            throw new IllegalArgumentException("Amount of rows cannot be negative: " + count);
+        }
+        boolean addedBlocks = false;
+        int remaining = count;
+        while (remaining > 0) {
+            if (blocks.isEmpty() || blocks.getLast().count == BLOCK_SIZE) {
+                writableSpine().add(ownedBlock(newBlock()));
+                addedBlocks = true;
+            }
+            int k = blocks.size() - 1;
+            B block = writableBlock(k);
+            int added = Math.min(remaining, BLOCK_SIZE - block.count);
+            for (int offset = block.count; offset < block.count + added; offset++) {
+                write(block, offset, value);
+            }
+            block.count += added;
+            remaining -= added;
+            if (!addedBlocks) addToIndex(k, added);
+        }
+        size += count;
+        if (addedBlocks) rebuildIndex();
+        modCount++;
+    }
+
+    /**
+     * Removes the last rows of the list, dropping whole blocks where possible.
+     *
+     * @param count | amount of rows to remove
+     * @throws IndexOutOfBoundsException if the list holds fewer rows.
+     */
+    void removeLast(int count) {
+        checkWritable();
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException("Cannot remove " + count + " of " + size + " rows.");
+        }
+        int remaining = count;
+        while (remaining > 0) {
+            B last = blocks.getLast();
+            if (last.count <= remaining) {
+                remaining -= last.count;
+                release(writableSpine().removeLast());
+            } else {
+                B block = writableBlock(blocks.size() - 1);
+                clearRows(block, block.count - remaining, remaining);
+                block.count -= remaining;
+                remaining = 0;
+            }
+        }
+        size -= count;
+        rebuildIndex();
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        checkWritable();
+        for (B block : blocks) {
+            release(block);
+        }
+        blocks = new ArrayList<>();
+        blockIndex = new int[1];
+        spineShared = false;
+        size = 0;
+        resetFinger();
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the amount of blocks.
+     */
+    protected final int blockCount() {
+        return blocks.size();
+    }
+
+    /**
+     * Gets a block for reading.
+     */
+    protected final B block(int k) {
+        return blocks.get(k);
+    }
+
+    /**
+     * Gets the amount of rows in use in a block.
+     */
+    protected final int used(int k) {
+        return blocks.get(k).count;
+    }
+
+    /**
+     * Gets the block holding a row, for reading.
+     *
+     * @throws IndexOutOfBoundsException if the index is invalid.
+     */
+    protected final B blockOf(int index) {
+        return blocks.get(locate(index));
+    }
+
+    /**
+     * Gets the offset of a row inside its block.
+     *
+     * @throws IndexOutOfBoundsException if the index is invalid.
+     */
+    protected final int offsetOf(int index) {
+        locate(index);
+        return index - fingerStart;
+    }
+
+    /**
+     * Gets a block for writing, copying it first if it is shared.
+     */
+    protected final B writableBlock(int k) {
+        B block = blocks.get(k);
+        if (block.epoch != epoch) {
+            int count = block.count;
+            block = ownedBlock(copyBlock(block));
+            block.count = count;
+            writableSpine().set(k, block);
+        }
+        return block;
+    }
+
+    /**
+     * Replaces a block by a new one owned by this list.
+     */
+    protected final void replaceBlock(int k, B block) {
+        block.count = blocks.get(k).count;
+        release(writableSpine().set(k, ownedBlock(block)));
+    }
+
+    protected final void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Snapshot values cannot be changed.");
+        }
+    }
+
+    protected final void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+    }
+
+    /**
+     * Releases a dropped block, unless it may still be shared with a copy of this list.
+     * A shared block is left to the garbage collector, which frees it once the last copy holding it is dropped.
+     */
+    private void release(B block) {
+        if (block.epoch == epoch) {
+            releaseBlock(block);
+        }
+    }
+
+    private B ownedBlock(B block) {
+        block.epoch = epoch;
+        return block;
+    }
+
+    private ArrayList<B> writableSpine() {
+        if (spineShared) {
+            blocks = new ArrayList<>(blocks);
+            blockIndex = blockIndex.clone();
+            spineShared = false;
+        }
+        return blocks;
+    }
+
+    /**
+     * Finds the block holding a row and points the finger at it.
+     *
+     * @param row | index of the row
+     * @return index of the block, the block starts at fingerStart
+     * @throws IndexOutOfBoundsException if the row is invalid.
+     */
+    private int locate(int row) {
+        checkIndex(row);
+        if (row >= fingerStart) {
+            int end = fingerStart + blocks.get(fingerBlock).count;
+            if (row < end) return fingerBlock;
+            if (row < end + blocks.get(fingerBlock + 1).count) {
+                fingerBlock++;
+                fingerStart = end;
+                return fingerBlock;
+            }
+        }
+        // Descend the Fenwick tree to the last block starting at or before the row
+        int k = 0;
+        int start = 0;
+        for (int step = Integer.highestOneBit(blocks.size()); step > 0; step >>= 1) {
+            if (k + step <= blocks.size() && start + blockIndex[k + step] <= row) {
+                k += step;
+                start += blockIndex[k];
+            }
+        }
+        fingerBlock = k;
+        fingerStart = start;
+        return k;
+    }
+
+    private void addToIndex(int k, int delta) {
+        writableSpine();
+        for (int i = k + 1; i < blockIndex.length; i += i & -i) {
+            blockIndex[i] += delta;
+        }
+        if (k < fingerBlock) fingerStart += delta;
+    }
+
+    /**
+     * Rebuilds the Fenwick tree after blocks were added or removed.
+     */
+    private void rebuildIndex() {
+        int[] tree = new int[blocks.size() + 1];
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += blocks.get(i - 1).count;
+            int parent = i + (i & -i);
+            if (parent < tree.length) tree[parent] += tree[i];
+        }
+        blockIndex = tree;
+        resetFinger();
+    }
+
+    private void resetFinger() {
+        fingerBlock = 0;
+        fingerStart = 0;
+    }
+
+    /**
+     * Moves the upper half of a full block into a new block right after it.
+     *
+     * @param k | index of the full block, which must be writable
+     * @return the new block
+     */
+    private B split(int k) {
+        B block = blocks.get(k);
+        B upper = ownedBlock(newBlock());
+        int half = block.count / 2;
+        moveRows(block, half, upper, 0, block.count - half);
+        upper.count = block.count - half;
+        block.count = half;
+        writableSpine().add(k + 1, upper);
+        rebuildIndex();
+        return upper;
+    }
+
+    /**
+     * Moves all rows of a block into the block before it and removes the emptied block.
+     *
+     * @param k | index of the block receiving the rows
+     */
+    private void merge(int k) {
+        B block = writableBlock(k);
+        B next = blocks.get(k + 1);
+        moveRows(writableBlock(k + 1), 0, block, block.count, next.count);
+        block.count += next.count;
+        release(writableSpine().remove(k + 1));
+        rebuildIndex();
+    }
+}
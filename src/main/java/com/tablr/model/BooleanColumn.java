@@ -1,6 +1,6 @@
 package com.tablr.model;
 
-import java.util.Objects;
+import java.util.List;
 
 /**
  * Represents a column that stores Boolean values.
@@ -20,6 +20,47 @@ public final class BooleanColumn extends Column<Boolean> {
         super(name, allowsBlank, defaultValue, id);
     }
 
+    @Override
+    protected List<Boolean> createValueList() {
+        return new BooleanValueList();
+    }
+
+    /**
+     * Counts the rows of this column that hold true.
+     *
+     * @return The number of true values.
+     */
+    public int countTrue() {
+        return booleanValues().countTrue();
+    }
+
+    /**
+     * Counts the rows of this column that hold false.
+     *
+     * @return The number of false values.
+     */
+    public int countFalse() {
+        return booleanValues().countFalse();
+    }
+
+    /**
+     * Counts the blank rows of this column.
+     *
+     * @return The number of blank values.
+     */
+    public int countBlank() {
+        return booleanValues().countBlank();
+    }
+
+    @Override
+    protected boolean hasBlankValue() {
+        return countBlank() > 0;
+    }
+
+    private BooleanValueList booleanValues() {
+        return (BooleanValueList) values;
+    }
+
     @Override
     public ColumnType getColumnType() {
         return ColumnType.BOOLEAN;
@@ -162,7 +203,7 @@ public final class BooleanColumn extends Column<Boolean> {
 
     @Override
     public boolean canChangeToType(ColumnType type) {
-        boolean allBlank = values.stream().allMatch(Objects::isNull);
+        boolean allBlank = countBlank() == values.size();
         switch (type) {
             case INTEGER, EMAIL -> {
                 return (this.values.isEmpty() || allBlank) && this.defaultValue == null;
@@ -0,0 +1,143 @@
+package com.tablr.model;
+
+import java.nio.LongBuffer;
+
+/**
+ * List of Boolean values stored in blocks of two bitsets: one for the values and one for blanks.
+ * Every row takes two bits; a blank row always has its value bit cleared.
+ */
+final class BooleanValueList extends BlockList<Boolean, BooleanValueList.BitBlock> {
+
+    static final class BitBlock extends BlockList.Block {
+        final LongBuffer trues;
+        final LongBuffer blanks;
+
+        BitBlock(LongBuffer trues, LongBuffer blanks) {
+            this.trues = trues;
+            this.blanks = blanks;
+        }
+    }
+
+    /**
+     * Constructs an empty BooleanValueList on the heap.
+     */
+    BooleanValueList() {
+        this(ColumnStorage.heap());
+    }
+
+    /**
+     * Constructs an empty BooleanValueList in the given storage.
+     *
+     * @param storage | storage for the values
+     */
+    BooleanValueList(ColumnStorage storage) {
+        super(storage);
+    }
+
+    /**
+     * Counts the rows holding true.
+     *
+     * @return number of true rows
+     */
+    int countTrue() {
+        int count = 0;
+        for (int k = 0; k < blockCount(); k++) {
+            count += BitWords.count(block(k).trues, used(k));
+        }
+        return count;
+    }
+
+    /**
+     * Counts the rows holding false.
+     *
+     * @return number of false rows
+     */
+    int countFalse() {
+        return size() - countTrue() - countBlank();
+    }
+
+    /**
+     * Counts the blank rows.
+     *
+     * @return number of blank rows
+     */
+    int countBlank() {
+        int count = 0;
+        for (int k = 0; k < blockCount(); k++) {
+            count += BitWords.count(block(k).blanks, used(k));
+        }
+        return count;
+    }
+
+    @Override
+    BooleanValueList copy() {
+        BooleanValueList copy = emptyCopy(storage());
+        shareInto(copy);
+        return copy;
+    }
+
+    @Override
+    protected BooleanValueList emptyCopy(ColumnStorage storage) {
+        return new BooleanValueList(storage);
+    }
+
+    @Override
+    protected BitBlock newBlock() {
+        return new BitBlock(storage().allocateLongs(BitWords.words(BLOCK_SIZE)), storage().allocateLongs(BitWords.words(BLOCK_SIZE)));
+    }
+
+    @Override
+    protected BitBlock copyBlock(BitBlock block) {
+        BitBlock copy = newBlock();
+        copy.trues.put(0, block.trues, 0, block.trues.capacity());
+        copy.blanks.put(0, block.blanks, 0, block.blanks.capacity());
+        return copy;
+    }
+
+    @Override
+    protected Boolean read(BitBlock block, int offset) {
+        if (BitWords.get(block.blanks, offset)) return null;
+        return BitWords.get(block.trues, offset) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    @Override
+    protected void write(BitBlock block, int offset, Boolean value) {
+        BitWords.set(block.trues, offset, value != null && value);
+        BitWords.set(block.blanks, offset, value == null);
+    }
+
+    @Override
+    protected void shiftUp(BitBlock block, int offset, int used) {
+        BitWords.shiftUp(block.trues, offset, used);
+        BitWords.shiftUp(block.blanks, offset, used);
+    }
+
+    @Override
+    protected void shiftDown(BitBlock block, int offset, int used) {
+        BitWords.shiftDown(block.trues, offset, used);
+        BitWords.shiftDown(block.blanks, offset, used);
+    }
+
+    @Override
+    protected void clearRows(BitBlock block, int offset, int count) {
+        BitWords.clear(block.trues, offset, count);
+        BitWords.clear(block.blanks, offset, count);
+    }
+
+    @Override
+    protected void moveRows(BitBlock from, int fromOffset, BitBlock to, int toOffset, int count) {
+        BitWords.move(from.trues, fromOffset, to.trues, toOffset, count);
+        BitWords.move(from.blanks, fromOffset, to.blanks, toOffset, count);
+    }
+
+    @Override
+    protected long blockBytes(BitBlock block) {
+        return ColumnStorage.byteSize(block.trues) + ColumnStorage.byteSize(block.blanks);
+    }
+
+    @Override
+    protected void releaseBlock(BitBlock block) {
+        storage().release(block.trues);
+        storage().release(block.blanks);
+    }
+}
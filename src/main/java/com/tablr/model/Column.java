@@ -9,11 +9,16 @@ import java.util.Collections;
  * Each column has a name, type, default value, and a list of stored values.
  */
 public abstract sealed class Column<T> implements Cloneable permits StringColumn, BooleanColumn, EmailColumn, IntegerColumn {
+    // Rough sizes used by getRetainedBytes: the column object itself and a boxed value with its reference
+    private static final long COLUMN_OVERHEAD = 64;
+    private static final long VALUE_BYTES = 24;
     protected String name;
     protected final int id;
     protected boolean allowsBlank;
     protected T defaultValue;
     protected List<T> values;
+    // Table this column belongs to, notified when the name changes
+    private Table owner;
 
     /**
      * Constructs a new column with the specified attributes.
@@ -34,10 +39,20 @@ public abstract sealed class Column<T> implements Cloneable permits StringColumn
         if (!isValidValue(defaultValue)) throw new IllegalArgumentException("Default value is not valid.");
         else if (defaultValue == "") this.defaultValue = null;
         else this.defaultValue = defaultValue;
-        this.values = new ArrayList<>();
+        this.values = createValueList();
         this.id = id;
     }
 
+    /**
+     * Creates the list that stores the values of this column.
+     * Subclasses can override this to use a more compact storage for their type.
+     *
+     * @return An empty list to hold the column values.
+     */
+    protected List<T> createValueList() {
+        return new ArrayList<>();
+    }
+
     /**
      * Validates the value for the column.
      * This method should be overridden by subclasses to provide specific validation logic.
@@ -80,9 +95,26 @@ public abstract sealed class Column<T> implements Cloneable permits StringColumn
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Column name cannot be empty");
         }
+        if (owner != null) {
+            owner.onColumnRename(this, name);
+        }
         this.name = name;
     }
 
+    /**
+     * Gets the table this column belongs to.
+     *
+     * @return The owning table, or null if the column is not part of a table.
+     */
+    Table getOwner() { return owner; }
+
+    /**
+     * Sets the table this column belongs to.
+     *
+     * @param owner The owning table, or null to detach the column.
+     */
+    void setOwner(Table owner) { this.owner = owner; }
+
     /**
      * Gets the type name of the column.
      *
@@ -99,18 +131,82 @@ public abstract sealed class Column<T> implements Cloneable permits StringColumn
 
     /**
      * Creates a clone of the column.
+     * The clone gets its own values, copied lazily: both columns share storage until one of them writes to it.
      *
      * @return A cloned instance of the column.
      */
-@SuppressWarnings("unchecked")
     public Column<T> clone() {
+        if (values instanceof BlockList<T, ?> blockList) {
+            return copyWith(blockList.copy());
+        }
+        return copyWith(new ArrayList<>(values));
+    }
+
+    /**
+     * Creates a read-only copy of the column for a table snapshot.
+     * The values are shared with this column until one of them is changed.
+     *
+     * @return A column whose values cannot be changed.
+     */
+    Column<T> snapshot() {
+        if (values instanceof BlockList<T, ?> blockList) {
+            return copyWith(blockList.snapshot());
+        }
+        return copyWith(Collections.unmodifiableList(new ArrayList<>(values)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Column<T> copyWith(List<T> copiedValues) {
         try {
-            return (Column<T>) super.clone();
+            Column<T> copy = (Column<T>) super.clone();
+            copy.owner = null;
+            copy.values = copiedValues;
+            return copy;
         } catch (CloneNotSupportedException e) {
             throw new AssertionError("Cloning not supported", e);
         }
     }
 
+    /**
+     * Moves the values of this column to another storage.
+     * Does nothing if the values are already kept there.
+     *
+     * @param storage | storage to keep the values in
+     */
+    void moveValuesTo(ColumnStorage storage) {
+        if (values instanceof BlockList<T, ?> blockList && blockList.storage() != storage) {
+            values = blockList.copyTo(storage);
+            blockList.clear();
+        }
+    }
+
+    /**
+     * Drops the values of a column that was removed from its table for good, handing their memory
+     * back to the storage right away instead of leaving it to the garbage collector.
+     * Values shared with snapshots stay readable there.
+     *
+     * @throws IllegalStateException if the column is still part of a table.
+     */
+    public void releaseValues() {
+        if (owner != null) {
+            throw new IllegalStateException("Column " + name + " is still part of table " + owner.getName() + ".");
+        }
+        values.clear();
+    }
+
+    /**
+     * Estimates the memory held by the values of this column.
+     * Values shared with clones or snapshots are counted in full.
+     *
+     * @return estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        if (values instanceof BlockList<T, ?> blockList) {
+            return COLUMN_OVERHEAD + blockList.retainedBytes();
+        }
+        return COLUMN_OVERHEAD + (long) values.size() * VALUE_BYTES;
+    }
+
     /**
      * Checks if blank values are allowed in the column.
      *
@@ -130,10 +226,8 @@ public abstract sealed class Column<T> implements Cloneable permits StringColumn
 
         if (!newAllowsBlank) {
             boolean hasBlankDefault = (defaultValue == null || defaultValue.toString().isBlank());
-            boolean hasBlankValues = values.stream()
-                    .anyMatch(v -> v == null || v.toString().isBlank());
 
-            if (hasBlankDefault || hasBlankValues) {
+            if (hasBlankDefault || hasBlankValue()) {
                 return false; // blocked
             }
         }
@@ -142,6 +236,16 @@ public abstract sealed class Column<T> implements Cloneable permits StringColumn
         return true;
     }
 
+    /**
+     * Checks if any value of the column is blank.
+     * Subclasses can override this to check their storage without visiting every value.
+     *
+     * @return True if at least one value is blank, false otherwise.
+     */
+    protected boolean hasBlankValue() {
+        return values.stream().anyMatch(v -> v == null || v.toString().isBlank());
+    }
+
     /**
      * Gets the default value for the column.
      *
@@ -205,6 +309,39 @@ public abstract sealed class Column<T> implements Cloneable permits StringColumn
         values.add(index, defaultValue);
     }
 
+    /**
+     * Adds the default value to the column a number of times, growing the storage once.
+     *
+     * @param count The amount of values to add.
+     * @throws IllegalArgumentException if count is negative.
+     */
+    public void addDefaultValues(int count) {
+        if (values instanceof BlockList<T, ?> blockList) {
+            blockList.addCopies(defaultValue, count);
+        } else if (count < 0) {
+            throw new IllegalArgumentException("Amount of values cannot be negative: " + count);
+        } else {
+            values.addAll(Collections.nCopies(count, defaultValue));
+        }
+    }
+
+    /**
+     * Removes the last values of the column.
+     *
+     * @param count The amount of values to remove.
+     * @throws IndexOutOfBoundsException if the column holds fewer values.
+     */
+    public void removeLastValues(int count) {
+        if (count < 0 || count > values.size()) {
+            throw new IndexOutOfBoundsException("Cannot remove " + count + " of " + values.size() + " values.");
+        }
+        if (values instanceof BlockList<T, ?> blockList) {
+            blockList.removeLast(count);
+        } else {
+            values.subList(values.size() - count, values.size()).clear();
+        }
+    }
+
     /**
      * Removes the value at the specified index in the column.
      *
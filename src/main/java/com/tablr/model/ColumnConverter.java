@@ -0,0 +1,148 @@
+package com.tablr.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Converts a column to another column type in one pass over its values.
+ * Every pair of column types has its own converter working on the typed values,
+ * so integers are read without boxing and strings are not parsed again for every row
+ * holding the same text. Conversion stops at the first value that cannot be converted.
+ */
+public final class ColumnConverter {
+
+    private ColumnConverter() {}
+
+    /**
+     * Creates a column of the target type holding the converted values of the source column.
+     * The new column keeps the name, id and blank setting of the source; the source is not changed.
+     *
+     * @param source | column to convert
+     * @param target | type of the new column
+     * @return a new column, not part of any table
+     * @throws IllegalArgumentException if the default value or a value of the source cannot be converted,
+     *                                  the message names the first row that failed.
+     */
+    public static Column<?> convert(Column<?> source, ColumnType target) {
+        Column<?> converted;
+        try {
+            converted = ColumnFactory.createColumn(target, source);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Default value cannot be converted to " + target + ".", e);
+        }
+        @SuppressWarnings("unchecked")
+        Column<Object> result = (Column<Object>) converted;
+        switch (source) {
+            case IntegerColumn ints -> convertInts(ints, result, fromInt(target));
+            case BooleanColumn booleans -> convertValues(booleans, result, fromBoolean(target));
+            case StringColumn strings -> convertValues(strings, result, memoized(fromString(target)));
+            case EmailColumn emails -> convertValues(emails, result, memoized(fromString(target)));
+        }
+        return converted;
+    }
+
+    private static void convertInts(IntegerColumn source, Column<Object> result, IntFunction<Object> converter) {
+        for (int row = 0; row < source.size(); row++) {
+            Object value = null;
+            if (!source.isBlank(row)) {
+                int number = source.getInt(row);
+                try {
+                    value = converter.apply(number);
+                } catch (IllegalArgumentException e) {
+                    throw failure(number, row, result, e);
+                }
+            }
+            append(result, value, row);
+        }
+    }
+
+    private static <T> void convertValues(Column<T> source, Column<Object> result, Function<T, Object> converter) {
+        int row = 0;
+        for (T value : source.values) {
+            append(result, isBlank(value) ? null : apply(converter, value, row, result), row);
+            row++;
+        }
+    }
+
+    private static <T> Object apply(Function<T, Object> converter, T value, int row, Column<?> result) {
+        try {
+            return converter.apply(value);
+        } catch (IllegalArgumentException e) {
+            throw failure(value, row, result, e);
+        }
+    }
+
+    private static IllegalArgumentException failure(Object value, int row, Column<?> result, IllegalArgumentException cause) {
+        return new IllegalArgumentException(
+                "Row " + row + ": '" + value + "' cannot be converted to " + result.getColumnType() + ".", cause);
+    }
+
+    private static void append(Column<Object> result, Object value, int row) {
+        if (value == null && !result.allowsBlank()) {
+            throw new IllegalArgumentException("Row " + row + ": blank values are not allowed.");
+        }
+        result.values.add(value);
+    }
+
+    private static boolean isBlank(Object value) {
+        return value == null || value instanceof String s && s.isEmpty();
+    }
+
+    private static IntFunction<Object> fromInt(ColumnType target) {
+        return switch (target) {
+            case INTEGER -> value -> value;
+            case STRING -> Integer::toString;
+            case EMAIL -> value -> toEmail(Integer.toString(value));
+            case BOOLEAN -> value -> toBoolean(Integer.toString(value));
+        };
+    }
+
+    private static Function<Boolean, Object> fromBoolean(ColumnType target) {
+        return switch (target) {
+            case BOOLEAN -> value -> value;
+            case STRING -> Object::toString;
+            case EMAIL -> value -> toEmail(value.toString());
+            case INTEGER -> value -> Integer.parseInt(value.toString());
+        };
+    }
+
+    private static Function<String, Object> fromString(ColumnType target) {
+        return switch (target) {
+            case STRING -> value -> value;
+            case EMAIL -> ColumnConverter::toEmail;
+            case INTEGER -> Integer::parseInt;
+            case BOOLEAN -> ColumnConverter::toBoolean;
+        };
+    }
+
+    /**
+     * Remembers the result for every distinct text, so repeated values are converted once.
+     */
+    private static Function<String, Object> memoized(Function<String, Object> converter) {
+        Map<String, Object> converted = new HashMap<>();
+        return value -> {
+            Object result = converted.get(value);
+            if (result == null) {
+                result = converter.apply(value);
+                converted.put(value, result);
+            }
+            return result;
+        };
+    }
+
+    private static String toEmail(String value) {
+        if (!EmailColumn.isEmail(value)) {
+            throw new IllegalArgumentException("Invalid email format: " + value);
+        }
+        return value;
+    }
+
+    private static Boolean toBoolean(String value) {
+        String normalized = value.trim().toLowerCase();
+        if ("true".equals(normalized)) return true;
+        if ("false".equals(normalized)) return false;
+        throw new IllegalArgumentException("Invalid boolean string: " + value);
+    }
+}
@@ -0,0 +1,88 @@
+package com.tablr.model;
+
+import java.nio.Buffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Provides the memory for the fixed-width data of columns: integers, booleans and dictionary codes.
+ * Every table owns one storage. The heap storage wraps plain Java arrays, is shared and never needs to be closed;
+ * an off-heap storage keeps the data in direct buffers outside the garbage collected heap and has to be opted into.
+ */
+public abstract sealed class ColumnStorage implements AutoCloseable permits HeapColumnStorage, OffHeapColumnStorage {
+
+    /**
+     * Gets the storage that keeps the data in ordinary Java arrays.
+     *
+     * @return the shared heap storage
+     */
+    public static ColumnStorage heap() {
+        return HeapColumnStorage.INSTANCE;
+    }
+
+    /**
+     * Creates a storage that keeps the data off-heap, in direct buffers that are dropped when the storage is closed.
+     *
+     * @return a new off-heap storage
+     */
+    public static ColumnStorage offHeap() {
+        return new OffHeapColumnStorage();
+    }
+
+    /**
+     * Allocates zeroed room for longs.
+     *
+     * @param count | amount of longs
+     * @return the allocated buffer, with its capacity as limit
+     * @throws IllegalStateException if the storage is closed.
+     */
+    abstract LongBuffer allocateLongs(int count);
+
+    /**
+     * Allocates zeroed room for ints.
+     *
+     * @param count | amount of ints
+     * @return the allocated buffer, with its capacity as limit
+     * @throws IllegalStateException if the storage is closed.
+     */
+    abstract IntBuffer allocateInts(int count);
+
+    /**
+     * Hands back a buffer that is no longer used by anyone, so it can be reused by a later allocation.
+     *
+     * @param buffer | buffer returned by allocateLongs or allocateInts
+     */
+    abstract void release(Buffer buffer);
+
+    /**
+     * Gets the amount of memory of a buffer.
+     *
+     * @param buffer | buffer returned by allocateLongs or allocateInts
+     * @return size in bytes
+     */
+    static long byteSize(Buffer buffer) {
+        return (long) buffer.capacity() * (buffer instanceof LongBuffer ? Long.BYTES : Integer.BYTES);
+    }
+
+    /**
+     * Checks if the data is kept outside the heap.
+     *
+     * @return True for off-heap storage, false otherwise.
+     */
+    public abstract boolean isOffHeap();
+
+    /**
+     * Gets the amount of memory currently handed out by this storage.
+     *
+     * @return allocated bytes that were not released, 0 for the heap storage
+     */
+    public abstract long getAllocatedBytes();
+
+    /**
+     * Drops the memory of this storage and stops counting it. No memory can be allocated from it afterwards.
+     * This is not a deterministic free: the memory itself is returned by the garbage collector once no column
+     * or snapshot refers to it anymore.
+     */
+    @Override
+    public abstract void close();
+}
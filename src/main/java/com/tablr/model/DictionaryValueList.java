@@ -0,0 +1,338 @@
+package com.tablr.model;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * List of String values stored as codes into a dictionary of distinct values.
+ * Rows only keep an int code, blanks use code -1. When the column holds too many distinct
+ * values for the dictionary to pay off, the list switches to plain storage of String references.
+ * <p>
+ * The dictionary only grows between compactions, so copies of the list can keep sharing it;
+ * a compaction builds a new dictionary instead of changing the shared one.
+ * A compaction has to free at least half of the limit, otherwise the list switches to plain storage,
+ * so a column near its limit does not rewrite all its rows for every new value.
+ */
+final class DictionaryValueList extends BlockList<String, DictionaryValueList.StringBlock> {
+    private static final int BLANK = -1;
+    /** The dictionary may always grow to this size, regardless of the amount of rows. */
+    static final int MIN_DICTIONARY_LIMIT = 256;
+    private static final int REFERENCE_BYTES = 8;
+    private static final int STRING_OVERHEAD = 40;
+
+    /**
+     * Rows of one block: codes while the list is dictionary encoded, references once it is plain.
+     */
+    static final class StringBlock extends BlockList.Block {
+        final IntBuffer codes;
+        final String[] refs;
+
+        StringBlock(IntBuffer codes, String[] refs) {
+            this.codes = codes;
+            this.refs = refs;
+        }
+    }
+
+    private List<String> dictionary = new ArrayList<>();
+    private Map<String, Integer> codes = new HashMap<>();
+    // Set once the dictionary has been abandoned
+    private boolean plain;
+    // Number of compactions so far
+    private int compactions;
+
+    /**
+     * Constructs an empty DictionaryValueList on the heap.
+     */
+    DictionaryValueList() {
+        this(ColumnStorage.heap());
+    }
+
+    /**
+     * Constructs an empty DictionaryValueList that keeps its codes in the given storage.
+     * The dictionary and plain strings are always kept on the heap.
+     *
+     * @param storage | storage for the codes
+     */
+    DictionaryValueList(ColumnStorage storage) {
+        super(storage);
+    }
+
+    /**
+     * Checks if the values are still dictionary encoded.
+     *
+     * @return True if rows are stored as dictionary codes, false if stored as plain strings.
+     */
+    boolean isDictionaryEncoded() {
+        return !plain;
+    }
+
+    /**
+     * Gets the number of times the dictionary has been compacted.
+     *
+     * @return number of compactions
+     */
+    int getCompactionCount() {
+        return compactions;
+    }
+
+    /**
+     * Retrieves the distinct values in this list, including null if any row is blank.
+     * In dictionary mode this only inspects the row codes, each distinct value is visited once.
+     *
+     * @return collection of the distinct values
+     */
+    Collection<String> distinctValues() {
+        if (plain) {
+            return new HashSet<>(this);
+        }
+        boolean[] used = new boolean[dictionary.size()];
+        boolean hasBlank = false;
+        for (int k = 0; k < blockCount(); k++) {
+            IntBuffer rowCodes = block(k).codes;
+            for (int i = 0; i < used(k); i++) {
+                int code = rowCodes.get(i);
+                if (code == BLANK) hasBlank = true;
+                else used[code] = true;
+            }
+        }
+        List<String> distinct = new ArrayList<>();
+        for (int code = 0; code < used.length; code++) {
+            if (used[code]) distinct.add(dictionary.get(code));
+        }
+        if (hasBlank) distinct.add(null);
+        return distinct;
+    }
+
+    @Override
+    public String set(int index, String value) {
+        checkWritable();
+        checkIndex(index);
+        encode(value);
+        return super.set(index, value);
+    }
+
+    @Override
+    public void add(int index, String value) {
+        checkWritable();
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        encode(value);
+        super.add(index, value);
+    }
+
+    @Override
+    void addCopies(String value, int count) {
+        checkWritable();
+        encode(value);
+        super.addCopies(value, count);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        dictionary = new ArrayList<>();
+        codes = new HashMap<>();
+        plain = false;
+    }
+
+    @Override
+    DictionaryValueList copy() {
+        DictionaryValueList copy = emptyCopy(storage());
+        shareInto(copy);
+        return copy;
+    }
+
+    @Override
+    protected DictionaryValueList emptyCopy(ColumnStorage storage) {
+        DictionaryValueList copy = new DictionaryValueList(storage);
+        copy.dictionary = dictionary;
+        copy.codes = codes;
+        copy.plain = plain;
+        return copy;
+    }
+
+    @Override
+    protected StringBlock newBlock() {
+        return plain ? new StringBlock(null, new String[BLOCK_SIZE]) : new StringBlock(storage().allocateInts(BLOCK_SIZE), null);
+    }
+
+    @Override
+    protected StringBlock copyBlock(StringBlock block) {
+        if (plain) return new StringBlock(null, block.refs.clone());
+        StringBlock copy = newBlock();
+        copy.codes.put(0, block.codes, 0, block.codes.capacity());
+        return copy;
+    }
+
+    @Override
+    protected String read(StringBlock block, int offset) {
+        if (plain) return block.refs[offset];
+        int code = block.codes.get(offset);
+        return code == BLANK ? null : dictionary.get(code);
+    }
+
+    /**
+     * Writes a value that was passed to encode before.
+     */
+    @Override
+    protected void write(StringBlock block, int offset, String value) {
+        if (plain) block.refs[offset] = value;
+        else block.codes.put(offset, value == null ? BLANK : codes.get(value));
+    }
+
+    @Override
+    protected void shiftUp(StringBlock block, int offset, int used) {
+        if (plain) System.arraycopy(block.refs, offset, block.refs, offset + 1, used - offset);
+        else block.codes.put(offset + 1, block.codes, offset, used - offset);
+    }
+
+    @Override
+    protected void shiftDown(StringBlock block, int offset, int used) {
+        if (plain) {
+            System.arraycopy(block.refs, offset + 1, block.refs, offset, used - offset - 1);
+            block.refs[used - 1] = null;
+        } else {
+            block.codes.put(offset, block.codes, offset + 1, used - offset - 1);
+        }
+    }
+
+    @Override
+    protected void clearRows(StringBlock block, int offset, int count) {
+        if (plain) Arrays.fill(block.refs, offset, offset + count, null);
+    }
+
+    @Override
+    protected void moveRows(StringBlock from, int fromOffset, StringBlock to, int toOffset, int count) {
+        if (plain) {
+            System.arraycopy(from.refs, fromOffset, to.refs, toOffset, count);
+            Arrays.fill(from.refs, fromOffset, fromOffset + count, null);
+        } else {
+            to.codes.put(toOffset, from.codes, fromOffset, count);
+        }
+    }
+
+    @Override
+    protected long blockBytes(StringBlock block) {
+        if (block.codes != null) return ColumnStorage.byteSize(block.codes);
+        long bytes = (long) block.refs.length * REFERENCE_BYTES;
+        for (String value : block.refs) {
+            if (value != null) bytes += stringBytes(value);
+        }
+        return bytes;
+    }
+
+    @Override
+    long retainedBytes() {
+        long bytes = super.retainedBytes();
+        if (dictionary != null) {
+            for (String value : dictionary) {
+                bytes += REFERENCE_BYTES + stringBytes(value);
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    protected void releaseBlock(StringBlock block) {
+        if (block.codes != null) storage().release(block.codes);
+    }
+
+    /**
+     * Makes sure a value has a code, adding it to the dictionary when needed.
+     * When the dictionary reaches its limit it is compacted, or the list switches to plain storage
+     * if compacting would not free at least half of the limit.
+     *
+     * @param value | value to encode
+     */
+    private void encode(String value) {
+        if (plain || value == null || codes.containsKey(value)) return;
+        if (dictionary.size() >= dictionaryLimit()) {
+            if (usedCodeCount() > dictionaryLimit() / 2) {
+                switchToPlain();
+                return;
+            }
+            compact();
+        }
+        codes.put(value, dictionary.size());
+        dictionary.add(value);
+    }
+
+    private int dictionaryLimit() {
+        return Math.max(MIN_DICTIONARY_LIMIT, size() / 4);
+    }
+
+    /**
+     * Counts the codes still referenced by a row, without changing any block.
+     */
+    private int usedCodeCount() {
+        boolean[] used = new boolean[dictionary.size()];
+        int count = 0;
+        for (int k = 0; k < blockCount(); k++) {
+            IntBuffer rowCodes = block(k).codes;
+            for (int i = 0; i < used(k); i++) {
+                int code = rowCodes.get(i);
+                if (code != BLANK && !used[code]) {
+                    used[code] = true;
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Rebuilds the dictionary with only the values still referenced by a row.
+     */
+    private void compact() {
+        compactions++;
+        int[] remap = new int[dictionary.size()];
+        Arrays.fill(remap, BLANK);
+        List<String> newDictionary = new ArrayList<>();
+        Map<String, Integer> newCodes = new HashMap<>();
+        for (int k = 0; k < blockCount(); k++) {
+            IntBuffer rowCodes = writableBlock(k).codes;
+            for (int i = 0; i < used(k); i++) {
+                int code = rowCodes.get(i);
+                if (code == BLANK) continue;
+                if (remap[code] == BLANK) {
+                    remap[code] = newDictionary.size();
+                    newDictionary.add(dictionary.get(code));
+                    newCodes.put(dictionary.get(code), remap[code]);
+                }
+                rowCodes.put(i, remap[code]);
+            }
+        }
+        dictionary = newDictionary;
+        codes = newCodes;
+    }
+
+    /**
+     * Decodes all rows into plain storage and drops the dictionary.
+     */
+    private void switchToPlain() {
+        for (int k = 0; k < blockCount(); k++) {
+            String[] refs = new String[BLOCK_SIZE];
+            for (int i = 0; i < used(k); i++) {
+                refs[i] = read(block(k), i);
+            }
+            replaceBlock(k, new StringBlock(null, refs));
+        }
+        plain = true;
+        dictionary = null;
+        codes = null;
+    }
+
+    /**
+     * Estimates the memory of a String: object header, fields and a byte per character.
+     */
+    private static long stringBytes(String value) {
+        return STRING_OVERHEAD + value.length();
+    }
+}
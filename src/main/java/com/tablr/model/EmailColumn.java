@@ -1,10 +1,15 @@
 package com.tablr.model;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.regex.Pattern;
 /**
  * Represents a column that stores email addresses.
  * This class extends the abstract Column class and provides specific behavior for email values.
  */
 public final class EmailColumn extends Column<String> {
+    // eenvoudige email validatie: exact één @ en geen spaties
+    private static final Pattern EMAIL = Pattern.compile("^[^\\s@]+@[^\\s@]+$");
 
     /**
      * Constructs a new EmailColumn with the specified attributes.
@@ -19,6 +24,25 @@ public final class EmailColumn extends Column<String> {
         super(name, allowsBlank, defaultValue, id);
     }
 
+    @Override
+    protected List<String> createValueList() {
+        return new DictionaryValueList();
+    }
+
+    @Override
+    protected boolean hasBlankValue() {
+        return distinctValues().stream().anyMatch(v -> v == null || v.isBlank());
+    }
+
+    /**
+     * Retrieves the distinct values of this column, including null if a row is blank.
+     *
+     * @return The distinct values.
+     */
+    private Collection<String> distinctValues() {
+        return ((DictionaryValueList) values).distinctValues();
+    }
+
     /**
      * Validates whether the provided value is valid for this column.
      * A valid email value must contain exactly one '@' character.
@@ -72,14 +96,23 @@ public final class EmailColumn extends Column<String> {
             return null;
         }
 
-        // eenvoudige email validatie: exact één @ en geen spaties
-        if (!s.matches("^[^\\s@]+@[^\\s@]+$")) {
+        if (!isEmail(s)) {
             throw new IllegalArgumentException("Invalid email format: " + s);
         }
 
         return s;
     }
 
+    /**
+     * Checks if a non-blank string has the format of an email address.
+     *
+     * @param s The string to check.
+     * @return True if the string is a valid email address, false otherwise.
+     */
+    static boolean isEmail(String s) {
+        return EMAIL.matcher(s).matches();
+    }
+
     @Override
     public boolean canAcceptAllValuesFrom(Column<?> source) {
         try {
@@ -106,7 +139,7 @@ public final class EmailColumn extends Column<String> {
 
     @Override
     public boolean canChangeToType(ColumnType type) {
-        boolean allBlank = values.stream().allMatch(Objects::isNull);
+        boolean allBlank = distinctValues().stream().allMatch(Objects::isNull);
         return switch (type) {
             case BOOLEAN, INTEGER -> (this.values.isEmpty() || allBlank) && this.defaultValue == null;
             default -> true;
@@ -0,0 +1,44 @@
+package com.tablr.model;
+
+import java.nio.Buffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Column storage backed by plain long and int arrays on the heap, freed by the garbage collector.
+ */
+final class HeapColumnStorage extends ColumnStorage {
+    static final HeapColumnStorage INSTANCE = new HeapColumnStorage();
+
+    private HeapColumnStorage() {}
+
+    @Override
+    LongBuffer allocateLongs(int count) {
+        return LongBuffer.wrap(new long[count]);
+    }
+
+    @Override
+    IntBuffer allocateInts(int count) {
+        return IntBuffer.wrap(new int[count]);
+    }
+
+    @Override
+    void release(Buffer buffer) {
+        // Left to the garbage collector
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return false;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        // Shared by all heap tables, nothing to free
+    }
+}
@@ -0,0 +1,109 @@
+package com.tablr.model;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hands out the lowest free positive number, used for the ids of tables and columns
+ * and for the N in default names like "Table3".
+ * Numbers in use are kept as sorted runs of consecutive values, so allocating,
+ * reserving and releasing a number all take O(log n), also when numbers are far apart.
+ */
+public final class IdAllocator {
+    // Start of every run of used numbers mapped to the last number of that run
+    private final TreeMap<Integer, Integer> runs = new TreeMap<>();
+
+    /**
+     * Gets the lowest positive number that is not in use.
+     *
+     * @return lowest free number
+     */
+    public int lowestFree() {
+        Map.Entry<Integer, Integer> first = runs.firstEntry();
+        return first == null || first.getKey() > 1 ? 1 : first.getValue() + 1;
+    }
+
+    /**
+     * Takes the lowest free number.
+     *
+     * @return the number that is now in use
+     */
+    public int allocate() {
+        int value = lowestFree();
+        reserve(value);
+        return value;
+    }
+
+    /**
+     * Marks a number as in use. Reserving a number that is already in use,
+     * or one that is not positive and so never handed out, has no effect.
+     *
+     * @param value | number to reserve
+     */
+    public void reserve(int value) {
+        if (value <= 0 || isUsed(value)) return;
+        int start = value;
+        int end = value;
+        Map.Entry<Integer, Integer> before = runs.floorEntry(value - 1);
+        if (before != null && before.getValue() == value - 1) {
+            start = before.getKey();
+        }
+        if (value < Integer.MAX_VALUE) {
+            Integer afterEnd = runs.remove(value + 1);
+            if (afterEnd != null) end = afterEnd;
+        }
+        runs.put(start, end);
+    }
+
+    /**
+     * Marks a number as free again. Releasing a free number has no effect.
+     *
+     * @param value | number to release
+     */
+    public void release(int value) {
+        Map.Entry<Integer, Integer> run = runs.floorEntry(value);
+        if (run == null || run.getValue() < value) return;
+        int start = run.getKey();
+        int end = run.getValue();
+        runs.remove(start);
+        if (start < value) runs.put(start, value - 1);
+        if (value < end) runs.put(value + 1, end);
+    }
+
+    /**
+     * Checks if a number is in use.
+     *
+     * @param value | number to check
+     * @return True if the number is in use, false otherwise.
+     */
+    public boolean isUsed(int value) {
+        Map.Entry<Integer, Integer> run = runs.floorEntry(value);
+        return run != null && run.getValue() >= value;
+    }
+
+    /**
+     * Frees every number.
+     */
+    public void clear() {
+        runs.clear();
+    }
+
+    /**
+     * Gets the number at the end of a default name like "Column12".
+     * Only the shortest way of writing the number counts, so "Column012" has no number.
+     *
+     * @param name | name to inspect
+     * @param prefix | fixed start of the default names
+     * @return the positive number after the prefix, or -1 if the name is not a default name
+     */
+    public static int suffixOf(String name, String prefix) {
+        if (name == null || !name.startsWith(prefix)) return -1;
+        String digits = name.substring(prefix.length());
+        if (digits.isEmpty() || digits.length() > 10 || digits.charAt(0) == '0') return -1;
+        for (int i = 0; i < digits.length(); i++) {
+            if (digits.charAt(i) < '0' || digits.charAt(i) > '9') return -1;
+        }
+        long value = Long.parseLong(digits);
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+}
@@ -0,0 +1,151 @@
+package com.tablr.model;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * List of Integer values stored in blocks of ints.
+ * Blank (null) values are tracked in a separate bitmap, so no Integer objects are kept per row.
+ */
+final class IntValueList extends BlockList<Integer, IntValueList.IntBlock> {
+
+    static final class IntBlock extends BlockList.Block {
+        final IntBuffer ints;
+        final LongBuffer blanks;
+
+        IntBlock(IntBuffer ints, LongBuffer blanks) {
+            this.ints = ints;
+            this.blanks = blanks;
+        }
+    }
+
+    /**
+     * Constructs an empty IntValueList on the heap.
+     */
+    IntValueList() {
+        this(ColumnStorage.heap());
+    }
+
+    /**
+     * Constructs an empty IntValueList in the given storage.
+     *
+     * @param storage | storage for the values
+     */
+    IntValueList(ColumnStorage storage) {
+        super(storage);
+    }
+
+    /**
+     * Gets the primitive value at the given row.
+     *
+     * @param index | index of the row
+     * @return the stored int, or 0 if the row is blank
+     * @throws IndexOutOfBoundsException if the index is invalid.
+     */
+    int getInt(int index) {
+        return blockOf(index).ints.get(offsetOf(index));
+    }
+
+    /**
+     * Checks if the value at the given row is blank.
+     *
+     * @param index | index of the row
+     * @return True if the row is blank, false otherwise.
+     * @throws IndexOutOfBoundsException if the index is invalid.
+     */
+    boolean isBlank(int index) {
+        return BitWords.get(blockOf(index).blanks, offsetOf(index));
+    }
+
+    /**
+     * Counts the blank rows in this list.
+     *
+     * @return number of blank rows
+     */
+    int blankCount() {
+        int count = 0;
+        for (int k = 0; k < blockCount(); k++) {
+            count += BitWords.count(block(k).blanks, used(k));
+        }
+        return count;
+    }
+
+    @Override
+    IntValueList copy() {
+        IntValueList copy = emptyCopy(storage());
+        shareInto(copy);
+        return copy;
+    }
+
+    @Override
+    protected IntValueList emptyCopy(ColumnStorage storage) {
+        return new IntValueList(storage);
+    }
+
+    @Override
+    protected IntBlock newBlock() {
+        return new IntBlock(storage().allocateInts(BLOCK_SIZE), storage().allocateLongs(BitWords.words(BLOCK_SIZE)));
+    }
+
+    @Override
+    protected IntBlock copyBlock(IntBlock block) {
+        IntBlock copy = newBlock();
+        copy.ints.put(0, block.ints, 0, block.ints.capacity());
+        copy.blanks.put(0, block.blanks, 0, block.blanks.capacity());
+        return copy;
+    }
+
+    @Override
+    protected Integer read(IntBlock block, int offset) {
+        return BitWords.get(block.blanks, offset) ? null : block.ints.get(offset);
+    }
+
+    @Override
+    protected void write(IntBlock block, int offset, Integer value) {
+        block.ints.put(offset, value == null ? 0 : value);
+        BitWords.set(block.blanks, offset, value == null);
+    }
+
+    @Override
+    protected void shiftUp(IntBlock block, int offset, int used) {
+        block.ints.put(offset + 1, block.ints, offset, used - offset);
+        BitWords.shiftUp(block.blanks, offset, used);
+    }
+
+    @Override
+    protected void shiftDown(IntBlock block, int offset, int used) {
+        block.ints.put(offset, block.ints, offset + 1, used - offset - 1);
+        block.ints.put(used - 1, 0);
+        BitWords.shiftDown(block.blanks, offset, used);
+    }
+
+    @Override
+    protected void clearRows(IntBlock block, int offset, int count) {
+        clearInts(block.ints, offset, count);
+        BitWords.clear(block.blanks, offset, count);
+    }
+
+    @Override
+    protected void moveRows(IntBlock from, int fromOffset, IntBlock to, int toOffset, int count) {
+        to.ints.put(toOffset, from.ints, fromOffset, count);
+        clearInts(from.ints, fromOffset, count);
+        BitWords.move(from.blanks, fromOffset, to.blanks, toOffset, count);
+    }
+
+    @Override
+    protected long blockBytes(IntBlock block) {
+        return ColumnStorage.byteSize(block.ints) + ColumnStorage.byteSize(block.blanks);
+    }
+
+    @Override
+    protected void releaseBlock(IntBlock block) {
+        storage().release(block.ints);
+        storage().release(block.blanks);
+    }
+
+    private static void clearInts(IntBuffer ints, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            ints.put(i, 0);
+        }
+    }
+}
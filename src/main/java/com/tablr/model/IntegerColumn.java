@@ -1,5 +1,5 @@
 package com.tablr.model;
-import java.util.Objects;
+import java.util.List;
 /**
  * Represents a column that stores Integer values.
  * This class extends the abstract Column class and provides specific behavior for Integer values.
@@ -18,6 +18,42 @@ public final class IntegerColumn extends Column<Integer> {
         super(name, allowsBlank, defaultValue, id);
     }
 
+    @Override
+    protected List<Integer> createValueList() {
+        return new IntValueList();
+    }
+
+    /**
+     * Gets the value at the given row as a primitive int, without boxing.
+     *
+     * @param row The index of the row.
+     * @return The stored value, or 0 if the row is blank.
+     * @throws IndexOutOfBoundsException if the row is out of bounds.
+     */
+    public int getInt(int row) {
+        return intValues().getInt(row);
+    }
+
+    /**
+     * Checks if the value at the given row is blank.
+     *
+     * @param row The index of the row.
+     * @return True if the row is blank, false otherwise.
+     * @throws IndexOutOfBoundsException if the row is out of bounds.
+     */
+    public boolean isBlank(int row) {
+        return intValues().isBlank(row);
+    }
+
+    @Override
+    protected boolean hasBlankValue() {
+        return intValues().blankCount() > 0;
+    }
+
+    private IntValueList intValues() {
+        return (IntValueList) values;
+    }
+
     /**
      * Validates whether the provided value is valid for this column.
      *
@@ -101,7 +137,7 @@ public final class IntegerColumn extends Column<Integer> {
 
     @Override
     public boolean canChangeToType(ColumnType type) {
-        boolean allBlank = values.stream().allMatch(Objects::isNull);
+        boolean allBlank = intValues().blankCount() == values.size();
         switch (type) {
             case EMAIL,BOOLEAN -> {
                 return (this.values.isEmpty() || allBlank) && this.defaultValue == null;
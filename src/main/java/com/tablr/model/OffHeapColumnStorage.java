@@ -0,0 +1,117 @@
+package com.tablr.model;
+
+import java.lang.ref.Cleaner;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Column storage backed by direct buffers outside the heap.
+ * Released buffers are kept per size and reused. A buffer that is dropped without being released,
+ * like a block a snapshot still shared when it was replaced, is freed by the garbage collector once
+ * nothing refers to it anymore, and is then no longer counted as allocated.
+ * <p>
+ * Closing the storage does not free its memory on the spot. Java 21 has no supported way to free a direct
+ * buffer explicitly; the foreign memory API that can is still a preview feature there. Closing therefore
+ * drops the free lists and stops counting, and the memory is returned once the garbage collector
+ * collects the buffers. While the storage is open, released buffers are reused, so few buffers are left
+ * to the collector.
+ */
+final class OffHeapColumnStorage extends ColumnStorage {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Map<Integer, ArrayDeque<LongBuffer>> freeLongs = new HashMap<>();
+    private final Map<Integer, ArrayDeque<IntBuffer>> freeInts = new HashMap<>();
+    // Updated by the cleaner thread as well
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private volatile boolean closed;
+
+    @Override
+    synchronized LongBuffer allocateLongs(int count) {
+        checkOpen();
+        ArrayDeque<LongBuffer> reusable = freeLongs.get(count);
+        LongBuffer buffer;
+        if (reusable != null && !reusable.isEmpty()) {
+            buffer = reusable.pop();
+            for (int i = 0; i < count; i++) buffer.put(i, 0L);
+        } else {
+            buffer = track(direct(count * (long) Long.BYTES).asLongBuffer());
+        }
+        allocatedBytes.addAndGet(byteSize(buffer));
+        return buffer;
+    }
+
+    @Override
+    synchronized IntBuffer allocateInts(int count) {
+        checkOpen();
+        ArrayDeque<IntBuffer> reusable = freeInts.get(count);
+        IntBuffer buffer;
+        if (reusable != null && !reusable.isEmpty()) {
+            buffer = reusable.pop();
+            for (int i = 0; i < count; i++) buffer.put(i, 0);
+        } else {
+            buffer = track(direct(count * (long) Integer.BYTES).asIntBuffer());
+        }
+        allocatedBytes.addAndGet(byteSize(buffer));
+        return buffer;
+    }
+
+    @Override
+    synchronized void release(Buffer buffer) {
+        if (closed) return;
+        allocatedBytes.addAndGet(-byteSize(buffer));
+        switch (buffer) {
+            case LongBuffer longs -> freeLongs.computeIfAbsent(longs.capacity(), size -> new ArrayDeque<>()).push(longs);
+            case IntBuffer ints -> freeInts.computeIfAbsent(ints.capacity(), size -> new ArrayDeque<>()).push(ints);
+            default -> throw new IllegalArgumentException("Buffer was not allocated by this storage: " + buffer);
+        }
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return true;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            freeLongs.clear();
+            freeInts.clear();
+            allocatedBytes.set(0);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Column storage is closed.");
+        }
+    }
+
+    private static ByteBuffer direct(long byteSize) {
+        return ByteBuffer.allocateDirect(Math.toIntExact(byteSize)).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Stops counting a buffer once the garbage collector found that nothing refers to it.
+     * Buffers in the free lists stay referenced by this storage, so they are only collected after close.
+     */
+    private <B extends Buffer> B track(B buffer) {
+        long bytes = byteSize(buffer);
+        CLEANER.register(buffer, () -> {
+            if (!closed) allocatedBytes.addAndGet(-bytes);
+        });
+        return buffer;
+    }
+}
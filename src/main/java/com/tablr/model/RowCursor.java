@@ -0,0 +1,167 @@
+package com.tablr.model;
+
+/**
+ * Reusable read-only view on one row of a table.
+ * The cursor is moved with next() and seek(int), values are read per column index,
+ * so walking the rows of a table does not allocate anything per row.
+ * The cursor always reads the current state of the table; after rows are removed, seek again.
+ */
+public final class RowCursor {
+    private final Table table;
+    private int row = -1;
+
+    /**
+     * Constructs a cursor positioned before the first row of the table.
+     *
+     * @param table | table to read from
+     */
+    RowCursor(Table table) {
+        this.table = table;
+    }
+
+    /**
+     * Moves the cursor to the given row.
+     *
+     * @param row | index of the row
+     * @return True if the row exists, false otherwise.
+     */
+    public boolean seek(int row) {
+        this.row = row;
+        return isValid();
+    }
+
+    /**
+     * Moves the cursor to the next row.
+     *
+     * @return True if the cursor is on an existing row afterwards, false once it passed the last row.
+     */
+    public boolean next() {
+        if (row < table.getRowCount()) row++;
+        return isValid();
+    }
+
+    /**
+     * Checks if the cursor is on an existing row.
+     *
+     * @return True if the current row exists, false otherwise.
+     */
+    public boolean isValid() {
+        return row >= 0 && row < table.getRowCount();
+    }
+
+    /**
+     * Gets the index of the current row.
+     *
+     * @return index of the row the cursor is on
+     */
+    public int getRow() { return row; }
+
+    /**
+     * Gets the number of columns of the table.
+     *
+     * @return number of columns
+     */
+    public int getColumnCount() { return table.getColumnCount(); }
+
+    /**
+     * Gets the name of a column.
+     *
+     * @param columnIndex | index of the column (0-based)
+     * @return name of the column
+     */
+    public String getColumnName(int columnIndex) { return table.getColumnByIndex(columnIndex).getName(); }
+
+    /**
+     * Gets the ID of a column.
+     *
+     * @param columnIndex | index of the column (0-based)
+     * @return ID of the column
+     */
+    public int getColumnId(int columnIndex) { return table.getColumnByIndex(columnIndex).getId(); }
+
+    /**
+     * Gets the type of a column.
+     *
+     * @param columnIndex | index of the column (0-based)
+     * @return type of the column
+     */
+    public ColumnType getColumnType(int columnIndex) { return table.getColumnByIndex(columnIndex).getColumnType(); }
+
+    /**
+     * Gets the value of a column in the current row.
+     *
+     * @param columnIndex | index of the column (0-based)
+     * @return value of the cell, null if it is blank
+     * @throws IndexOutOfBoundsException if the cursor is not on a row or the column index is invalid.
+     */
+    public Object getValue(int columnIndex) {
+        return table.getColumnByIndex(columnIndex).getRowValue(checkedRow());
+    }
+
+    /**
+     * Checks if the value of a column in the current row is blank.
+     *
+     * @param columnIndex | index of the column (0-based)
+     * @return True if the cell is blank, false otherwise.
+     * @throws IndexOutOfBoundsException if the cursor is not on a row or the column index is invalid.
+     */
+    public boolean isBlank(int columnIndex) {
+        return switch (table.getColumnByIndex(columnIndex)) {
+            case IntegerColumn c -> c.isBlank(checkedRow());
+            case Column<?> c -> c.getRowValue(checkedRow()) == null;
+        };
+    }
+
+    /**
+     * Gets the value of an integer column in the current row without boxing.
+     *
+     * @param columnIndex | index of the column (0-based)
+     * @return value of the cell, 0 if it is blank
+     * @throws IllegalArgumentException if the column is not an integer column.
+     * @throws IndexOutOfBoundsException if the cursor is not on a row or the column index is invalid.
+     */
+    public int getInt(int columnIndex) {
+        if (table.getColumnByIndex(columnIndex) instanceof IntegerColumn c) {
+            return c.getInt(checkedRow());
+        }
+        throw new IllegalArgumentException("Column " + columnIndex + " is not an integer column.");
+    }
+
+    /**
+     * Gets the value of a boolean column in the current row.
+     *
+     * @param columnIndex | index of the column (0-based)
+     * @return value of the cell, null if it is blank
+     * @throws IllegalArgumentException if the column is not a boolean column.
+     * @throws IndexOutOfBoundsException if the cursor is not on a row or the column index is invalid.
+     */
+    public Boolean getBoolean(int columnIndex) {
+        if (table.getColumnByIndex(columnIndex) instanceof BooleanColumn c) {
+            return c.getRowValue(checkedRow());
+        }
+        throw new IllegalArgumentException("Column " + columnIndex + " is not a boolean column.");
+    }
+
+    /**
+     * Gets the value of a string or email column in the current row.
+     *
+     * @param columnIndex | index of the column (0-based)
+     * @return value of the cell, null if it is blank
+     * @throws IllegalArgumentException if the column does not hold text.
+     * @throws IndexOutOfBoundsException if the cursor is not on a row or the column index is invalid.
+     */
+    public String getString(int columnIndex) {
+        return switch (table.getColumnByIndex(columnIndex)) {
+            case StringColumn c -> c.getRowValue(checkedRow());
+            case EmailColumn c -> c.getRowValue(checkedRow());
+            default -> throw new IllegalArgumentException("Column " + columnIndex + " is not a text column.");
+        };
+    }
+
+    private int checkedRow() {
+        if (!isValid()) {
+            throw new IndexOutOfBoundsException("Cursor is not on a row: " + row);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,241 @@
+package com.tablr.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Temporary file holding a table or column that is not part of the model anymore,
+ * so its values do not have to be kept in memory until it is needed again.
+ * The file is removed by {@link #delete()} or when the virtual machine exits.
+ */
+public final class SpillFile {
+    private static final int MAGIC = 0x5442_4C52;
+    private static final byte TABLE = 1;
+    private static final byte COLUMN = 2;
+    // Markers before nullable values
+    private static final byte NULL = 0;
+    private static final byte PRESENT = 1;
+
+    private final Path path;
+    private final byte kind;
+
+    private SpillFile(Path path, byte kind) {
+        this.path = path;
+        this.kind = kind;
+    }
+
+    /**
+     * Writes a table with all its columns and values to a new temporary file.
+     *
+     * @param table | table to write
+     * @return handle to the written file
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    public static SpillFile writeTable(Table table) {
+        return write(TABLE, out -> {
+            out.writeUTF(table.getName());
+            out.writeInt(table.getId());
+            out.writeInt(table.getColumnCount());
+            for (Column<?> column : table.getColumns()) {
+                writeColumn(out, column);
+            }
+        });
+    }
+
+    /**
+     * Writes a column with all its values to a new temporary file.
+     *
+     * @param column | column to write
+     * @return handle to the written file
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    public static SpillFile writeColumn(Column<?> column) {
+        return write(COLUMN, out -> writeColumn(out, column));
+    }
+
+    /**
+     * Reads the table back from the file.
+     *
+     * @param storage | storage for the values of the table, owned by the table from now on
+     * @return a new table equal to the written one
+     * @throws IllegalStateException if the file holds a column.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    public Table readTable(ColumnStorage storage) {
+        checkKind(TABLE);
+        try (DataInputStream in = open()) {
+            Table table = new Table(in.readUTF(), in.readInt(), storage);
+            int columnCount = in.readInt();
+            for (int i = 0; i < columnCount; i++) {
+                table.insertColumnAt(i, readColumn(in));
+            }
+            return table;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the column back from the file.
+     *
+     * @return a new column equal to the written one, not part of any table
+     * @throws IllegalStateException if the file holds a table.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    public Column<?> readColumn() {
+        checkKind(COLUMN);
+        try (DataInputStream in = open()) {
+            return readColumn(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the size of the file.
+     *
+     * @return size in bytes, 0 once the file is deleted
+     */
+    public long getFileSize() {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes the file, it cannot be read anymore afterwards.
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static SpillFile write(byte kind, Writer writer) {
+        try {
+            Path path = Files.createTempFile("tablr-", ".spill");
+            path.toFile().deleteOnExit();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(kind);
+                writer.write(out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+            return new SpillFile(path, kind);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private DataInputStream open() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+        if (in.readInt() != MAGIC || in.readByte() != kind) {
+            in.close();
+            throw new IOException("Not a spill file: " + path);
+        }
+        return in;
+    }
+
+    private void checkKind(byte expected) {
+        if (kind != expected) {
+            throw new IllegalStateException("Spill file holds a " + (kind == TABLE ? "table" : "column") + ".");
+        }
+    }
+
+    private static void writeColumn(DataOutputStream out, Column<?> column) throws IOException {
+        ColumnType type = column.getColumnType();
+        out.writeByte(type.ordinal());
+        out.writeUTF(column.getName());
+        out.writeInt(column.getId());
+        out.writeBoolean(column.allowsBlank());
+        writeValue(out, type, column.getDefaultValue());
+        out.writeInt(column.size());
+        if (column instanceof IntegerColumn ints) {
+            // Read the compact storage directly instead of boxing every value
+            for (int row = 0; row < ints.size(); row++) {
+                out.writeByte(ints.isBlank(row) ? NULL : PRESENT);
+                out.writeInt(ints.getInt(row));
+            }
+            return;
+        }
+        for (Object value : column.getValues()) {
+            writeValue(out, type, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Column<?> readColumn(DataInputStream in) throws IOException {
+        ColumnType type = ColumnType.values()[in.readByte()];
+        String name = in.readUTF();
+        int id = in.readInt();
+        // Built blank-allowing without default so validation of the written settings cannot fail
+        Column<?> created = switch (type) {
+            case STRING -> new StringColumn(name, true, null, id);
+            case EMAIL -> new EmailColumn(name, true, null, id);
+            case BOOLEAN -> new BooleanColumn(name, true, null, id);
+            case INTEGER -> new IntegerColumn(name, true, null, id);
+        };
+        Column<Object> column = (Column<Object>) created;
+        column.allowsBlank = in.readBoolean();
+        column.defaultValue = readValue(in, type);
+        int size = in.readInt();
+        for (int row = 0; row < size; row++) {
+            column.values.add(readValue(in, type));
+        }
+        return created;
+    }
+
+    private static void writeValue(DataOutputStream out, ColumnType type, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+            if (type == ColumnType.INTEGER) out.writeInt(0);
+            return;
+        }
+        out.writeByte(PRESENT);
+        switch (type) {
+            case INTEGER -> out.writeInt((Integer) value);
+            case BOOLEAN -> out.writeBoolean((Boolean) value);
+            case STRING, EMAIL -> {
+                // writeUTF is limited to 64 KB, so strings are written with their own length
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static Object readValue(DataInputStream in, ColumnType type) throws IOException {
+        boolean present = in.readByte() == PRESENT;
+        if (type == ColumnType.INTEGER) {
+            int value = in.readInt();
+            return present ? value : null;
+        }
+        if (!present) return null;
+        return switch (type) {
+            case BOOLEAN -> in.readBoolean();
+            case STRING, EMAIL -> {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                yield new String(bytes, StandardCharsets.UTF_8);
+            }
+            case INTEGER -> throw new AssertionError("Handled above");
+        };
+    }
+}
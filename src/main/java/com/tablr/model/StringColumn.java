@@ -1,5 +1,7 @@
 package com.tablr.model;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -20,6 +22,25 @@ public final class StringColumn extends Column<String> {
         super(name, allowsBlank, defaultValue, id);
     }
 
+    @Override
+    protected List<String> createValueList() {
+        return new DictionaryValueList();
+    }
+
+    @Override
+    protected boolean hasBlankValue() {
+        return distinctValues().stream().anyMatch(v -> v == null || v.isBlank());
+    }
+
+    /**
+     * Retrieves the distinct values of this column, including null if a row is blank.
+     *
+     * @return The distinct values.
+     */
+    private Collection<String> distinctValues() {
+        return ((DictionaryValueList) values).distinctValues();
+    }
+
     @Override
     public ColumnType getColumnType() {
         return ColumnType.STRING;
@@ -115,17 +136,18 @@ public final class StringColumn extends Column<String> {
 
     @Override
     public boolean canChangeToType(ColumnType type) {
-        boolean allBlank = values.stream().allMatch(Objects::isNull);
+        Collection<String> distinct = distinctValues();
+        boolean allBlank = distinct.stream().allMatch(Objects::isNull);
 
         switch (type) {
             // TODO: implement proper email validation, nakijken null
             case EMAIL -> {
-                boolean allEmail = values.stream().allMatch(v-> v != null && v.contains("@"));
+                boolean allEmail = distinct.stream().allMatch(v-> v != null && v.contains("@"));
                 return (this.values.isEmpty() || allBlank || allEmail)
                         && (this.defaultValue == null || this.defaultValue.contains("@"));
             }
             case INTEGER -> {
-                boolean allInt = values.stream().allMatch(this::isIntString);
+                boolean allInt = distinct.stream().allMatch(this::isIntString);
                 boolean defVal = true;
                 try{
                     Integer.parseInt(String.valueOf(defaultValue));
@@ -136,7 +158,7 @@ public final class StringColumn extends Column<String> {
                 return (allInt || allBlank) && (defVal || defaultValue == null);
             }
             case BOOLEAN -> {
-                boolean allBoolean = values.stream().allMatch(v -> isBooleanString(String.valueOf(v)));
+                boolean allBoolean = distinct.stream().allMatch(v -> isBooleanString(String.valueOf(v)));
                 boolean defVal = isBooleanString(String.valueOf(defaultValue));
                 return (allBoolean || allBlank) && (defVal || defaultValue == null);
             }
@@ -2,7 +2,6 @@ package com.tablr.model;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Represents a table in the application, contains multiple columns and rows.
@@ -10,27 +9,57 @@ import java.util.stream.IntStream;
  * it supports operations to manipulate row data.
  */
 public class Table {
+    private static final String COLUMN_PREFIX = "Column";
     private String name;
     private final int id;
     private List<Column<?>> columns;
+    // Indexes on the columns list, kept in sync by every method that changes the columns
+    private final Map<Integer, Column<?>> columnsById;
+    private final Map<String, Column<?>> columnsByName;
+    // Ids and numbers of "ColumnN" names in use, kept in sync by attach, detach and onColumnRename
+    private final IdAllocator columnIds = new IdAllocator();
+    private final IdAllocator columnNumbers = new IdAllocator();
+    // Length of the longest column, every column should have exactly this many values
+    private int rowCount;
+    // Set for snapshots, which reject every change
+    private boolean readOnly;
+    // Memory for the values of the columns, closed when the table is deleted
+    private final ColumnStorage storage;
 
     /**
-     * Constructs a new table with the given name.
+     * Constructs a new table with the given name, keeping its values on the heap.
      *
      * @param name | The name of the table.
      * @throws IllegalArgumentException if the name is null or empty.
      */
     public Table(String name, int id) {
+        this(name, id, ColumnStorage.heap());
+    }
+
+    /**
+     * Constructs a new table with the given name and storage for its values.
+     * Columns added to the table move their values into this storage.
+     *
+     * @param name | The name of the table.
+     * @param id | The ID of the table.
+     * @param storage | The storage for the values of the columns, owned by the table from now on.
+     * @throws IllegalArgumentException if the name is null or empty.
+     */
+    public Table(String name, int id, ColumnStorage storage) {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Table name cannot be empty.");
         }
         this.name = name;
         this.id = id;
         this.columns = new ArrayList<>();
+        this.columnsById = new HashMap<>();
+        this.columnsByName = new HashMap<>();
+        this.storage = storage;
     }
 
     /**
-     * Get a cloned version of a table
+     * Get a cloned version of a table.
+     * The clone keeps its values on the heap, so it never has to be closed, even when this table is off-heap.
      * @return cloned table
      */
     public Table deepClone() {
@@ -40,6 +69,65 @@ public class Table {
         }
         return clonedTable;
     }
+
+    /**
+     * Takes a read-only snapshot of the table.
+     * The snapshot shares the column values with this table, so taking it does not copy any rows;
+     * later changes to this table only copy the part of a column they touch and are not visible in the snapshot.
+     *
+     * @return read-only copy of this table
+     */
+    public Table snapshot() {
+        Table snapshot = new Table(this.name, this.id, storage);
+        for (Column<?> column : this.columns) {
+            Column<?> copy = column.snapshot();
+            snapshot.columns.add(copy);
+            snapshot.attach(copy);
+        }
+        snapshot.rowCount = rowCount;
+        snapshot.readOnly = true;
+        return snapshot;
+    }
+
+    /**
+     * Gets the storage that holds the values of the columns of this table.
+     *
+     * @return storage of the table
+     */
+    public ColumnStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Closes the storage of the table, see {@link ColumnStorage#close()}.
+     * The table should not be changed afterwards; snapshots taken from it stay readable until they are dropped.
+     */
+    public void close() {
+        storage.close();
+    }
+
+    /**
+     * Estimates the memory held by the values of this table.
+     * Values shared with clones or snapshots are counted in full.
+     *
+     * @return estimated size in bytes
+     */
+    public long getRetainedBytes() {
+        long bytes = 0;
+        for (Column<?> column : columns) {
+            bytes += column.getRetainedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks if this table is a snapshot.
+     *
+     * @return True if the table rejects changes, false otherwise.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
     /**
      * Gets the name of the table.
      *
@@ -54,6 +142,7 @@ public class Table {
      * @throws IllegalArgumentException if the name is null or empty.
      */
     public void setName(String name) {
+        checkWritable();
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Table name cannot be empty.");
         }
@@ -99,20 +188,22 @@ public class Table {
         return columns.stream().map(c->c.getValue(index)).collect(Collectors.toList());
     }
 
+    /**
+     * Creates a cursor to walk the rows of this table without allocating per row.
+     *
+     * @return cursor positioned before the first row
+     */
+    public RowCursor cursor() {
+        return new RowCursor(this);
+    }
+
     /**
      * Creates and adds new column to the table with default configuration.
      * Column is named "ColumnN" where N is a unique identifier.
      */
     public void createColumn() {
-        int columnCount = IntStream.iterate(1, n -> n + 1)
-                .filter(n -> columns.stream().noneMatch(c -> c.getName().equals("Column" + n)))
-                .findFirst()
-                .orElseThrow(); // Should never happen
-        int columnId = IntStream.iterate(1, n -> n + 1)
-                .filter(n -> columns.stream().noneMatch(c -> c.getId() == n))
-                .findFirst()
-                .orElseThrow(); // Should never happen
-        Column<?> column = new StringColumn("Column"+columnCount, true, "", columnId);
+        checkWritable();
+        Column<?> column = new StringColumn(COLUMN_PREFIX + columnNumbers.lowestFree(), true, "", columnIds.lowestFree());
         addColumn(column);
     }
 
@@ -139,9 +230,67 @@ public class Table {
      * Creates new row with default values in table.
      */
     public void createRow(){
+        checkWritable();
         for(Column<?> column : columns){
             column.addDefaultValue();
         }
+        if (!columns.isEmpty()) rowCount++;
+        assert hasConsistentRowCount() : driftMessage();
+    }
+
+    /**
+     * Appends a number of rows with default values in one batch.
+     * Every column grows its storage once for the whole batch.
+     *
+     * @param count | amount of rows to add
+     * @throws IllegalArgumentException if count is negative.
+     */
+    public void appendRows(int count) {
+        checkWritable();
+        if (count < 0) {
+            throw new IllegalArgumentException("Amount of rows cannot be negative: " + count);
+        }
+        for (Column<?> column : columns) {
+            column.addDefaultValues(count);
+        }
+        if (!columns.isEmpty()) rowCount += count;
+        assert hasConsistentRowCount() : driftMessage();
+    }
+
+    /**
+     * Removes the last rows of the table.
+     *
+     * @param count | amount of rows to remove
+     * @throws IndexOutOfBoundsException if the table has fewer rows.
+     */
+    public void removeLastRows(int count) {
+        checkWritable();
+        if (count < 0 || count > rowCount) {
+            throw new IndexOutOfBoundsException("Cannot remove " + count + " of " + rowCount + " rows.");
+        }
+        for (Column<?> column : columns) {
+            column.removeLastValues(count);
+        }
+        rowCount -= count;
+        assert hasConsistentRowCount() : driftMessage();
+    }
+
+    /**
+     * Inserts a new row with default values at the given index.
+     *
+     * @param index | index of the new row
+     * @throws IndexOutOfBoundsException if the index is invalid.
+     */
+    public void insertRowAt(int index) {
+        checkWritable();
+        if (index < 0 || index > rowCount) {
+            throw new IndexOutOfBoundsException("Invalid row index: " + index);
+        }
+        for (Column<?> column : columns) {
+            column.addDefaultValueAt(index);
+        }
+        if (!columns.isEmpty()) rowCount++;
+        assert hasConsistentRowCount() : driftMessage();
     }
 
     /**
@@ -155,10 +304,8 @@ public class Table {
             throw new IllegalArgumentException("Column with name '" + column.getName() + "' already exists.");
         }
         this.columns.add(column);
-        int rowCount = getRowCount();
-        while (column.getValues().size() < rowCount) {
-            column.addDefaultValue();
-        }
+        attach(column);
+        fillToRowCount(column);
     }
 
     /**
@@ -167,7 +314,45 @@ public class Table {
      * @param columnId The id of the column to remove.
      */
     public void removeColumn(int columnId) {
-        columns.removeIf(c -> c.getId() == columnId);
+        checkWritable();
+        Column<?> column = columnsById.get(columnId);
+        if (column != null) {
+            columns.remove(column);
+            detach(column);
+            if (columns.isEmpty()) rowCount = 0;
+        }
+    }
+
+    /**
+     * Inserts a column at the given position in the table.
+     *
+     * @param index | position of the column (0-based)
+     * @param column | column to insert
+     * @throws IllegalArgumentException if a column with the same name or id already exists.
+     * @throws IndexOutOfBoundsException if index is invalid
+     */
+    public void insertColumnAt(int index, Column<?> column) {
+        checkWritable();
+        if (hasColumn(column.getName()) || hasColumnId(column.getId())) {
+            throw new IllegalArgumentException("Column '" + column.getName() + "' already exists.");
+        }
+        columns.add(index, column);
+        attach(column);
+        fillToRowCount(column);
+    }
+
+    /**
+     * Pads a column that was just added with default values up to the row count of the table.
+     * A column with more values raises the row count instead.
+     *
+     * @param column | column that was added to this table
+     */
+    private void fillToRowCount(Column<?> column) {
+        rowCount = Math.max(rowCount, column.size());
+        while (column.size() < rowCount) {
+            column.addDefaultValue();
+        }
+        assert hasConsistentRowCount() : driftMessage();
     }
 
     /**
@@ -178,10 +363,11 @@ public class Table {
      * @throws NoSuchElementException if the column does not exist.
      */
     public Column<?> getColumn (int columnId){
-        return columns.stream()
-                .filter(c -> c.getId() == columnId)
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Column not found: " + columnId));
+        Column<?> column = columnsById.get(columnId);
+        if (column == null) {
+            throw new NoSuchElementException("Column not found: " + columnId);
+        }
+        return column;
     }
 
     /**
@@ -206,6 +392,7 @@ public class Table {
      * @param value | new value of cell
      */
     public void setValue(int columnId, int rowIndex, Object value) {
+        checkWritable();
         Column column = getColumn(columnId);
         try {
             column.setValue(rowIndex, value);
@@ -221,7 +408,15 @@ public class Table {
      * @param newColumns | columns
      */
     public void setColumns(List<Column<?>> newColumns) {
+        checkWritable();
+        for (Column<?> column : columns) {
+            detach(column);
+        }
         this.columns = new ArrayList<>(newColumns);
+        for (Column<?> column : columns) {
+            attach(column);
+        }
+        rowCount = columns.stream().mapToInt(Column::size).max().orElse(0);
     }
 
     /**
@@ -230,11 +425,19 @@ public class Table {
      * @param columnId | ID of the column to replace
      * @param newColumn | New column to place at same index
      * @throws NoSuchElementException if the original column doesn't exist
+     * @throws IllegalArgumentException if the new column does not have a value for every row.
      */
     public void replaceColumnById(int columnId, Column<?> newColumn) {
+        checkWritable();
         for (int i = 0; i < columns.size(); i++) {
             if (columns.get(i).getId() == columnId) {
+                if (newColumn.size() != rowCount) {
+                    throw new IllegalArgumentException("Column has " + newColumn.size() + " values, table has " + rowCount + " rows.");
+                }
+                detach(columns.get(i));
                 columns.set(i, newColumn);
+                attach(newColumn);
+                assert hasConsistentRowCount() : driftMessage();
                 return;
             }
         }
@@ -248,11 +451,71 @@ public class Table {
      * @return True if the column exists, otherwise false.
      */
     public boolean hasColumn (String columnName){
-        return columns.stream().anyMatch(c -> c.getName().equals(columnName));
+        return columnsByName.containsKey(columnName);
     }
 
+    /**
+     * Checks if a column with the specified id exists.
+     *
+     * @param columnId The id of the column.
+     * @return True if the column exists, otherwise false.
+     */
     public boolean hasColumnId (int columnId) {
-        return columns.stream().anyMatch(c -> c.getId() == columnId);
+        return columnsById.containsKey(columnId);
+    }
+
+    /**
+     * Adds a column to the id and name indexes and makes this table its owner.
+     * The values of the column are moved to the storage of this table.
+     *
+     * @param column | column that became part of this table
+     */
+    private void attach(Column<?> column) {
+        column.moveValuesTo(storage);
+        columnsById.put(column.getId(), column);
+        columnsByName.put(column.getName(), column);
+        columnIds.reserve(column.getId());
+        columnNumbers.reserve(IdAllocator.suffixOf(column.getName(), COLUMN_PREFIX));
+        column.setOwner(this);
+    }
+
+    /**
+     * Removes a column from the id and name indexes and clears its owner.
+     * The column keeps its values in the storage of this table; they stay readable after the storage is closed.
+     *
+     * @param column | column that is no longer part of this table
+     */
+    private void detach(Column<?> column) {
+        if (columnsById.remove(column.getId(), column)) {
+            columnIds.release(column.getId());
+        }
+        if (columnsByName.remove(column.getName(), column)) {
+            columnNumbers.release(IdAllocator.suffixOf(column.getName(), COLUMN_PREFIX));
+        }
+        if (column.getOwner() == this) {
+            column.setOwner(null);
+        }
+    }
+
+    /**
+     * Updates the name index before a column of this table is renamed.
+     * Called by {@link Column#setName(String)}.
+     *
+     * @param column | the column being renamed
+     * @param newName | the new name of the column
+     * @throws IllegalArgumentException if another column already has the new name.
+     */
+    void onColumnRename(Column<?> column, String newName) {
+        checkWritable();
+        Column<?> existing = columnsByName.get(newName);
+        if (existing != null && existing != column) {
+            throw new IllegalArgumentException("Column with name '" + newName + "' already exists.");
+        }
+        if (columnsByName.remove(column.getName(), column)) {
+            columnNumbers.release(IdAllocator.suffixOf(column.getName(), COLUMN_PREFIX));
+        }
+        columnsByName.put(newName, column);
+        columnNumbers.reserve(IdAllocator.suffixOf(newName, COLUMN_PREFIX));
     }
     /**
      * Removes a row at the specified index.
@@ -261,12 +524,15 @@ public class Table {
      * @throws IndexOutOfBoundsException if the index is invalid.
      */
     public void removeRow (int index){
-        if (index < 0 || index >= getRowCount()) {
+        checkWritable();
+        if (index < 0 || index >= rowCount) {
             throw new IndexOutOfBoundsException("Invalid row index: " + index);
         }
         for (Column column : columns) {
             column.removeValue(index);
         }
+        rowCount--;
+        assert hasConsistentRowCount() : driftMessage();
     }
 
     /**
@@ -275,7 +541,40 @@ public class Table {
      * @return The number of rows.
      */
     public int getRowCount() {
-        return columns.isEmpty() ? 0 : columns.stream().mapToInt(col -> col.getValues().size()).max().orElse(0);
+        return rowCount;
+    }
+
+    /**
+     * Finds columns whose amount of values differs from the row count of the table.
+     * This happens when a column is changed directly instead of through the table.
+     *
+     * @return list of IDs of the columns with a wrong length, empty if the table is consistent
+     */
+    public List<Integer> findDriftedColumns() {
+        return columns.stream()
+                .filter(c -> c.size() != rowCount)
+                .map(Column::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks that every column has exactly getRowCount() values.
+     * Only called from assertions, so the check runs when assertions are enabled (-ea).
+     *
+     * @return True if no column has drifted, false otherwise.
+     */
+    private boolean hasConsistentRowCount() {
+        return findDriftedColumns().isEmpty();
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Snapshot of table " + name + " cannot be modified.");
+        }
+    }
+
+    private String driftMessage() {
+        return "Columns " + findDriftedColumns() + " of table " + name + " do not have " + rowCount + " rows.";
     }
 
     /**
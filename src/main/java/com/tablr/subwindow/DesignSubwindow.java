@@ -5,6 +5,7 @@ import com.tablr.area.TableAreaGenerator;
 import com.tablr.model.ColumnType;
 import com.tablr.area.Cell;
 import com.tablr.area.NormalCell;
+import com.tablr.undoRedo.Change;
 
 import java.awt.*;
 import java.util.Objects;
@@ -21,7 +22,7 @@ public class DesignSubwindow extends Subwindow {
     private boolean editing = false; // Indicates if a cell is currently being edited
     private boolean validState = true; // Indicates if the current edit is valid
     private NormalCell currentEditCell = null; // The cell currently being edited
-    private Rectangle currentEditRectangle = null; // The region of the cell being edited
+    private Cell currentEditRegionCell = null; // The cell being edited, its region follows the subwindow when it moves
     private BooleanCell currentBooleanCell = null; // The boolean cell currently being edited
 
     /**
@@ -59,11 +60,25 @@ public class DesignSubwindow extends Subwindow {
         this.validState = true;
         this.editing = false;
         this.currentEditCell = null;
-        this.currentEditRectangle = null;
+        this.currentEditRegionCell = null;
         this.currentBooleanCell = null;
         updateTableAreaPositions();
     }
 
+    /**
+     * Rebuilds the design only when a column or its settings changed, cell values are not shown here.
+     *
+     * @param change | what the undone or redone command changed
+     */
+    @Override
+    public void refresh(Change change) {
+        if (change.isDesignChanged(tableId)) {
+            updateTableArea();
+        } else if (change.isNameChanged(tableId)) {
+            this.title = "Design: " + parentWindow.getTableName(tableId);
+        }
+    }
+
     @Override
     public int getTableId() {
         return this.tableId;
@@ -88,7 +103,7 @@ public class DesignSubwindow extends Subwindow {
                 int row = tableArea.getRowfromY(adjustedY);
                 int column = tableArea.getColumnFromX(adjustedX);
                 Cell cell = tableArea.getTableCells()[column][row];
-                currentEditRectangle = cell.getRegion();
+                currentEditRegionCell = cell;
                 switch (cell) {
                     case NormalCell c -> {
                         currentEditCell = c;
@@ -115,16 +130,16 @@ public class DesignSubwindow extends Subwindow {
                     }
                 }
             }
-        } else if (currentEditRectangle.contains(x, y)) {
+        } else if (currentEditRegionCell.getRegion().contains(x, y)) {
             if (currentBooleanCell != null && currentBooleanCell.isCheckBoxClicked(adjustedX, adjustedY)) {
                 handleBlanksClick(adjustedY);
             } else if (currentEditCell != null && !validState) {
                 int row = tableArea.getRowfromY(adjustedY);
                 handleTypeClick(row, adjustedY);
             }
-        } else if (!currentEditRectangle.contains(adjustedX, adjustedY)) {
+        } else if (!currentEditRegionCell.getRegion().contains(adjustedX, adjustedY)) {
             if (validState) {
-                int column = tableArea.getColumnFromX(currentEditRectangle.x);
+                int column = tableArea.getColumnFromX(currentEditRegionCell.getRegion().x);
                 if (column == 0) {
                     setEdit();
                 } else {
@@ -241,7 +256,7 @@ public class DesignSubwindow extends Subwindow {
             this.editing = false;
             this.validState = true;
             currentBooleanCell = null;
-            currentEditRectangle = null;
+            currentEditRegionCell = null;
             parentWindow.updateTableAreas(tableId);
         }
     }
@@ -315,7 +330,7 @@ public class DesignSubwindow extends Subwindow {
 
         editing = false;
         currentEditCell = null;
-        currentEditRectangle = null;
+        currentEditRegionCell = null;
     }
 
     @Override
@@ -370,6 +385,7 @@ public class DesignSubwindow extends Subwindow {
         if (editing) {
             currentEditCell.removeCharEdit();
             onEdit();
+            damageCell(currentEditCell);
         }
     }
 
@@ -387,6 +403,7 @@ public class DesignSubwindow extends Subwindow {
         if (editing) {
             currentEditCell.appendEdit(keyChar);
             onEdit();
+            damageCell(currentEditCell);
         }
     }
 }
\ No newline at end of file
@@ -2,14 +2,15 @@ package com.tablr.subwindow;
 
 import com.tablr.area.BooleanCell;
 import com.tablr.area.Cell;
+import com.tablr.area.CellHit;
 import com.tablr.area.NormalCell;
 import com.tablr.area.TableAreaGenerator;
-import com.tablr.model.ColumnType;
 import com.tablr.model.IntegerColumn;
+import com.tablr.model.RowCursor;
+import com.tablr.undoRedo.Change;
 
 import java.awt.*;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -23,8 +24,9 @@ public class FormSubwindow extends Subwindow {
     private boolean editing = false; // Indicates if a cell is currently being edited
     private boolean validState = true; // Indicates if the current edit is valid
     private NormalCell currentEditCell = null; // The cell currently being edited
-    private Rectangle currentEditRectangle = null; // The region of the cell being edited
+    private Cell currentEditRegionCell = null; // The cell being edited, its region follows the subwindow when it moves
     private int currentColumnIndex = -1;
+    private RowCursor cursor; // Cursor on the table, moved to the shown row
     /**
      * Constructs a FormSubwindow for a specific table and row.
      *
@@ -47,7 +49,7 @@ public class FormSubwindow extends Subwindow {
      */
     private void initTableArea() {
         try {
-            updateForm();
+            updateTableArea();
         } catch (Exception e) {
             System.err.println("FormSubwindow – kon TableArea niet opbouwen: " + e.getMessage());
         }
@@ -57,24 +59,36 @@ public class FormSubwindow extends Subwindow {
      * Updates the form by generating a new table area and setting its position.
      */
     private void updateForm() {
-        List<Object> rowValues = parentWindow.getTableRowValues(tableId, row);
-        List<String> columnNames = parentWindow.getTableColumnNames(tableId);
-        List<ColumnType> columnTypes = parentWindow.getColumnTypesOfTable(tableId);
-        List<Integer> columnIds = parentWindow.getTableColumnIds(tableId);
-
-        this.tableArea = TableAreaGenerator.GenerateFormArea(columnNames, rowValues, columnTypes, columnIds);
+        cursor.seek(row);
+        this.tableArea = TableAreaGenerator.GenerateFormArea(cursor);
         updateTableAreaPositions();
         this.title = "Form: " + parentWindow.getTableName(tableId) + " Row: " + row;
     }
 
     /**
      * Updates the table area. Overrides the parent method.
+     * Takes a new cursor, the table may have been replaced by an undo or redo.
      */
     @Override
     public void updateTableArea() {
+        cursor = parentWindow.getRowCursor(tableId);
         updateForm();
     }
 
+    /**
+     * Rebuilds the form only when the shown row may look different.
+     *
+     * @param change | what the undone or redone command changed
+     */
+    @Override
+    public void refresh(Change change) {
+        if (change.isRowChanged(tableId, row)) {
+            updateTableArea();
+        } else if (change.isNameChanged(tableId)) {
+            this.title = "Form: " + parentWindow.getTableName(tableId) + " Row: " + row;
+        }
+    }
+
     @Override
     public int getTableId() {
         return tableId;
@@ -139,7 +153,7 @@ public class FormSubwindow extends Subwindow {
     @Override
     public void onControlD() {
         parentWindow.removeRowFromTable(tableId, row);
-        parentWindow.updateTableAreas(tableId);
+        parentWindow.refresh(Change.rows(tableId, row));
     }
 
     /**
@@ -147,8 +161,9 @@ public class FormSubwindow extends Subwindow {
      */
     @Override
     public void onControlN() {
+        int added = parentWindow.getRowCount(tableId);
         parentWindow.addRowToTable(tableId);
-        parentWindow.updateTableAreas(tableId);
+        parentWindow.refresh(Change.rows(tableId, added));
     }
 
     /**
@@ -161,6 +176,7 @@ public class FormSubwindow extends Subwindow {
         if (editing) {
             currentEditCell.appendEdit(keyChar);
             onEdit();
+            damageCell(currentEditCell);
         }
     }
 
@@ -172,6 +188,7 @@ public class FormSubwindow extends Subwindow {
         if (editing) {
             currentEditCell.removeCharEdit();
             onEdit();
+            damageCell(currentEditCell);
         }
     }
 
@@ -206,13 +223,13 @@ public class FormSubwindow extends Subwindow {
 
         if (!editing) {
             if (Arrays.stream(rowValues).noneMatch(Objects::isNull)) {
-                for (int i =0;i<rowValues.length;i++) {
-                    Cell cell = rowValues[i];
-                    if (!cell.getRegion().contains(x, y)) continue;
-
+                CellHit hit = tableArea.hitTest(x, y);
+                if (hit != null && hit.column() == 1) {
+                    int i = hit.row();
+                    Cell cell = hit.cell();
                     switch (cell) {
                         case BooleanCell b -> {
-                            if (b.isCheckBoxClicked(x, y)) {
+                            if (hit.onCheckBox()) {
                                 currentColumnIndex = i;
                                 startBooleanEdit(b.isCellSelected());
                             }
@@ -222,13 +239,13 @@ public class FormSubwindow extends Subwindow {
                                 editing = true;
                                 validState = true;
                                 currentEditCell = c;
-                                currentEditRectangle = c.getRegion();
+                                currentEditRegionCell = c;
 
                                 c.selectCell();
                                 c.setEdit();
                                 currentColumnIndex = i;
 
-                            } else if (currentEditRectangle != null && !currentEditRectangle.contains(x, y)) {
+                            } else if (currentEditRegionCell != null && !currentEditRegionCell.getRegion().contains(x, y)) {
                                 if (validState) {
                                     commitEdit();
                                     stopEditing();
@@ -259,7 +276,7 @@ public class FormSubwindow extends Subwindow {
 
         if (valid) {
             parentWindow.setRowValue(tableId, columnId, row, next);
-            parentWindow.updateTableAreas(tableId);
+            parentWindow.refresh(Change.cells(tableId, columnId, row, row + 1));
         } else {
             System.err.println("FormSubwindow – boolean‑switch resulteert in ongeldige waarde");
         }
@@ -334,7 +351,7 @@ public class FormSubwindow extends Subwindow {
 
         if (success) {
             parentWindow.setRowValue(tableId, columnId, row, valueForModel);
-            parentWindow.updateTableAreas(tableId);
+            parentWindow.refresh(Change.cells(tableId, columnId, row, row + 1));
         }
     }
 
@@ -348,7 +365,7 @@ public class FormSubwindow extends Subwindow {
         }
         editing = false;
         currentEditCell = null;
-        currentEditRectangle = null;
+        currentEditRegionCell = null;
         currentColumnIndex = -1;
     }
 }
\ No newline at end of file
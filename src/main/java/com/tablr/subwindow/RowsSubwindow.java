@@ -3,6 +3,7 @@ package com.tablr.subwindow;
 import com.tablr.area.*;
 import com.tablr.model.Column;
 import com.tablr.model.IntegerColumn;
+import com.tablr.undoRedo.Change;
 
 /**
  * Represents a subwindow for managing rows in a table.
@@ -15,6 +16,9 @@ public class RowsSubwindow extends Subwindow {
     private NormalCell currentEditCell = null;
     private BooleanCell currentBooleanCell = null;
     private Column<?> currentEditColumn = null;
+    // Position of the edited cell, kept because the cell may be reused for another row while scrolling
+    private int currentEditRow = -1;
+    private int currentEditColumnId = -1;
 
     /**
      * Constructs a RowsSubwindow instance.
@@ -47,6 +51,32 @@ public class RowsSubwindow extends Subwindow {
         currentEditColumn = null;
     }
 
+    /**
+     * Brings the rows up to date when columns, rows or cell values changed, not for column settings.
+     * Only a change of the columns rebuilds the table area; after other changes the area only gives
+     * new values to the cells the change touched and to the rows after inserted or removed rows.
+     *
+     * @param change | what the command changed
+     */
+    @Override
+    public void refresh(Change change) {
+        if (!change.areRowsChanged(tableId)) {
+            if (change.isNameChanged(tableId)) {
+                this.title = "Rows: " + parentWindow.getTableName(tableId);
+            }
+        } else if (change.isSchemaChanged(tableId) || change.isNameChanged(tableId) || currentEditCell != null) {
+            updateTableArea();
+        } else {
+            ((RowsArea) tableArea).patch(parentWindow.getTable(tableId), change.getFirstMovedRow(tableId),
+                    (columnId, row) -> change.isCellChanged(tableId, columnId, row));
+            updateTableAreaPositions();
+            editing = false;
+            validState = true;
+            currentBooleanCell = null;
+            currentEditColumn = null;
+        }
+    }
+
     /**
      * Gets the ID of the table associated with this subwindow.
      *
@@ -84,23 +114,20 @@ public class RowsSubwindow extends Subwindow {
             if (tableArea.leftMarginClicked(adjustedX, adjustedY)) {
                 tableArea.selectRow(adjustedX, adjustedY);
             } else {
-                for (Cell[] column : tableArea.getTableCells()) {
-                    for (Cell cell : column) {
-                        if (cell.getRegion().contains(adjustedX, adjustedY)) {
-                            if (currentEditCell != null) {
-                                throw new RuntimeException("cell in tablessubwindow is not a normalcell, this should never happen");
-                            }
-                            switch (cell) {
-                                case NormalCell c -> startEditing(c);
-                                case BooleanCell b -> {
-                                    if (b.isCheckBoxClicked(adjustedX, adjustedY)) {
-                                        currentBooleanCell = b;
-                                        startBooleanEdit();
-                                    }
-                                }
-                                default -> throw new IllegalStateException("Unexpected value: " + cell);
+                CellHit hit = tableArea.hitTest(adjustedX, adjustedY);
+                if (hit != null) {
+                    if (currentEditCell != null) {
+                        throw new RuntimeException("cell in tablessubwindow is not a normalcell, this should never happen");
+                    }
+                    switch (hit.cell()) {
+                        case NormalCell c -> startEditing(c);
+                        case BooleanCell b -> {
+                            if (hit.onCheckBox()) {
+                                currentBooleanCell = b;
+                                startBooleanEdit();
                             }
                         }
+                        default -> throw new IllegalStateException("Unexpected value: " + hit.cell());
                     }
                 }
             }
@@ -119,13 +146,15 @@ public class RowsSubwindow extends Subwindow {
      * Starts editing a Boolean cell.
      */
     private void startBooleanEdit() {
-        currentEditColumn = parentWindow.getColumn(tableId, tableArea.getIdFromX(currentBooleanCell.getRegion().x));
+        currentEditColumnId = tableArea.getIdFromX(currentBooleanCell.getRegion().x);
+        currentEditRow = tableArea.getRowfromY(currentBooleanCell.getRegion().y);
+        currentEditColumn = parentWindow.getColumn(tableId, currentEditColumnId);
         Boolean next = booleanSwitch(currentBooleanCell.isCellSelected());
-        validState = validateBoolean(next, tableArea.getIdFromX(currentBooleanCell.getRegion().x));
+        validState = validateBoolean(next, currentEditColumnId);
         editing = true;
         if (validState) {
-            parentWindow.setRowValue(tableId, tableArea.getIdFromX(currentBooleanCell.getRegion().x), tableArea.getRowfromY(currentBooleanCell.getRegion().y), next);
-            parentWindow.updateTableAreas(tableId);
+            parentWindow.setRowValue(tableId, currentEditColumnId, currentEditRow, next);
+            parentWindow.refresh(Change.cells(tableId, currentEditColumnId, currentEditRow, currentEditRow + 1));
         } else {
             currentBooleanCell.setSelectValue(next);
         }
@@ -168,7 +197,9 @@ public class RowsSubwindow extends Subwindow {
         cell.selectCell();
         currentEditCell = cell;
         currentEditCell.setEdit();
-        currentEditColumn = parentWindow.getColumn(tableId, tableArea.getIdFromX(currentEditCell.getRegion().x));
+        currentEditColumnId = tableArea.getIdFromX(currentEditCell.getRegion().x);
+        currentEditRow = tableArea.getRowfromY(currentEditCell.getRegion().y);
+        currentEditColumn = parentWindow.getColumn(tableId, currentEditColumnId);
     }
 
     /**
@@ -178,7 +209,7 @@ public class RowsSubwindow extends Subwindow {
         switch (currentEditColumn) {
             case IntegerColumn c -> {
                 if (isIntString(currentEditCell.getEdit())) {
-                    validState = parentWindow.isValidColumnValue(tableId, tableArea.getIdFromX(currentEditCell.getRegion().x), myStringToInt(currentEditCell.getEdit()))
+                    validState = parentWindow.isValidColumnValue(tableId, currentEditColumnId, myStringToInt(currentEditCell.getEdit()))
                             || currentEditCell.getValue().equals(currentEditCell.getEdit());
                     currentEditCell.setValid(validState);
                 } else {
@@ -186,7 +217,7 @@ public class RowsSubwindow extends Subwindow {
                 }
             }
             default -> {
-                validState = parentWindow.isValidColumnValue(tableId, tableArea.getIdFromX(currentEditCell.getRegion().x), currentEditCell.getEdit())
+                validState = parentWindow.isValidColumnValue(tableId, currentEditColumnId, currentEditCell.getEdit())
                         || currentEditCell.getValue().equals(currentEditCell.getEdit());
                 currentEditCell.setValid(validState);
             }
@@ -200,9 +231,9 @@ public class RowsSubwindow extends Subwindow {
         if (validState) {
             switch (currentEditColumn) {
                 case IntegerColumn c ->
-                        parentWindow.setRowValue(tableId, tableArea.getIdFromX(currentEditCell.getRegion().x), tableArea.getRowfromY(currentEditCell.getRegion().y), myStringToInt(currentEditCell.getEdit()));
+                        parentWindow.setRowValue(tableId, currentEditColumnId, currentEditRow, myStringToInt(currentEditCell.getEdit()));
                 default ->
-                        parentWindow.setRowValue(tableId, tableArea.getIdFromX(currentEditCell.getRegion().x), tableArea.getRowfromY(currentEditCell.getRegion().y), currentEditCell.getEdit());
+                        parentWindow.setRowValue(tableId, currentEditColumnId, currentEditRow, currentEditCell.getEdit());
             }
             //parentWindow.updateTableAreas(getTableId());
         }
@@ -218,7 +249,7 @@ public class RowsSubwindow extends Subwindow {
         currentEditCell = null;
         validState = true;
         currentEditColumn = null;
-        parentWindow.updateTableAreas(tableId);
+        parentWindow.refresh(Change.cells(tableId, currentEditColumnId, currentEditRow, currentEditRow + 1));
     }
 
     /**
@@ -233,8 +264,9 @@ public class RowsSubwindow extends Subwindow {
 
         if (!editing) {
             if (y > tableArea.getLowestY()) {
+                int added = parentWindow.getRowCount(tableId);
                 parentWindow.addRowToTable(tableId);
-                parentWindow.updateTableAreas(getTableId());
+                parentWindow.refresh(Change.rows(tableId, added));
             }
         }
     }
@@ -281,6 +313,7 @@ public class RowsSubwindow extends Subwindow {
         if (editing && currentEditCell != null) {
             currentEditCell.removeCharEdit();
             onEdit();
+            damageCell(currentEditCell);
         }
     }
 
@@ -290,8 +323,9 @@ public class RowsSubwindow extends Subwindow {
     @Override
     public void onDelete() {
         if (!editing && tableArea.getSelectedRow() != -1) {
-            parentWindow.removeRowFromTable(tableId, tableArea.getSelectedRow());
-            parentWindow.updateTableAreas(tableId);
+            int removed = tableArea.getSelectedRow();
+            parentWindow.removeRowFromTable(tableId, removed);
+            parentWindow.refresh(Change.rows(tableId, removed));
         }
     }
 
@@ -305,6 +339,7 @@ public class RowsSubwindow extends Subwindow {
         if (editing && currentEditCell != null) {
             currentEditCell.appendEdit(keyChar);
             onEdit();
+            damageCell(currentEditCell);
         }
     }
 }
\ No newline at end of file
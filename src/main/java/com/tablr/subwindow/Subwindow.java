@@ -1,9 +1,12 @@
 package com.tablr.subwindow;
 
+import com.tablr.area.Cell;
 import com.tablr.area.TableArea;
+import com.tablr.undoRedo.Change;
 import com.tablr.view.TableAreaDrawer;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 /**
  * Represents an abstract subwindow in the application.
@@ -34,6 +37,11 @@ public abstract class Subwindow {
     private boolean draggingHorizontalScrollbar = false;
     private int lastMouseY, lastMouseX;
 
+    // Image of the subwindow, drawn again only where something in it changed; moving the window just copies it
+    private BufferedImage buffer;
+    // Part of the buffer that is out of date, relative to the top left corner of the subwindow; null if none
+    private Rectangle damaged;
+
 
     /**
      * Constructs a Subwindow instance with the specified parameters.
@@ -52,6 +60,16 @@ public abstract class Subwindow {
         this.width = width;
         this.height = height;
         this.parentWindow = parentWindow;
+        this.damaged = new Rectangle(0, 0, width + 1, height + 1);
+    }
+
+    /**
+     * Retrieves the part of the screen covered by the subwindow, including the border past width and height.
+     *
+     * @return bounds of the subwindow
+     */
+    public Rectangle getBounds() {
+        return new Rectangle(x, y, width + 1, height + 1);
     }
 
     /**
@@ -96,6 +114,18 @@ public abstract class Subwindow {
      */
     public abstract void updateTableArea();
 
+    /**
+     * Brings the subwindow up to date after an undo or redo, doing only the work the change requires.
+     * By default the table area is rebuilt whenever the table of the subwindow was touched.
+     *
+     * @param change | what the undone or redone command changed
+     */
+    public void refresh(Change change) {
+        if (change.affectsTable(getTableId())) {
+            updateTableArea();
+        }
+    }
+
     /**
      * Retrieves the ID of the table associated with the subwindow.
      *
@@ -122,6 +152,15 @@ public abstract class Subwindow {
         showVerticalScrollbar = contentHeight > viewHeight;
 
         tableArea.SetBounds(xOffset, yOffset);
+        updateViewport();
+    }
+
+    /**
+     * Tells the table area which part of it is visible, so it can build the cells for that part.
+     */
+    protected void updateViewport() {
+        int viewHeight = height - titleBarHeight - (showHorizontalScrollbar ? 10 : 0);
+        tableArea.setViewport(y + titleBarHeight + scrollY, y + titleBarHeight + scrollY + viewHeight);
     }
 
 
@@ -161,11 +200,91 @@ public abstract class Subwindow {
      * @param g The Graphics object used for rendering.
      */
     public void draw(Graphics g) {
-        drawFrame(g);
-        drawTitleBar(g);
-        drawContent(g);
-        drawScrollbars(g);
-        drawResizeHandle(g);
+        if (damaged != null || buffer == null || buffer.getWidth() != width + 1 || buffer.getHeight() != height + 1) {
+            render(g);
+        }
+        g.drawImage(buffer, x, y, null);
+    }
+
+    /**
+     * Draws the damaged part of the subwindow into its buffer, with the font and rendering hints of the Graphics
+     * object it is shown on. A new buffer, needed after resizing, is drawn completely.
+     * The frame includes its border one pixel past width and height, so the buffer is one pixel larger.
+     *
+     * @param g The Graphics object the buffer will be drawn on.
+     */
+    private void render(Graphics g) {
+        if (buffer == null || buffer.getWidth() != width + 1 || buffer.getHeight() != height + 1) {
+            buffer = g instanceof Graphics2D g2
+                    ? g2.getDeviceConfiguration().createCompatibleImage(width + 1, height + 1)
+                    : new BufferedImage(width + 1, height + 1, BufferedImage.TYPE_INT_RGB);
+            damaged = new Rectangle(0, 0, width + 1, height + 1);
+        }
+        Graphics2D b = buffer.createGraphics();
+        if (g.getFont() != null) {
+            b.setFont(g.getFont());
+        }
+        if (g instanceof Graphics2D g2) {
+            b.setRenderingHints(g2.getRenderingHints());
+        }
+        b.translate(-x, -y);
+        b.clipRect(x + damaged.x, y + damaged.y, damaged.width, damaged.height);
+        drawFrame(b);
+        drawTitleBar(b);
+        drawContent(b);
+        drawScrollbars(b);
+        drawResizeHandle(b);
+        b.dispose();
+        damaged = null;
+    }
+
+    /**
+     * Marks the whole subwindow as changed, so it is drawn again instead of copied from its buffer the next time.
+     * Moving the subwindow does not change it.
+     */
+    public void markDirty() {
+        damage(new Rectangle(0, 0, width + 1, height + 1));
+    }
+
+    /**
+     * Marks the part of the subwindow showing a cell as changed, after the cell was edited.
+     * Text may run past the right side of the cell, so the damage reaches the right side of the view.
+     *
+     * @param cell | cell of the table area of this subwindow
+     */
+    protected void damageCell(Cell cell) {
+        Rectangle region = cell.getRegion();
+        Rectangle view = new Rectangle(x + 1, y + titleBarHeight + 1,
+                width - (showVerticalScrollbar ? 10 : 0) - 2, height - titleBarHeight - (showHorizontalScrollbar ? 10 : 0) - 2);
+        int left = region.x - scrollX;
+        Rectangle strip = new Rectangle(left, region.y - scrollY, view.x + view.width - left, region.height + 1)
+                .intersection(view);
+        if (!strip.isEmpty()) {
+            strip.translate(-x, -y);
+            damage(strip);
+        }
+    }
+
+    /**
+     * Adds a part of the subwindow to the damaged part of its buffer, and reports it to the controller
+     * so that part of the screen is painted again.
+     *
+     * @param region | changed part, relative to the top left corner of the subwindow
+     */
+    private void damage(Rectangle region) {
+        damaged = damaged == null ? region : damaged.union(region);
+        if (parentWindow != null) {
+            parentWindow.damage(new Rectangle(x + region.x, y + region.y, region.width, region.height));
+        }
+    }
+
+    /**
+     * Checks if the subwindow changed since it was last drawn.
+     *
+     * @return True if part of it will be drawn again, false if its buffer will be copied.
+     */
+    public boolean isDirty() {
+        return damaged != null;
     }
 
     /**
@@ -254,8 +373,9 @@ public abstract class Subwindow {
      */
     protected void drawContent(Graphics g) {
         Graphics2D g2 = (Graphics2D) g.create();
-        g2.setClip(x + 1, y + titleBarHeight + 1, width - (showVerticalScrollbar ? 10 : 0) - 2, height - titleBarHeight - (showHorizontalScrollbar ? 10 : 0) - 2);
+        g2.clipRect(x + 1, y + titleBarHeight + 1, width - (showVerticalScrollbar ? 10 : 0) - 2, height - titleBarHeight - (showHorizontalScrollbar ? 10 : 0) - 2);
         g2.translate(-scrollX, -scrollY);
+        updateViewport();
         TableAreaDrawer.drawTableArea(g2, tableArea);
         g2.dispose();
     }
@@ -311,6 +431,9 @@ public abstract class Subwindow {
      * @param isFocused True to focus the subwindow, false to unfocus it.
      */
     public void setFocused(boolean isFocused) {
+        if (this.isFocused != isFocused) {
+            markDirty();
+        }
         this.isFocused = isFocused;
     }
 
@@ -408,6 +531,9 @@ public abstract class Subwindow {
      * @param my The y-coordinate of the mouse drag.
      */
     public void onMouseDragged(int mx, int my) {
+        if (resizing || draggingVerticalScrollbar || draggingHorizontalScrollbar) {
+            markDirty();
+        }
         if (dragging) {
             int newX = mx - dragOffsetX;
             int newY = my - dragOffsetY;
@@ -415,11 +541,17 @@ public abstract class Subwindow {
             int canvasWidth = parentWindow.getCanvasWidth();
             int canvasHeight = parentWindow.getCanvasHeight();
 
+            // Only the screen changes: where the subwindow was and where it is now
+            parentWindow.damage(getBounds());
             x = Math.max(0, Math.min(newX, canvasWidth - width));
             y = Math.max(0, Math.min(newY, canvasHeight - titleBarHeight));
+            parentWindow.damage(getBounds());
+            parentWindow.moved(this);
         } else if (resizing) {
             width = Math.max(100, mx - x - dragOffsetX);
             height = Math.max(100, my - y - dragOffsetY);
+            markDirty();
+            parentWindow.moved(this);
             //scrollbar after resizing
             int contentWidth = tableArea.getTotalWidth();
             int contentHeight = tableArea.getTotalHeight();
@@ -3,7 +3,9 @@ package com.tablr.subwindow;
 import com.tablr.controller.AppController;
 import com.tablr.model.Column;
 import com.tablr.model.ColumnType;
+import com.tablr.model.RowCursor;
 import com.tablr.model.Table;
+import com.tablr.undoRedo.Change;
 
 import java.awt.*;
 import java.util.ArrayList;
@@ -18,7 +20,11 @@ public class SubwindowController {
 
     private final List<Subwindow> subWindows = new ArrayList<>();
     private final List<Subwindow> freshSubWindows = new ArrayList<>();
+    // Finds the subwindow on top at a point, in the same order as freshSubWindows
+    private final SubwindowIndex index = new SubwindowIndex();
     private Subwindow focusedWindow;
+    // Part of the screen that changed since the last call of takeDamage, null if none
+    private Rectangle damage;
     private final AppController mediator;
 
     /**
@@ -57,11 +63,33 @@ public class SubwindowController {
     public void updateTableAreas(int id) {
         for (Subwindow subWindow : freshSubWindows) {
             if (id == -1 || subWindow.getTableId() == id) {
+                subWindow.markDirty();
                 subWindow.updateTableArea();
             }
         }
     }
 
+    /**
+     * Brings the subwindows up to date after an undo or redo.
+     * Subwindows of deleted tables are closed, the others only redo what the change affects.
+     *
+     * @param change | what the undone or redone command changed
+     */
+    public void refresh(Change change) {
+        List<Integer> tableIds = mediator.getTableIds();
+        for (Subwindow subWindow : new ArrayList<>(freshSubWindows)) {
+            int tableId = subWindow.getTableId();
+            if (tableId != -1 && change.affectsTable(tableId) && !tableIds.contains(tableId)) {
+                removeSubWindow(subWindow);
+            } else {
+                if (change.affectsTable(tableId) || tableId == -1 && change.affectsTableList()) {
+                    subWindow.markDirty();
+                }
+                subWindow.refresh(change);
+            }
+        }
+    }
+
     /**
      * Removes a subwindow from the controller.
      * If the removed subwindow was focused, the next freshest subwindow is focused.
@@ -69,8 +97,10 @@ public class SubwindowController {
      * @param subwindow The subwindow to remove.
      */
     public void removeSubWindow(Subwindow subwindow) {
+        damage(subwindow.getBounds());
         subWindows.remove(subwindow);
         freshSubWindows.remove(subwindow);
+        index.remove(subwindow);
         if (focusedWindow == subwindow) {
             focusedWindow = getFreshestSubwindow();
             if (focusedWindow != null) {
@@ -124,6 +154,16 @@ public class SubwindowController {
         focusedWindow.setFocused(true);
         freshSubWindows.remove(focusedWindow);
         freshSubWindows.add(focusedWindow);
+        index.raise(focusedWindow);
+    }
+
+    /**
+     * Files a subwindow under its new bounds after it was moved or resized, so clicks find it there.
+     *
+     * @param sub The subwindow that moved.
+     */
+    void moved(Subwindow sub) {
+        index.update(sub);
     }
 
     /**
@@ -138,15 +178,6 @@ public class SubwindowController {
         return freshSubWindows.getLast();
     }
 
-    /**
-     * Retrieves the list of subwindows ordered from freshest to least fresh.
-     *
-     * @return A list of subwindows ordered by freshness.
-     */
-    private List<Subwindow> getFreshSubWindowsOrderedFreshest() {
-        return freshSubWindows.reversed();
-    }
-
     /**
      * Retrieves the list of subwindows ordered from least fresh to freshest.
      *
@@ -166,24 +197,53 @@ public class SubwindowController {
     }
 
     /**
-     * Paints all subwindows managed by the controller.
+     * Paints the subwindows managed by the controller that lie within the clip.
+     * Subwindows that did not change since the last paint are copied from their buffer.
      *
      * @param g The Graphics object used for rendering.
      */
     public void paint(Graphics g) {
+        Rectangle clip = g.getClipBounds();
         g.setColor(new Color(220, 220, 220));
-        g.fillRect(0, 0, 850, 650);
+        if (clip == null) {
+            g.fillRect(0, 0, 850, 650);
+        } else {
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        }
 
         for (Subwindow win : getFreshSubWindowsOrderedLeastFresh()) {
-            win.draw(g);
+            if (clip == null || clip.intersects(win.getBounds())) {
+                win.draw(g);
+            }
         }
     }
 
+    /**
+     * Reports a part of the screen that changed and has to be painted again.
+     *
+     * @param region | changed part of the screen
+     */
+    public void damage(Rectangle region) {
+        damage = damage == null ? new Rectangle(region) : damage.union(region);
+    }
+
+    /**
+     * Retrieves the part of the screen that changed since the last call, and starts collecting anew.
+     *
+     * @return smallest rectangle around all reported changes, null if nothing changed
+     */
+    public Rectangle takeDamage() {
+        Rectangle taken = damage;
+        damage = null;
+        return taken;
+    }
+
     /**
      * Handles the Control+Enter key event for the focused subwindow.
      */
     public void onControlEnter() {
         if (focusedWindow != null) {
+            focusedWindow.markDirty();
             focusedWindow.onControlEnter();
         }
     }
@@ -193,6 +253,7 @@ public class SubwindowController {
      */
     public void onEnter() {
         if (focusedWindow != null) {
+            focusedWindow.markDirty();
             focusedWindow.onEnter();
         }
     }
@@ -202,6 +263,7 @@ public class SubwindowController {
      */
     public void onEscape() {
         if (focusedWindow != null) {
+            focusedWindow.markDirty();
             focusedWindow.onEscape();
         }
     }
@@ -213,6 +275,7 @@ public class SubwindowController {
      */
     public void onCharacter(char keychar) {
         if (focusedWindow != null) {
+            // The subwindow reports the cell it edited
             focusedWindow.onCharacter(keychar);
         }
     }
@@ -222,6 +285,7 @@ public class SubwindowController {
      */
     public void onBackspace() {
         if (focusedWindow != null) {
+            // The subwindow reports the cell it edited
             focusedWindow.onBackspace();
         }
     }
@@ -231,6 +295,7 @@ public class SubwindowController {
      */
     public void onDelete() {
         if (focusedWindow != null) {
+            focusedWindow.markDirty();
             focusedWindow.onDelete();
         }
     }
@@ -243,12 +308,10 @@ public class SubwindowController {
      * @param event The action to perform on the subwindow.
      */
     public void windowActivationMouseEvent(int x, int y, BiConsumer<Subwindow, int[]> event) {
-        for (Subwindow sub : getFreshSubWindowsOrderedFreshest()) {
-            if (sub.isInside(x, y)) {
-                setFocused(sub);
-                event.accept(sub, new int[]{x, y});
-                return;
-            }
+        Subwindow sub = index.getSubwindowAt(x, y);
+        if (sub != null) {
+            setFocused(sub);
+            event.accept(sub, new int[]{x, y});
         }
     }
 
@@ -259,7 +322,10 @@ public class SubwindowController {
      * @param y The y-coordinate of the click.
      */
     public void onClick(int x, int y) {
-        windowActivationMouseEvent(x, y, (Subwindow sub, int[] coords) -> sub.onClick(coords[0], coords[1]));
+        windowActivationMouseEvent(x, y, (Subwindow sub, int[] coords) -> {
+            sub.markDirty();
+            sub.onClick(coords[0], coords[1]);
+        });
     }
 
     /**
@@ -269,7 +335,10 @@ public class SubwindowController {
      * @param y The y-coordinate of the double click.
      */
     public void onDoubleClick(int x, int y) {
-        windowActivationMouseEvent(x, y, (Subwindow sub, int[] coords) -> sub.onDoubleClick(coords[0], coords[1]));
+        windowActivationMouseEvent(x, y, (Subwindow sub, int[] coords) -> {
+            sub.markDirty();
+            sub.onDoubleClick(coords[0], coords[1]);
+        });
     }
 
     /**
@@ -315,6 +384,7 @@ public class SubwindowController {
      */
     public void onCtrlF() {
         if(focusedWindow != null) {
+            focusedWindow.markDirty();
             focusedWindow.onControlF();
         }
     }
@@ -324,6 +394,7 @@ public class SubwindowController {
      */
     public void onPageUp() {
         if(focusedWindow != null) {
+            focusedWindow.markDirty();
             focusedWindow.onPageUp();
         }
     }
@@ -333,6 +404,7 @@ public class SubwindowController {
      */
     public void onPageDown() {
         if(focusedWindow != null) {
+            focusedWindow.markDirty();
             focusedWindow.onPageDown();
         }
     }
@@ -342,6 +414,7 @@ public class SubwindowController {
      */
     public void onControlD() {
         if (focusedWindow != null) {
+            focusedWindow.markDirty();
             focusedWindow.onControlD();
         }
     }
@@ -351,6 +424,7 @@ public class SubwindowController {
      */
     public void onCtrlN() {
         if (focusedWindow != null) {
+            focusedWindow.markDirty();
             focusedWindow.onControlN();
         }
     }
@@ -606,6 +680,15 @@ public class SubwindowController {
         return mediator.getColumnCount(tableId);
     }
 
+    /**
+     * Retrieve amount of rows of a table
+     * @param tableId | ID of table
+     * @return amount of rows
+     */
+    public int getRowCount(int tableId) {
+        return mediator.getRowCount(tableId);
+    }
+
     /**
      * Retrieve list of row values of given row in given table.
      * @param tableId | ID of table
@@ -616,6 +699,15 @@ public class SubwindowController {
         return mediator.getTableRowValues(tableId, row);
     }
 
+    /**
+     * Retrieve a cursor over the rows of given table.
+     * @param tableId | ID of table
+     * @return cursor positioned before the first row
+     */
+    public RowCursor getRowCursor(int tableId) {
+        return mediator.getRowCursor(tableId);
+    }
+
     /**
      * Retrieve list of column names of given table.
      * @param tableId | ID of table
@@ -0,0 +1,118 @@
+package com.tablr.subwindow;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Finds the topmost subwindow at a point without testing every subwindow.
+ * The screen is divided in square tiles, and every tile lists the subwindows overlapping it,
+ * so a point is only tested against the subwindows on its own tile.
+ * The subwindow raised last lies on top.
+ */
+class SubwindowIndex {
+    // Width and height of a tile
+    private static final int TILE = 64;
+
+    private final Map<Long, List<Subwindow>> tiles = new HashMap<>();
+    // Bounds every subwindow is filed under, to take it off its old tiles when it moves
+    private final Map<Subwindow, Rectangle> filed = new HashMap<>();
+    // Position of every subwindow in the stack, higher lies on top
+    private final Map<Subwindow, Long> depth = new HashMap<>();
+    private long top = 0;
+
+    /**
+     * Puts a subwindow on top of all others, adding it to the index if it was not in it yet.
+     *
+     * @param sub | subwindow to raise
+     */
+    void raise(Subwindow sub) {
+        depth.put(sub, ++top);
+        update(sub);
+    }
+
+    /**
+     * Files a subwindow of the index under its current bounds, after it moved or was resized.
+     * Subwindows that are not in the index are ignored.
+     *
+     * @param sub | subwindow whose bounds may have changed
+     */
+    void update(Subwindow sub) {
+        if (!depth.containsKey(sub)) {
+            return;
+        }
+        Rectangle bounds = sub.getBounds();
+        Rectangle old = filed.put(sub, bounds);
+        if (bounds.equals(old)) {
+            return;
+        }
+        if (old != null) {
+            unfile(sub, old);
+        }
+        forEachTile(bounds, tile -> tiles.computeIfAbsent(tile, t -> new ArrayList<>()).add(sub));
+    }
+
+    /**
+     * Removes a subwindow from the index.
+     *
+     * @param sub | subwindow to remove
+     */
+    void remove(Subwindow sub) {
+        Rectangle old = filed.remove(sub);
+        depth.remove(sub);
+        if (old != null) {
+            unfile(sub, old);
+        }
+    }
+
+    /**
+     * Retrieves the topmost subwindow containing a point.
+     *
+     * @param x | x coordinate of the point
+     * @param y | y coordinate of the point
+     * @return the subwindow on top at the point, null if no subwindow contains it
+     */
+    Subwindow getSubwindowAt(int x, int y) {
+        List<Subwindow> list = tiles.get(key(Math.floorDiv(x, TILE), Math.floorDiv(y, TILE)));
+        if (list == null) {
+            return null;
+        }
+        Subwindow found = null;
+        for (Subwindow sub : list) {
+            if (sub.isInside(x, y) && (found == null || depth.get(sub) > depth.get(found))) {
+                found = sub;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Takes a subwindow off the tiles of the bounds it was filed under
+     */
+    private void unfile(Subwindow sub, Rectangle bounds) {
+        forEachTile(bounds, tile -> {
+            List<Subwindow> list = tiles.get(tile);
+            list.remove(sub);
+            if (list.isEmpty()) {
+                tiles.remove(tile);
+            }
+        });
+    }
+
+    private static void forEachTile(Rectangle bounds, LongConsumer action) {
+        int right = Math.floorDiv(bounds.x + bounds.width - 1, TILE);
+        int bottom = Math.floorDiv(bounds.y + bounds.height - 1, TILE);
+        for (int column = Math.floorDiv(bounds.x, TILE); column <= right; column++) {
+            for (int row = Math.floorDiv(bounds.y, TILE); row <= bottom; row++) {
+                action.accept(key(column, row));
+            }
+        }
+    }
+
+    private static long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xFFFFFFFFL);
+    }
+}
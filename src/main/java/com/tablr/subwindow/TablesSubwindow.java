@@ -1,10 +1,11 @@
 package com.tablr.subwindow;
 
-import com.tablr.area.Cell;
+import com.tablr.area.CellHit;
 import com.tablr.area.NormalCell;
 import com.tablr.area.TableArea;
 import com.tablr.area.TableAreaGenerator;
 import com.tablr.model.Table;
+import com.tablr.undoRedo.Change;
 
 import java.util.List;
 
@@ -45,6 +46,18 @@ public class TablesSubwindow extends Subwindow {
         currentEditCell = null;
     }
 
+    /**
+     * Rebuilds the list only when a table was created, deleted or renamed.
+     *
+     * @param change | what the undone or redone command changed
+     */
+    @Override
+    public void refresh(Change change) {
+        if (change.affectsTableList()) {
+            updateTableArea();
+        }
+    }
+
     /**
      * Returns the ID of the table this subwindow is associated with.
      * If it is a tables subwindow, this will return -1.
@@ -64,19 +77,16 @@ public class TablesSubwindow extends Subwindow {
      * @return The cell that contains the given x and y coordinates.
      */
     private NormalCell getNormalCellFromXY(int x, int y) {
-        for (Cell[] column : tableArea.getTableCells()) {
-            for (Cell cell : column) {
-                if (cell.getRegion().contains(x, y)) {
-                    switch (cell) {
-                        case NormalCell normalCell:
-                            return normalCell;
-                        default:
-                            throw new RuntimeException("Cell in TablesSubwindow is not a NormalCell. This should never happen.");
-                    }
-                }
-            }
+        CellHit hit = tableArea.hitTest(x, y);
+        if (hit == null) {
+            return null;
+        }
+        switch (hit.cell()) {
+            case NormalCell normalCell:
+                return normalCell;
+            default:
+                throw new RuntimeException("Cell in TablesSubwindow is not a NormalCell. This should never happen.");
         }
-        return null;
     }
 
     /**
@@ -181,20 +191,13 @@ public class TablesSubwindow extends Subwindow {
             if (y > tableArea.getLowestY()) {
                 parentWindow.createTable();
                 parentWindow.updateTableAreas(this.getTableId());
-            } else {
-                for (Cell[] column : tableArea.getTableCells()) {
-                    for (Cell cell : column) {
-                        if (cell.getRegion().contains(x, y)) {
-                            int id = tableArea.getIdFromY(y);
-                            Table table = parentWindow.getMediator().getTable(id);
-                            if (parentWindow.getColumnCount(id) > 0) {
-                                parentWindow.addSubWindow(new RowsSubwindow(table.getId(), 0, 0, parentWindow));
-                            } else {
-                                parentWindow.addSubWindow(new DesignSubwindow(table.getId(), 0, 0, parentWindow));
-                            }
-                            return;
-                        }
-                    }
+            } else if (tableArea.hitTest(x, y) != null) {
+                int id = tableArea.getIdFromY(y);
+                Table table = parentWindow.getMediator().getTable(id);
+                if (parentWindow.getColumnCount(id) > 0) {
+                    parentWindow.addSubWindow(new RowsSubwindow(table.getId(), 0, 0, parentWindow));
+                } else {
+                    parentWindow.addSubWindow(new DesignSubwindow(table.getId(), 0, 0, parentWindow));
                 }
             }
         }
@@ -244,6 +247,7 @@ public class TablesSubwindow extends Subwindow {
         if (editing) {
             currentEditCell.removeCharEdit();
             onEdit();
+            damageCell(currentEditCell);
         }
     }
 
@@ -268,6 +272,7 @@ public class TablesSubwindow extends Subwindow {
         if (editing) {
             currentEditCell.appendEdit(keyChar);
             onEdit();
+            damageCell(currentEditCell);
         }
     }
 }
@@ -24,6 +24,9 @@ public class AddColumnCommand implements Command {
         this.tableId = tableId;
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+
     @Override
     public void execute() {
         tableController.addColumnToTable(tableId);
@@ -35,4 +38,9 @@ public class AddColumnCommand implements Command {
     public void undo() {
         tableController.deleteColumn(tableId, addedColumn.getId());
     }
+
+    @Override
+    public Change getChange() {
+        return Change.schema(tableId);
+    }
 }
\ No newline at end of file
@@ -22,6 +22,9 @@ public class AddRowCommand implements Command {
         this.tableId = tableId;
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+
     @Override
     public void execute() {
         Table table = tableController.getTable(tableId);
@@ -33,4 +36,9 @@ public class AddRowCommand implements Command {
     public void undo() {
         tableController.removeRowFromTable(tableId, addedRowIndex);
     }
+
+    @Override
+    public Change getChange() {
+        return Change.rows(tableId, addedRowIndex);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.tablr.undoRedo;
+
+import com.tablr.controller.TableController;
+
+/**
+ * Command that appends a batch of rows to a table.
+ * Undo removes the whole batch at once.
+ */
+public class AddRowsCommand implements Command {
+    private final TableController tableController;
+    private final int tableId;
+    private final int count;
+    private int addedRows;
+    private int firstAddedRow;
+
+    /**
+     * Constructs new AddRowsCommand.
+     *
+     * @param tableController | controller that manages tables.
+     * @param tableId | ID of table.
+     * @param count | amount of rows to add.
+     * @throws IllegalArgumentException if count is negative.
+     */
+    public AddRowsCommand(TableController tableController, int tableId, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Amount of rows cannot be negative: " + count);
+        }
+        this.tableController = tableController;
+        this.tableId = tableId;
+        this.count = count;
+    }
+
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+    int getCount() { return count; }
+
+    @Override
+    public void execute() {
+        firstAddedRow = tableController.getRowCount(tableId);
+        tableController.appendRowsToTable(tableId, count);
+        // A table without columns has no rows to add
+        addedRows = tableController.getRowCount(tableId) - firstAddedRow;
+    }
+
+    @Override
+    public void undo() {
+        tableController.removeLastRowsFromTable(tableId, addedRows);
+    }
+
+    @Override
+    public Change getChange() {
+        return Change.rows(tableId, firstAddedRow);
+    }
+}
@@ -0,0 +1,283 @@
+package com.tablr.undoRedo;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Describes which part of the tables a command touches, so views only refresh what it changed.
+ * The same description holds for executing and undoing the command. Changes are combined with
+ * {@link #with(Change)}; row ranges are then widened to cover both, which may refresh a little
+ * more than needed but never less.
+ */
+public final class Change {
+    /** Change of nothing, for an undo or redo without history */
+    public static final Change NONE = new Change(false, Map.of());
+    /** Change of anything, for commands that cannot tell what they touch */
+    public static final Change EVERYTHING = new Change(true, Map.of());
+
+    // Kinds of change of a single table
+    private static final int LISTED = 1;    // created, deleted or renamed, shown in the list of tables
+    private static final int SCHEMA = 2;    // columns added, removed, renamed or converted
+    private static final int SETTINGS = 4;  // default values or blank rules of columns
+    private static final int ROWS = 8;      // rows inserted or removed
+    private static final int CELLS = 16;    // values of existing cells
+
+    /**
+     * What changed in one table.
+     *
+     * @param kinds | bits of the kinds of change
+     * @param columnIds | columns whose settings or cells changed
+     * @param firstMovedRow | first row that was inserted or removed, Integer.MAX_VALUE if none
+     * @param firstCellRow | first row with changed cells
+     * @param endCellRow | row after the last row with changed cells
+     */
+    private record TableChange(int kinds, Set<Integer> columnIds, int firstMovedRow, int firstCellRow, int endCellRow) {
+        TableChange with(TableChange other) {
+            Set<Integer> columns = new HashSet<>(columnIds);
+            columns.addAll(other.columnIds);
+            boolean cells = (kinds & CELLS) != 0, otherCells = (other.kinds & CELLS) != 0;
+            int first = cells && otherCells ? Math.min(firstCellRow, other.firstCellRow) : cells ? firstCellRow : other.firstCellRow;
+            int end = cells && otherCells ? Math.max(endCellRow, other.endCellRow) : cells ? endCellRow : other.endCellRow;
+            return new TableChange(kinds | other.kinds, columns, Math.min(firstMovedRow, other.firstMovedRow), first, end);
+        }
+    }
+
+    private final boolean everything;
+    private final Map<Integer, TableChange> tables;
+
+    private Change(boolean everything, Map<Integer, TableChange> tables) {
+        this.everything = everything;
+        this.tables = tables;
+    }
+
+    private static Change of(int tableId, int kinds, Set<Integer> columnIds, int firstMovedRow, int firstCellRow, int endCellRow) {
+        return new Change(false, Map.of(tableId, new TableChange(kinds, columnIds, firstMovedRow, firstCellRow, endCellRow)));
+    }
+
+    /**
+     * Change of a table that was created or deleted.
+     *
+     * @param tableId | ID of table
+     * @return the change
+     */
+    public static Change tableList(int tableId) {
+        return of(tableId, LISTED | SCHEMA | ROWS, Set.of(), 0, 0, 0);
+    }
+
+    /**
+     * Change of the name of a table.
+     *
+     * @param tableId | ID of table
+     * @return the change
+     */
+    public static Change tableName(int tableId) {
+        return of(tableId, LISTED, Set.of(), Integer.MAX_VALUE, 0, 0);
+    }
+
+    /**
+     * Change of the columns of a table: added, removed, renamed or converted to another type.
+     *
+     * @param tableId | ID of table
+     * @return the change
+     */
+    public static Change schema(int tableId) {
+        return of(tableId, SCHEMA, Set.of(), Integer.MAX_VALUE, 0, 0);
+    }
+
+    /**
+     * Change of the default value or blank rule of a column, which leaves all cells as they are.
+     *
+     * @param tableId | ID of table
+     * @param columnId | ID of column
+     * @return the change
+     */
+    public static Change settings(int tableId, int columnId) {
+        return of(tableId, SETTINGS, Set.of(columnId), Integer.MAX_VALUE, 0, 0);
+    }
+
+    /**
+     * Change of the rows of a table: rows inserted or removed at firstRow, moving all rows after it.
+     *
+     * @param tableId | ID of table
+     * @param firstRow | index of the first inserted or removed row
+     * @return the change
+     */
+    public static Change rows(int tableId, int firstRow) {
+        return of(tableId, ROWS, Set.of(), firstRow, 0, 0);
+    }
+
+    /**
+     * Change of the values of a column in a range of rows.
+     *
+     * @param tableId | ID of table
+     * @param columnId | ID of column
+     * @param firstRow | index of the first changed row
+     * @param endRow | index after the last changed row
+     * @return the change
+     */
+    public static Change cells(int tableId, int columnId, int firstRow, int endRow) {
+        return of(tableId, CELLS, Set.of(columnId), Integer.MAX_VALUE, firstRow, endRow);
+    }
+
+    /**
+     * Combines this change with another one.
+     *
+     * @param other | change to add
+     * @return a change covering both
+     */
+    public Change with(Change other) {
+        if (everything || other.everything) return EVERYTHING;
+        if (other.tables.isEmpty()) return this;
+        if (tables.isEmpty()) return other;
+        Map<Integer, TableChange> combined = new HashMap<>(tables);
+        other.tables.forEach((tableId, change) -> combined.merge(tableId, change, TableChange::with));
+        return new Change(false, combined);
+    }
+
+    /**
+     * Checks if this change may have touched anything, so every view has to be refreshed.
+     *
+     * @return True if nothing is known about what changed, false otherwise.
+     */
+    public boolean isEverything() {
+        return everything;
+    }
+
+    /**
+     * Gets the tables this change touched. Empty for a change of everything.
+     *
+     * @return IDs of the changed tables
+     */
+    public Set<Integer> getTableIds() {
+        return Collections.unmodifiableSet(tables.keySet());
+    }
+
+    /**
+     * Checks if a table was touched at all.
+     *
+     * @param tableId | ID of table
+     * @return True if anything of the table may have changed, false otherwise.
+     */
+    public boolean affectsTable(int tableId) {
+        return everything || tables.containsKey(tableId);
+    }
+
+    /**
+     * Checks if the list of tables changed: a table was created, deleted or renamed.
+     *
+     * @return True if the list of tables may look different, false otherwise.
+     */
+    public boolean affectsTableList() {
+        return everything || tables.values().stream().anyMatch(change -> (change.kinds & LISTED) != 0);
+    }
+
+    /**
+     * Checks if the name of a table may have changed.
+     *
+     * @param tableId | ID of table
+     * @return True if the table was created, deleted or renamed, false otherwise.
+     */
+    public boolean isNameChanged(int tableId) {
+        return has(tableId, LISTED);
+    }
+
+    /**
+     * Checks if the columns of a table were added, removed, renamed or converted.
+     *
+     * @param tableId | ID of table
+     * @return True if the columns may look different, false otherwise.
+     */
+    public boolean isSchemaChanged(int tableId) {
+        return has(tableId, SCHEMA);
+    }
+
+    /**
+     * Checks if anything shown about the columns of a table changed, including defaults and blank rules.
+     *
+     * @param tableId | ID of table
+     * @return True if the design of the table may look different, false otherwise.
+     */
+    public boolean isDesignChanged(int tableId) {
+        return has(tableId, SCHEMA | SETTINGS);
+    }
+
+    /**
+     * Checks if any row of a table may show different values, or rows were inserted or removed.
+     *
+     * @param tableId | ID of table
+     * @return True if the rows of the table may look different, false otherwise.
+     */
+    public boolean areRowsChanged(int tableId) {
+        return has(tableId, SCHEMA | ROWS | CELLS);
+    }
+
+    /**
+     * Checks if a single row of a table may show different values.
+     * This is the case when the columns changed, a row at or before it was inserted or removed,
+     * or a value in it was changed.
+     *
+     * @param tableId | ID of table
+     * @param row | index of the row
+     * @return True if the row may look different, false otherwise.
+     */
+    public boolean isRowChanged(int tableId, int row) {
+        if (everything) return true;
+        TableChange change = tables.get(tableId);
+        if (change == null) return false;
+        return (change.kinds & SCHEMA) != 0
+                || row >= change.firstMovedRow
+                || (change.kinds & CELLS) != 0 && row >= change.firstCellRow && row < change.endCellRow;
+    }
+
+    /**
+     * Checks if a single cell of a table may show a different value.
+     * Unlike isRowChanged, a change of values in another column leaves the cell alone.
+     *
+     * @param tableId | ID of table
+     * @param columnId | ID of column
+     * @param row | index of the row
+     * @return True if the cell may look different, false otherwise.
+     */
+    public boolean isCellChanged(int tableId, int columnId, int row) {
+        if (everything) return true;
+        TableChange change = tables.get(tableId);
+        if (change == null) return false;
+        return (change.kinds & SCHEMA) != 0
+                || row >= change.firstMovedRow
+                || (change.kinds & CELLS) != 0 && change.columnIds.contains(columnId)
+                && row >= change.firstCellRow && row < change.endCellRow;
+    }
+
+    /**
+     * Gets the first row of a table that was inserted or removed; every row from there on moved.
+     *
+     * @param tableId | ID of table
+     * @return index of the first moved row, 0 for a change of everything, Integer.MAX_VALUE if no rows moved
+     */
+    public int getFirstMovedRow(int tableId) {
+        if (everything) return 0;
+        TableChange change = tables.get(tableId);
+        return change == null ? Integer.MAX_VALUE : change.firstMovedRow;
+    }
+
+    /**
+     * Gets the columns of a table whose settings or cells changed.
+     * Changes of the columns themselves are reported by isSchemaChanged instead.
+     *
+     * @param tableId | ID of table
+     * @return IDs of the changed columns
+     */
+    public Set<Integer> getColumnIds(int tableId) {
+        TableChange change = tables.get(tableId);
+        return change == null ? Set.of() : Collections.unmodifiableSet(change.columnIds);
+    }
+
+    private boolean has(int tableId, int kinds) {
+        if (everything) return true;
+        TableChange change = tables.get(tableId);
+        return change != null && (change.kinds & kinds) != 0;
+    }
+}
@@ -2,17 +2,17 @@ package com.tablr.undoRedo;
 
 import com.tablr.controller.TableController;
 import com.tablr.model.Column;
-import com.tablr.model.ColumnFactory;
+import com.tablr.model.ColumnConverter;
 import com.tablr.model.ColumnType;
 
 /**
  * Command that changes type of column.
+ * The column is converted when the command is first executed; redo puts back the same converted column.
  */
 public class ChangeColumnTypeCommand implements Command {
     private final TableController tableController;
     private final int tableId;
     private final int columnId;
-    private final ColumnType oldType;
     private final ColumnType newType;
     private Column<?> oldColumn;
     private Column<?> newColumn;
@@ -22,29 +22,32 @@ public class ChangeColumnTypeCommand implements Command {
      *
      * @param tableController | controller that manages tables.
      * @param tableId | ID of table.
+     * @param columnId | ID of column.
+     * @param newType | type to convert the column to.
      */
     public ChangeColumnTypeCommand(TableController tableController, int tableId, int columnId, ColumnType newType) {
         this.tableController = tableController;
         this.tableId = tableId;
         this.columnId = columnId;
         this.newType = newType;
-
-        this.oldColumn = tableController.getColumn(tableId, columnId);
-        this.oldType = oldColumn.getColumnType();
-
-        this.newColumn = ColumnFactory.createColumn(newType, oldColumn);
-
-        for (int r = 0; r < tableController.getRowCount(tableId); r++) {
-            newColumn.addDefaultValue();
-        }
-        for (int r = 0; r < tableController.getRowCount(tableId); r++) {
-            Object val = oldColumn.getValue(r);
-            newColumn.setValueFromString(r, val != null ? val.toString() : "");
-        }
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+    int getColumnId() { return columnId; }
+    ColumnType getNewType() { return newType; }
+
+    /**
+     * Converts the column on the first execution.
+     *
+     * @throws IllegalArgumentException if a value of the column cannot be converted, the table is left unchanged.
+     */
     @Override
     public void execute() {
+        if (newColumn == null) {
+            oldColumn = tableController.getColumn(tableId, columnId);
+            newColumn = ColumnConverter.convert(oldColumn, newType);
+        }
         tableController.replaceColumn(tableId, columnId, newColumn);
     }
 
@@ -52,4 +55,15 @@ public class ChangeColumnTypeCommand implements Command {
     public void undo() {
         tableController.replaceColumn(tableId, columnId, oldColumn);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Change getChange() {
+        return Change.schema(tableId);
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        if (newColumn == null) return BASE_BYTES;
+        return BASE_BYTES + oldColumn.getRetainedBytes() + newColumn.getRetainedBytes();
+    }
+}
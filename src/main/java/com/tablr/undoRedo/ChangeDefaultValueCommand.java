@@ -31,6 +31,12 @@ public class ChangeDefaultValueCommand implements Command {
         this.oldAllowsBlank = col.allowsBlank();
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+    int getColumnId() { return columnId; }
+    String getOldValue() { return oldValue; }
+    String getNewValue() { return newValue; }
+
     @Override
     public void execute() {Column<?> col = tableController.getColumn(tableId, columnId);
         try {
@@ -60,4 +66,9 @@ public class ChangeDefaultValueCommand implements Command {
             col.setAllowsBlank(oldAllowsBlank);
         }
     }
+
+    @Override
+    public Change getChange() {
+        return Change.settings(tableId, columnId);
+    }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ package com.tablr.undoRedo;
  * Each command needs to specify how it is executed and undone.
  */
 public interface Command {
+    /** Estimated size of a command that only keeps a few ids and values. */
+    long BASE_BYTES = 64;
 
     /**
      * Executes the command action.
@@ -15,4 +17,42 @@ public interface Command {
      * Reverts the effects of this action.
      */
     void undo();
-}
\ No newline at end of file
+
+    /**
+     * Estimates the memory the command keeps alive to undo or redo itself.
+     * Commands holding backups of tables, columns or rows add the size of those backups.
+     *
+     * @return estimated size in bytes
+     */
+    default long getRetainedBytes() {
+        return BASE_BYTES;
+    }
+
+    /**
+     * Tries to absorb a command that was executed right after this one,
+     * so that undoing this command also undoes the next one.
+     *
+     * @param next | command executed after this one
+     * @return True if this command now also covers next, false if both must be kept.
+     */
+    default boolean mergeWith(Command next) {
+        return false;
+    }
+
+    /**
+     * Describes what executing or undoing the command changes, so only the affected views are refreshed.
+     * Commands that do not override this are assumed to change everything.
+     *
+     * @return description of the changed tables, columns and rows
+     */
+    default Change getChange() {
+        return Change.EVERYTHING;
+    }
+
+    /**
+     * Called when the command is dropped from the undo history while executed,
+     * so it will never be undone. Releases what only the command still holds.
+     */
+    default void discard() {
+    }
+}
@@ -0,0 +1,202 @@
+package com.tablr.undoRedo;
+
+import com.tablr.controller.TableController;
+import com.tablr.model.ColumnType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes commands as a type tag followed by their constructor arguments, and creates them again from that.
+ * Commands that read the model in their constructor are created again at the same point in the
+ * sequence of commands, so they see the same state as the first time.
+ */
+final class CommandCodec {
+    // Tags of the command types, stored in journals so their values must never change
+    private static final byte CREATE_TABLE = 1;
+    private static final byte DELETE_TABLE = 2;
+    private static final byte RENAME_TABLE = 3;
+    private static final byte ADD_COLUMN = 4;
+    private static final byte DELETE_COLUMN = 5;
+    private static final byte RENAME_COLUMN = 6;
+    private static final byte CHANGE_COLUMN_TYPE = 7;
+    private static final byte CHANGE_DEFAULT_VALUE = 8;
+    private static final byte TOGGLE_ALLOWS_BLANK = 9;
+    private static final byte ADD_ROW = 10;
+    private static final byte ADD_ROWS = 11;
+    private static final byte DELETE_ROW = 12;
+    private static final byte SET_CELL_VALUE = 13;
+
+    // Tags of the cell values
+    private static final byte NULL = 0;
+    private static final byte INTEGER = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte STRING = 3;
+
+    private CommandCodec() {}
+
+    /**
+     * Writes a command.
+     *
+     * @param out | output to write to
+     * @param command | command to write
+     * @throws IOException if writing fails.
+     * @throws IllegalArgumentException if the command type cannot be written.
+     */
+    static void write(DataOutput out, Command command) throws IOException {
+        switch (command) {
+            case CreateTableCommand c -> out.writeByte(CREATE_TABLE);
+            case DeleteTableCommand c -> {
+                out.writeByte(DELETE_TABLE);
+                out.writeInt(c.getDeletedTableId());
+                out.writeLong(c.getSpillThreshold());
+            }
+            case RenameTableCommand c -> {
+                out.writeByte(RENAME_TABLE);
+                out.writeInt(c.getTableId());
+                writeString(out, c.getOldName());
+                writeString(out, c.getNewName());
+            }
+            case AddColumnCommand c -> {
+                out.writeByte(ADD_COLUMN);
+                out.writeInt(c.getTableId());
+            }
+            case DeleteColumnCommand c -> {
+                out.writeByte(DELETE_COLUMN);
+                out.writeInt(c.getTableId());
+                out.writeInt(c.getColumnId());
+                out.writeLong(c.getSpillThreshold());
+            }
+            case RenameColumnCommand c -> {
+                out.writeByte(RENAME_COLUMN);
+                out.writeInt(c.getTableId());
+                out.writeInt(c.getColumnId());
+                writeString(out, c.getOldName());
+                writeString(out, c.getNewName());
+            }
+            case ChangeColumnTypeCommand c -> {
+                out.writeByte(CHANGE_COLUMN_TYPE);
+                out.writeInt(c.getTableId());
+                out.writeInt(c.getColumnId());
+                out.writeByte(c.getNewType().ordinal());
+            }
+            case ChangeDefaultValueCommand c -> {
+                out.writeByte(CHANGE_DEFAULT_VALUE);
+                out.writeInt(c.getTableId());
+                out.writeInt(c.getColumnId());
+                writeString(out, c.getOldValue());
+                writeString(out, c.getNewValue());
+            }
+            case ToggleAllowsBlankCommand c -> {
+                out.writeByte(TOGGLE_ALLOWS_BLANK);
+                out.writeInt(c.getTableId());
+                out.writeInt(c.getColumnId());
+                out.writeBoolean(c.isNewAllowsBlank());
+            }
+            case AddRowCommand c -> {
+                out.writeByte(ADD_ROW);
+                out.writeInt(c.getTableId());
+            }
+            case AddRowsCommand c -> {
+                out.writeByte(ADD_ROWS);
+                out.writeInt(c.getTableId());
+                out.writeInt(c.getCount());
+            }
+            case DeleteRowCommand c -> {
+                out.writeByte(DELETE_ROW);
+                out.writeInt(c.getTableId());
+                out.writeInt(c.getRowIndex());
+            }
+            case SetCellValueCommand c -> {
+                out.writeByte(SET_CELL_VALUE);
+                out.writeInt(c.getTableId());
+                out.writeInt(c.getColumnId());
+                out.writeInt(c.getRowIndex());
+                writeValue(out, c.getOldValue());
+                writeValue(out, c.getNewValue());
+            }
+            default -> throw new IllegalArgumentException("Command cannot be journaled: " + command.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Reads a command and creates it again.
+     *
+     * @param in | input to read from
+     * @param tableController | controller the command works on
+     * @return the command, not executed yet
+     * @throws IOException if reading fails or the type tag is unknown.
+     */
+    static Command read(DataInput in, TableController tableController) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case CREATE_TABLE -> new CreateTableCommand(tableController);
+            case DELETE_TABLE -> new DeleteTableCommand(tableController, in.readInt(), in.readLong());
+            case RENAME_TABLE -> new RenameTableCommand(tableController, in.readInt(), readString(in), readString(in));
+            case ADD_COLUMN -> new AddColumnCommand(tableController, in.readInt());
+            case DELETE_COLUMN -> new DeleteColumnCommand(tableController, in.readInt(), in.readInt(), in.readLong());
+            case RENAME_COLUMN -> new RenameColumnCommand(tableController, in.readInt(), in.readInt(), readString(in), readString(in));
+            case CHANGE_COLUMN_TYPE -> new ChangeColumnTypeCommand(tableController, in.readInt(), in.readInt(), ColumnType.values()[in.readByte()]);
+            case CHANGE_DEFAULT_VALUE -> new ChangeDefaultValueCommand(tableController, in.readInt(), in.readInt(), readString(in), readString(in));
+            case TOGGLE_ALLOWS_BLANK -> new ToggleAllowsBlankCommand(tableController, in.readInt(), in.readInt(), in.readBoolean());
+            case ADD_ROW -> new AddRowCommand(tableController, in.readInt());
+            case ADD_ROWS -> new AddRowsCommand(tableController, in.readInt(), in.readInt());
+            case DELETE_ROW -> new DeleteRowCommand(tableController, in.readInt(), in.readInt());
+            case SET_CELL_VALUE -> new SetCellValueCommand(tableController, in.readInt(), in.readInt(), in.readInt(), readValue(in), readValue(in));
+            default -> throw new IOException("Unknown command tag: " + tag);
+        };
+    }
+
+    private static void writeValue(DataOutput out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case Integer i -> {
+                out.writeByte(INTEGER);
+                out.writeInt(i);
+            }
+            case Boolean b -> {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(b);
+            }
+            case String s -> {
+                out.writeByte(STRING);
+                writeString(out, s);
+            }
+            default -> throw new IllegalArgumentException("Value cannot be journaled: " + value.getClass().getSimpleName());
+        }
+    }
+
+    private static Object readValue(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case INTEGER -> in.readInt();
+            case BOOLEAN -> in.readBoolean();
+            case STRING -> readString(in);
+            default -> throw new IOException("Unknown value tag: " + tag);
+        };
+    }
+
+    /**
+     * Writes a nullable string of any length, a length of -1 marks null.
+     */
+    private static void writeString(DataOutput out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
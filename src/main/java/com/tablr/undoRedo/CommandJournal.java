@@ -0,0 +1,356 @@
+package com.tablr.undoRedo;
+
+import com.tablr.controller.TableController;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Journal of everything done through a CommandManager, used to rebuild the tables after a crash.
+ * <p>
+ * A command is recorded right after it changed the tables and before it enters the undo history;
+ * if recording fails, the manager undoes the command, so nothing is done that the journal does not hold.
+ * Every executed, undone or redone command and every transaction boundary becomes one record:
+ * its length, a CRC32 checksum and the record itself. Records are collected in memory and written
+ * with a single write and fsync for the whole batch, either by a background thread every sync interval
+ * or as soon as the batch grows large. A crash can therefore lose at most the last sync interval.
+ * Replaying stops at the first incomplete or damaged record and cuts it off, so a journal torn
+ * during a crash can be appended to again.
+ * <p>
+ * The journal is only needed to recover from a crash or kill. When the user ends the session
+ * it is deleted, so it never holds more than one session.
+ */
+public final class CommandJournal implements CommandListener, AutoCloseable {
+    /** Time between two group syncs in milliseconds when none is given */
+    public static final long DEFAULT_SYNC_INTERVAL = 50;
+    // A batch this large is written without waiting for the next sync
+    private static final int MAX_BATCH = 1 << 20;
+    // Longer records can only come from a damaged file
+    private static final int MAX_RECORD = 1 << 26;
+
+    // Record types, stored in journals so their values must never change
+    private static final byte EXECUTE = 1;
+    private static final byte UNDO = 2;
+    private static final byte REDO = 3;
+    private static final byte BEGIN = 4;
+    private static final byte COMMIT = 5;
+    private static final byte ROLLBACK = 6;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ScheduledExecutorService syncer;
+    // Held while a batch is written, so appending can go on during the fsync; taken before this
+    private final Object writeLock = new Object();
+    // Records not written yet, guarded by this
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+    // Reused to build one record
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final CRC32 crc = new CRC32();
+    // First failure of the background sync, reported by the next call
+    private IOException failure;
+    private boolean closed;
+
+    private CommandJournal(Path file, FileChannel channel, long syncInterval) {
+        this.file = file;
+        this.channel = channel;
+        this.syncer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "command-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a journal file, creating it if it does not exist.
+     *
+     * @param file | journal file
+     * @return the opened journal, call replay before recording new commands to it
+     * @throws UncheckedIOException if the file cannot be opened.
+     */
+    public static CommandJournal open(Path file) {
+        return open(file, DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * Opens a journal file, creating it if it does not exist.
+     *
+     * @param file | journal file
+     * @param syncInterval | time between two group syncs in milliseconds
+     * @return the opened journal, call replay before recording new commands to it
+     * @throws IllegalArgumentException if syncInterval is not positive.
+     * @throws UncheckedIOException if the file cannot be opened.
+     */
+    public static CommandJournal open(Path file, long syncInterval) {
+        if (syncInterval <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive: " + syncInterval);
+        }
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new CommandJournal(file, channel, syncInterval);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replays the journal through a command manager, rebuilding the tables and the undo history.
+     * The manager is expected to be in the state it had when the journal was started, and must not
+     * report to this journal while replaying. A transaction left open by a crash is rolled back.
+     * Afterwards new records are appended after the last valid one.
+     *
+     * @param manager | manager to execute, undo and redo the commands with
+     * @param tableController | controller the commands work on
+     * @return number of replayed records
+     * @throws IllegalStateException if a record cannot be applied to the tables.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    public synchronized int replay(CommandManager manager, TableController tableController) {
+        long[] time = new long[1];
+        manager.setClock(() -> time[0]);
+        int count = 0;
+        long valid = 0;
+        try {
+            channel.position(0);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+            byte[] bytes = new byte[256];
+            while (true) {
+                int length;
+                long checksum;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt() & 0xFFFF_FFFFL;
+                    if (length <= 0 || length > MAX_RECORD) break;
+                    if (bytes.length < length) bytes = new byte[Math.max(length, bytes.length * 2)];
+                    in.readFully(bytes, 0, length);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(bytes, 0, length);
+                if (crc.getValue() != checksum) break;
+                DataInputStream recordIn = new DataInputStream(new ByteArrayInputStream(bytes, 0, length));
+                try {
+                    apply(recordIn, manager, tableController, time);
+                } catch (RuntimeException e) {
+                    throw new IllegalStateException("Journal record " + count + " cannot be replayed.", e);
+                }
+                valid += Integer.BYTES * 2 + length;
+                count++;
+            }
+            // Cut off a record torn by a crash
+            channel.truncate(valid);
+            channel.position(valid);
+            // A transaction that was not committed before the crash is undone, here and in the journal
+            if (manager.isInTransaction()) {
+                manager.rollback();
+                rolledBack();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            manager.setClock(System::currentTimeMillis);
+        }
+        return count;
+    }
+
+    private static void apply(DataInputStream in, CommandManager manager, TableController tableController, long[] time) throws IOException {
+        byte type = in.readByte();
+        time[0] = in.readLong();
+        switch (type) {
+            case EXECUTE -> manager.executeCommand(CommandCodec.read(in, tableController));
+            case UNDO -> manager.undo();
+            case REDO -> manager.redo();
+            case BEGIN -> manager.begin();
+            case COMMIT -> manager.commit();
+            case ROLLBACK -> manager.rollback();
+            default -> throw new IOException("Unknown record type: " + type);
+        }
+    }
+
+    @Override
+    public void executed(Command command, long time) {
+        append(EXECUTE, time, command);
+    }
+
+    @Override
+    public void undone(long time) {
+        append(UNDO, time, null);
+    }
+
+    @Override
+    public void redone(long time) {
+        append(REDO, time, null);
+    }
+
+    @Override
+    public void begun() {
+        append(BEGIN, 0, null);
+    }
+
+    @Override
+    public void committed(long time) {
+        append(COMMIT, time, null);
+    }
+
+    @Override
+    public void rolledBack() {
+        append(ROLLBACK, 0, null);
+    }
+
+    /**
+     * Adds a record to the current batch.
+     *
+     * @param type | record type
+     * @param time | time of the change
+     * @param command | executed command, null for other records
+     */
+    private void append(byte type, long time, Command command) {
+        boolean full;
+        synchronized (this) {
+            checkUsable();
+            try {
+                record.reset();
+                recordOut.writeByte(type);
+                recordOut.writeLong(time);
+                if (command != null) CommandCodec.write(recordOut, command);
+                crc.reset();
+                crc.update(record.toByteArray());
+                DataOutputStream out = new DataOutputStream(batch);
+                out.writeInt(record.size());
+                out.writeInt((int) crc.getValue());
+                record.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            full = batch.size() >= MAX_BATCH;
+        }
+        if (full) sync();
+    }
+
+    /**
+     * Writes all collected records to the file and forces them to disk.
+     *
+     * @throws UncheckedIOException if writing fails.
+     * @throws IllegalStateException if the journal is closed.
+     */
+    public void sync() {
+        synchronized (this) {
+            checkUsable();
+        }
+        try {
+            writeBatch();
+        } catch (IOException e) {
+            fail(e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the remaining records and closes the file. Closing twice has no effect.
+     *
+     * @throws UncheckedIOException if writing the remaining records fails.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        // Not interrupted: an interrupt during a write would close the channel
+        syncer.shutdown();
+        try (channel) {
+            syncer.awaitTermination(1, TimeUnit.MINUTES);
+            if (failure == null) writeBatch();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes the journal and deletes its file, after the user ended the session and left nothing to recover.
+     * The records that were not written yet are dropped.
+     *
+     * @throws UncheckedIOException if the file cannot be deleted.
+     */
+    public void delete() {
+        synchronized (this) {
+            closed = true;
+        }
+        syncer.shutdown();
+        try (channel) {
+            syncer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void syncQuietly() {
+        synchronized (this) {
+            if (closed || failure != null) return;
+        }
+        try {
+            writeBatch();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Writes the current batch with one write and one fsync.
+     */
+    private void writeBatch() throws IOException {
+        synchronized (writeLock) {
+            byte[] bytes;
+            synchronized (this) {
+                if (batch.size() == 0) return;
+                bytes = batch.toByteArray();
+                batch.reset();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private synchronized void fail(IOException e) {
+        if (failure == null) failure = e;
+    }
+
+    private void checkUsable() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed.");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Journal could not be written.", failure);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.tablr.undoRedo;
+
+/**
+ * Receives every change CommandManager makes to the model, in the order they happen.
+ * Only successful actions are reported; undo and redo without anything to undo or redo are not.
+ */
+public interface CommandListener {
+
+    /**
+     * Called after a command was executed, also inside a transaction and when it was merged into the previous command.
+     *
+     * @param command | the executed command
+     * @param time | time of execution in milliseconds, as given by the clock of the CommandManager
+     */
+    default void executed(Command command, long time) {}
+
+    /**
+     * Called after the last command was undone.
+     *
+     * @param time | time in milliseconds
+     */
+    default void undone(long time) {}
+
+    /**
+     * Called after the last undone command was redone.
+     *
+     * @param time | time in milliseconds
+     */
+    default void redone(long time) {}
+
+    /**
+     * Called after a transaction was started.
+     */
+    default void begun() {}
+
+    /**
+     * Called after the active transaction was committed.
+     *
+     * @param time | time in milliseconds
+     */
+    default void committed(long time) {}
+
+    /**
+     * Called after the active transaction was rolled back.
+     */
+    default void rolledBack() {}
+}
@@ -2,23 +2,77 @@ package com.tablr.undoRedo;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Objects;
+import java.util.function.LongSupplier;
 
 /**
  * Manages execution of commands and undo/redo functionality.
  * Commands are tracked using two stacks: one for undo and one for redo.
+ * The history is bounded by a maximum amount of undoable commands and a memory budget;
+ * when either is exceeded the oldest commands are dropped.
+ * <p>
+ * A command executed shortly after the previous one may be merged into it, see {@link Command#mergeWith(Command)},
+ * and commands executed between {@link #begin()} and {@link #commit()} form one undoable step.
  */
 public class CommandManager {
+    /** Memory budget of the history in bytes when none is given */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+    /** Maximum amount of undoable commands when none is given */
+    public static final int DEFAULT_MAX_DEPTH = 1000;
+    /** Time in milliseconds within which a command may be merged into the previous one when none is given */
+    public static final long DEFAULT_MERGE_WINDOW = 1000;
+
+    /**
+     * Command in the history together with its size, estimated when it was pushed, and the time it was pushed.
+     */
+    private record Entry(Command command, long bytes, long time) {
+        Entry(Command command, long time) {
+            this(command, command.getRetainedBytes(), time);
+        }
+    }
+
     /** Stack holding undoable commands */
-    private final Deque<Command> undoStack = new ArrayDeque<>();
+    private final Deque<Entry> undoStack = new ArrayDeque<>();
     /** Stack holding re-doable commands */
-    private final Deque<Command> redoStack = new ArrayDeque<>();
+    private final Deque<Entry> redoStack = new ArrayDeque<>();
+    private long memoryBudget;
+    private int maxDepth;
+    // Sum of the sizes of all entries on both stacks
+    private long footprint;
+    private long mergeWindow = DEFAULT_MERGE_WINDOW;
+    // Source of the current time in milliseconds, replaceable for tests
+    private LongSupplier clock = System::currentTimeMillis;
+    // Transaction collecting the executed commands, null when no transaction is active
+    private CompositeCommand transaction;
+    // Notified of every change, for instance to journal it
+    private CommandListener listener = new CommandListener() {};
+
+    /**
+     * Constructs a CommandManager with the default memory budget and maximum depth.
+     */
+    public CommandManager() {
+        this(DEFAULT_MEMORY_BUDGET, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Constructs a CommandManager with the given limits on its history.
+     *
+     * @param memoryBudget | maximum estimated size of the history in bytes
+     * @param maxDepth | maximum amount of commands that can be undone
+     * @throws IllegalArgumentException if memoryBudget is negative or maxDepth is smaller than 1.
+     */
+    public CommandManager(long memoryBudget, int maxDepth) {
+        this.memoryBudget = checkMemoryBudget(memoryBudget);
+        this.maxDepth = checkMaxDepth(maxDepth);
+    }
 
     /**
      * Looks at the head of the undoStack but does not change the stack.
      * @return head of undoStack.
      */
     public Command peekUndo() {
-        return undoStack.peek();
+        Entry entry = undoStack.peek();
+        return entry == null ? null : entry.command();
     }
 
     /**
@@ -26,43 +80,298 @@ public class CommandManager {
      * @return head of redoStack.
      */
     public Command peekRedo() {
-        return redoStack.peek();
+        Entry entry = redoStack.peek();
+        return entry == null ? null : entry.command();
     }
 
     /**
      * Executes given command and stores it in undo stack.
      * Clears the redo stack since redo history becomes invalid after a new command.
+     * The listener is notified before the history changes; if it fails the command is undone again,
+     * so the tables and the history stay as they were.
      *
      * @param command | the command to execute
      */
     public void executeCommand(Command command) {
         command.execute();
-        undoStack.push(command);
-        redoStack.clear();
+        long now = clock.getAsLong();
+        try {
+            listener.executed(command, now);
+        } catch (RuntimeException e) {
+            command.undo();
+            throw e;
+        }
+        if (transaction != null) {
+            transaction.add(command);
+            return;
+        }
+        clearRedo();
+        Entry top = undoStack.peek();
+        if (top != null && now - top.time() <= mergeWindow && top.command().mergeWith(command)) {
+            undoStack.pop();
+            footprint -= top.bytes();
+            pushUndo(top.command(), now);
+        } else {
+            pushUndo(command, now);
+        }
+    }
+
+    /**
+     * Starts a transaction, the commands executed until commit are undone and redone as one step.
+     *
+     * @throws IllegalStateException if a transaction is already active.
+     */
+    public void begin() {
+        if (transaction != null) {
+            throw new IllegalStateException("A transaction is already active.");
+        }
+        transaction = new CompositeCommand();
+        listener.begun();
+    }
+
+    /**
+     * Ends the active transaction and stores its commands as one command in the undo stack.
+     * A transaction without commands leaves the history unchanged.
+     *
+     * @throws IllegalStateException if no transaction is active.
+     */
+    public void commit() {
+        CompositeCommand committed = endTransaction();
+        long now = clock.getAsLong();
+        if (!committed.isEmpty()) {
+            clearRedo();
+            pushUndo(committed, now);
+        }
+        listener.committed(now);
+    }
+
+    /**
+     * Ends the active transaction and undoes all its commands.
+     *
+     * @return what undoing the transaction changed
+     * @throws IllegalStateException if no transaction is active.
+     */
+    public Change rollback() {
+        CompositeCommand rolledBack = endTransaction();
+        rolledBack.undo();
+        listener.rolledBack();
+        return rolledBack.getChange();
+    }
+
+    /**
+     * Checks if a transaction is active.
+     *
+     * @return True if commands are being collected in a transaction, false otherwise.
+     */
+    public boolean isInTransaction() {
+        return transaction != null;
     }
 
     /**
      * Undoes last command in undo stack (if there is one).
      * Moves command to redo stack.
+     *
+     * @return what undoing the command changed, Change.NONE if there was nothing to undo
      */
-    public void undo() {
-        if (!undoStack.isEmpty()) {
-            Command command = undoStack.pop();
-            command.undo();
-            redoStack.push(command);
+    public Change undo() {
+        checkNoTransaction();
+        if (undoStack.isEmpty()) {
+            return Change.NONE;
         }
+        Entry entry = undoStack.pop();
+        footprint -= entry.bytes();
+        entry.command().undo();
+        Entry undone = new Entry(entry.command(), clock.getAsLong());
+        redoStack.push(undone);
+        footprint += undone.bytes();
+        trim();
+        listener.undone(undone.time());
+        return entry.command().getChange();
     }
 
     /**
      * Re-executes last command in redo stack (if there is one).
      * Moves command to undo stack.
+     *
+     * @return what redoing the command changed, Change.NONE if there was nothing to redo
+     */
+    public Change redo() {
+        checkNoTransaction();
+        if (redoStack.isEmpty()) {
+            return Change.NONE;
+        }
+        Entry entry = redoStack.pop();
+        footprint -= entry.bytes();
+        entry.command().execute();
+        long now = clock.getAsLong();
+        pushUndo(entry.command(), now);
+        listener.redone(now);
+        return entry.command().getChange();
+    }
+
+    /**
+     * Gets the estimated memory held by the undo and redo history.
+     *
+     * @return estimated size in bytes
+     */
+    public long getFootprint() {
+        return footprint;
+    }
+
+    /**
+     * Gets the amount of commands that can be undone.
+     *
+     * @return size of the undo stack
+     */
+    public int getUndoDepth() {
+        return undoStack.size();
+    }
+
+    /**
+     * Gets the amount of commands that can be redone.
+     *
+     * @return size of the redo stack
+     */
+    public int getRedoDepth() {
+        return redoStack.size();
+    }
+
+    /**
+     * Gets the memory budget of the history.
+     *
+     * @return maximum estimated size in bytes
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Changes the memory budget, dropping the oldest commands if the history is now too large.
+     *
+     * @param memoryBudget | maximum estimated size of the history in bytes
+     * @throws IllegalArgumentException if memoryBudget is negative.
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = checkMemoryBudget(memoryBudget);
+        trim();
+    }
+
+    /**
+     * Gets the maximum amount of commands that can be undone.
+     *
+     * @return maximum depth of the undo stack
      */
-    public void redo() {
-        if (!redoStack.isEmpty()) {
-            Command command = redoStack.pop();
-            command.execute();
-            undoStack.push(command);
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Changes the maximum amount of commands that can be undone, dropping the oldest ones if needed.
+     *
+     * @param maxDepth | maximum depth of the undo stack
+     * @throws IllegalArgumentException if maxDepth is smaller than 1.
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = checkMaxDepth(maxDepth);
+        trim();
+    }
+
+    /**
+     * Changes the time within which a command may be merged into the previous one.
+     * A window of 0 only merges commands executed in the same millisecond, a negative window never merges.
+     *
+     * @param mergeWindow | time in milliseconds
+     */
+    public void setMergeWindow(long mergeWindow) {
+        this.mergeWindow = mergeWindow;
+    }
+
+    /**
+     * Replaces the clock used for the merge window, for instance to replay commands at their original time.
+     *
+     * @param clock | source of the current time in milliseconds
+     */
+    public void setClock(LongSupplier clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Sets the listener that is notified of every change made through this manager.
+     *
+     * @param listener | listener to notify, null to stop notifying
+     */
+    public void setListener(CommandListener listener) {
+        this.listener = listener == null ? new CommandListener() {} : listener;
+    }
+
+    /**
+     * Pushes an executed command on the undo stack and enforces the limits.
+     *
+     * @param command | command that was just executed
+     * @param time | time of execution in milliseconds
+     */
+    private void pushUndo(Command command, long time) {
+        Entry entry = new Entry(command, time);
+        undoStack.push(entry);
+        footprint += entry.bytes();
+        trim();
+    }
+
+    /**
+     * Drops the oldest commands until the history fits its limits.
+     * Undo entries go first, then the redo entries furthest away from the current state.
+     * The most recent undoable command is always kept, so the last action can be undone.
+     */
+    private void trim() {
+        while (undoStack.size() > maxDepth) {
+            dropOldestUndo();
+        }
+        while (footprint > memoryBudget && undoStack.size() > 1) {
+            dropOldestUndo();
+        }
+        while (footprint > memoryBudget && !redoStack.isEmpty()) {
+            footprint -= redoStack.removeLast().bytes();
+        }
+    }
+
+    private void clearRedo() {
+        while (!redoStack.isEmpty()) {
+            footprint -= redoStack.pop().bytes();
+        }
+    }
+
+    private CompositeCommand endTransaction() {
+        if (transaction == null) {
+            throw new IllegalStateException("No transaction is active.");
+        }
+        CompositeCommand ended = transaction;
+        transaction = null;
+        return ended;
+    }
+
+    private static long checkMemoryBudget(long memoryBudget) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Memory budget cannot be negative: " + memoryBudget);
         }
+        return memoryBudget;
     }
 
-}
\ No newline at end of file
+    private static int checkMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be at least 1: " + maxDepth);
+        }
+        return maxDepth;
+    }
+
+    private void checkNoTransaction() {
+        if (transaction != null) {
+            throw new IllegalStateException("Cannot undo or redo during a transaction.");
+        }
+    }
+
+    private void dropOldestUndo() {
+        Entry entry = undoStack.removeLast();
+        footprint -= entry.bytes();
+        entry.command().discard();
+    }
+}
@@ -0,0 +1,91 @@
+package com.tablr.undoRedo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command made of the commands executed during one transaction, undone and redone as a whole.
+ * Edits of a cell that was already edited since the last structural command are merged into
+ * the earlier edit, so a transaction keeps one old and new value per cell.
+ */
+public class CompositeCommand implements Command {
+    private final List<Command> commands = new ArrayList<>();
+    // Edits since the last command that is not a cell edit, these can be merged in any order
+    private final Map<SetCellValueCommand.Cell, SetCellValueCommand> openEdits = new HashMap<>();
+
+    /**
+     * Adds a command that was just executed.
+     *
+     * @param command | executed command
+     */
+    void add(Command command) {
+        if (command instanceof SetCellValueCommand edit) {
+            SetCellValueCommand earlier = openEdits.get(edit.cell());
+            if (earlier != null && earlier.mergeWith(edit)) return;
+            openEdits.put(edit.cell(), edit);
+        } else {
+            openEdits.clear();
+            if (!commands.isEmpty() && commands.getLast().mergeWith(command)) return;
+        }
+        commands.add(command);
+    }
+
+    /**
+     * Checks if no command was added.
+     *
+     * @return True if the transaction did nothing, false otherwise.
+     */
+    boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    /**
+     * Gets the amount of commands kept after merging.
+     *
+     * @return number of commands
+     */
+    public int size() {
+        return commands.size();
+    }
+
+    @Override
+    public void execute() {
+        for (Command command : commands) {
+            command.execute();
+        }
+    }
+
+    @Override
+    public void undo() {
+        for (int i = commands.size() - 1; i >= 0; i--) {
+            commands.get(i).undo();
+        }
+    }
+
+    @Override
+    public Change getChange() {
+        Change change = Change.NONE;
+        for (Command command : commands) {
+            change = change.with(command.getChange());
+        }
+        return change;
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        long bytes = BASE_BYTES;
+        for (Command command : commands) {
+            bytes += command.getRetainedBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void discard() {
+        for (Command command : commands) {
+            command.discard();
+        }
+    }
+}
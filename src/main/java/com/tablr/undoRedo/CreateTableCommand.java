@@ -1,8 +1,6 @@
 package com.tablr.undoRedo;
 
 import com.tablr.controller.TableController;
-import com.tablr.model.Table;
-import java.util.List;
 
 /**
  * Command that creates a new table.
@@ -30,9 +28,7 @@ public class CreateTableCommand implements Command {
 
     @Override
     public void execute() {
-        tableController.createTable();
-        List<Table> tables = tableController.getTables();
-        createdTableId = tables.getLast().getId();
+        createdTableId = tableController.createTable();
     }
 
     @Override
@@ -42,4 +38,9 @@ public class CreateTableCommand implements Command {
         }
     }
 
+    @Override
+    public Change getChange() {
+        return Change.tableList(createdTableId);
+    }
+
 }
\ No newline at end of file
@@ -2,32 +2,64 @@ package com.tablr.undoRedo;
 
 import com.tablr.controller.TableController;
 import com.tablr.model.Column;
-import com.tablr.model.Table;
+import com.tablr.model.SpillFile;
 import java.util.List;
 
 /**
  * Command that deletes a column.
+ * The command keeps the removed column itself until it is undone; a column larger than the
+ * spill threshold is written to a temporary file instead and read back on undo.
  */
 public class DeleteColumnCommand implements Command {
     private final TableController tableController;
     private final int tableId;
     private final int columnId;
-    private Column<?> backupColumn;
+    private final long spillThreshold;
+    // The deleted column while the command is executed, or its file if it was spilled
+    private Column<?> deletedColumn;
+    private SpillFile spill;
     private int originalIndex;
 
     /**
-     * Constructs new DeleteColumnCommand.
+     * Constructs new DeleteColumnCommand that keeps the deleted column in memory.
      *
      * @param tableController | controller that manages tables.
      * @param tableId | ID of table.
      * @param columnId | ID of column to be removed.
      */
     public DeleteColumnCommand(TableController tableController, int tableId, int columnId) {
+        this(tableController, tableId, columnId, DeleteTableCommand.NEVER_SPILL);
+    }
+
+    /**
+     * Constructs new DeleteColumnCommand.
+     *
+     * @param tableController | controller that manages tables.
+     * @param tableId | ID of table.
+     * @param columnId | ID of column to be removed.
+     * @param spillThreshold | estimated size in bytes above which the deleted column is written to a file.
+     */
+    public DeleteColumnCommand(TableController tableController, int tableId, int columnId, long spillThreshold) {
         this.tableController = tableController;
         this.tableId = tableId;
         this.columnId = columnId;
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * Checks if the deleted column is kept in a file.
+     *
+     * @return True if the column was spilled, false otherwise.
+     */
+    public boolean isSpilled() {
+        return spill != null;
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+    int getColumnId() { return columnId; }
+    long getSpillThreshold() { return spillThreshold; }
+
     @Override
     public void execute() {
         List<Column<?>> columns = tableController.getColumns(tableId);
@@ -37,14 +69,53 @@ public class DeleteColumnCommand implements Command {
                 break;
             }
         }
-        Table table = tableController.getTable(tableId);
-        backupColumn = table.getColumn(columnId).clone();
+        // Keep the removed column itself, its values stay in the storage of the table
+        deletedColumn = tableController.getColumn(tableId, columnId);
         tableController.deleteColumn(tableId, columnId);
+        if (deletedColumn.getRetainedBytes() > spillThreshold) {
+            spill = SpillFile.writeColumn(deletedColumn);
+            deletedColumn.releaseValues();
+            deletedColumn = null;
+        }
     }
 
     @Override
     public void undo() {
-        tableController.insertColumnAt(tableId, backupColumn, originalIndex);
+        if (spill != null) {
+            deletedColumn = spill.readColumn();
+            spill.delete();
+            spill = null;
+        }
+        if (deletedColumn != null) {
+            tableController.insertColumnAt(tableId, deletedColumn, originalIndex);
+            // Owned by the table again
+            deletedColumn = null;
+        }
+    }
+
+    @Override
+    public Change getChange() {
+        return Change.schema(tableId);
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        return deletedColumn == null ? BASE_BYTES : BASE_BYTES + deletedColumn.getRetainedBytes();
+    }
+
+    /**
+     * Frees the deleted column, which is never put back once the command is dropped.
+     */
+    @Override
+    public void discard() {
+        if (deletedColumn != null) {
+            deletedColumn.releaseValues();
+            deletedColumn = null;
+        }
+        if (spill != null) {
+            spill.delete();
+            spill = null;
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -29,6 +29,10 @@ public class DeleteRowCommand implements Command {
         this.rowIndex = rowIndex;
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+    int getRowIndex() { return rowIndex; }
+
     @Override
     public void execute() {
         Table table = tableController.getTable(tableId);
@@ -54,4 +58,15 @@ public class DeleteRowCommand implements Command {
         }
     }
 
+    @Override
+    public Change getChange() {
+        return Change.rows(tableId, rowIndex);
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        // A map entry and a boxed value or short string per column
+        return BASE_BYTES + backupValues.size() * 64L;
+    }
+
 }
\ No newline at end of file
@@ -1,28 +1,47 @@
 package com.tablr.undoRedo;
 
 import com.tablr.controller.TableController;
+import com.tablr.model.SpillFile;
 import com.tablr.model.Table;
 
-import java.util.List;
-
 /**
  * Command that deletes a table.
+ * The command keeps the removed table itself until it is undone; a table larger than the
+ * spill threshold is written to a temporary file instead and read back on undo.
  */
 public class DeleteTableCommand implements Command {
+    /** Spill threshold that keeps every deleted table in memory */
+    public static final long NEVER_SPILL = Long.MAX_VALUE;
+
     private final TableController tableController;
     private final int tableId;
-    private Table backupTable;
+    private final long spillThreshold;
+    // The deleted table while the command is executed, or its file if it was spilled
+    private Table deletedTable;
+    private SpillFile spill;
     private int originalIndex;
 
     /**
-     * Constructs new DeleteTableCommand.
+     * Constructs new DeleteTableCommand that keeps the deleted table in memory.
      *
      * @param tableController | controller that manages tables.
      * @param tableId | ID of table to be removed.
      */
     public DeleteTableCommand(TableController tableController, int tableId) {
+        this(tableController, tableId, NEVER_SPILL);
+    }
+
+    /**
+     * Constructs new DeleteTableCommand.
+     *
+     * @param tableController | controller that manages tables.
+     * @param tableId | ID of table to be removed.
+     * @param spillThreshold | estimated size in bytes above which the deleted table is written to a file.
+     */
+    public DeleteTableCommand(TableController tableController, int tableId, long spillThreshold) {
         this.tableController = tableController;
         this.tableId = tableId;
+        this.spillThreshold = spillThreshold;
     }
 
     /**
@@ -33,24 +52,67 @@ public class DeleteTableCommand implements Command {
         return tableId;
     }
 
+    /**
+     * Checks if the deleted table is kept in a file.
+     *
+     * @return True if the table was spilled, false otherwise.
+     */
+    public boolean isSpilled() {
+        return spill != null;
+    }
+
+    // Arguments of the command, written to the journal
+    long getSpillThreshold() { return spillThreshold; }
+
     @Override
     public void execute() {
-        List<Table> tables = tableController.getTables();
-        for (int i = 0; i < tables.size(); i++) {
-            if (tables.get(i).getId() == tableId) {
-                originalIndex = i;
-                break;
-            }
+        originalIndex = tableController.getTableIndex(tableId);
+        deletedTable = tableController.removeTable(tableId);
+        if (deletedTable.getRetainedBytes() > spillThreshold) {
+            spill = SpillFile.writeTable(deletedTable);
+            deletedTable.close();
+            deletedTable = null;
         }
-        backupTable = tableController.cloneTable(tableId);
-        tableController.deleteTable(tableId);
     }
 
     @Override
     public void undo() {
-        if (backupTable != null) {
-            tableController.insertTableAt(backupTable, originalIndex);
+        if (spill != null) {
+            deletedTable = spill.readTable(tableController.createStorage());
+            spill.delete();
+            spill = null;
+        }
+        if (deletedTable != null) {
+            tableController.insertTableAt(deletedTable, originalIndex);
+            // Owned by the controller again
+            deletedTable = null;
+        }
+    }
+
+    @Override
+    public Change getChange() {
+        return Change.tableList(tableId);
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        return deletedTable == null ? BASE_BYTES : BASE_BYTES + deletedTable.getRetainedBytes();
+    }
+
+    /**
+     * Closes the deleted table, which is never put back once the command is dropped,
+     * and drops the reference to it so the garbage collector can return its memory.
+     */
+    @Override
+    public void discard() {
+        if (deletedTable != null) {
+            deletedTable.close();
+            deletedTable = null;
+        }
+        if (spill != null) {
+            spill.delete();
+            spill = null;
         }
     }
 
-}
\ No newline at end of file
+}
@@ -29,6 +29,12 @@ public class RenameColumnCommand implements Command {
         this.newName = newName;
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+    int getColumnId() { return columnId; }
+    String getOldName() { return oldName; }
+    String getNewName() { return newName; }
+
     @Override
     public void execute() {
         tableController.renameColumn(tableId, columnId, newName);
@@ -39,4 +45,9 @@ public class RenameColumnCommand implements Command {
         tableController.renameColumn(tableId, columnId, oldName);
     }
 
+    @Override
+    public Change getChange() {
+        return Change.schema(tableId);
+    }
+
 }
\ No newline at end of file
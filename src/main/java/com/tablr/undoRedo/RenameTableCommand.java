@@ -26,6 +26,11 @@ public class RenameTableCommand implements Command {
         this.newName = newName;
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+    String getOldName() { return oldName; }
+    String getNewName() { return newName; }
+
     @Override
     public void execute() {
         tableController.renameTable(tableId, newName);
@@ -35,4 +40,9 @@ public class RenameTableCommand implements Command {
     public void undo() {
         tableController.renameTable(tableId, oldName);
     }
+
+    @Override
+    public Change getChange() {
+        return Change.tableName(tableId);
+    }
 }
\ No newline at end of file
@@ -11,7 +11,8 @@ public class SetCellValueCommand implements Command {
     private final int columnId;
     private final int rowIndex;
     private final Object oldValue;
-    private final Object newValue;
+    // Replaced when a later edit of the same cell is merged into this command
+    private Object newValue;
 
     /**
      * Constructs new SetCellValueCommand.
@@ -39,6 +40,13 @@ public class SetCellValueCommand implements Command {
         this.newValue = newValue;
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+    int getColumnId() { return columnId; }
+    int getRowIndex() { return rowIndex; }
+    Object getOldValue() { return oldValue; }
+    Object getNewValue() { return newValue; }
+
     @Override
     public void execute() {
         tableController.setRowValue(tableId, columnId, rowIndex, newValue);
@@ -49,4 +57,35 @@ public class SetCellValueCommand implements Command {
         tableController.setRowValue(tableId, columnId, rowIndex, oldValue);
     }
 
+    @Override
+    public Change getChange() {
+        return Change.cells(tableId, columnId, rowIndex, rowIndex + 1);
+    }
+
+    /**
+     * Absorbs a later edit of the same cell, undo then restores the value from before both edits.
+     */
+    @Override
+    public boolean mergeWith(Command next) {
+        if (next instanceof SetCellValueCommand edit && cell().equals(edit.cell())) {
+            newValue = edit.newValue;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the position of the edited cell.
+     *
+     * @return table, column and row of the cell
+     */
+    Cell cell() {
+        return new Cell(tableId, columnId, rowIndex);
+    }
+
+    /**
+     * Position of a cell, used to find earlier edits of the same cell.
+     */
+    record Cell(int tableId, int columnId, int rowIndex) {}
+
 }
\ No newline at end of file
@@ -31,6 +31,11 @@ public class ToggleAllowsBlankCommand implements Command {
         this.newAllowsBlank = newAllowsBlank;
     }
 
+    // Arguments of the command, written to the journal
+    int getTableId() { return tableId; }
+    int getColumnId() { return columnId; }
+    boolean isNewAllowsBlank() { return newAllowsBlank; }
+
     @Override
     public void execute() {
         tableController.tryToggleAllowsBlank(tableId, columnId, newAllowsBlank);
@@ -41,4 +46,9 @@ public class ToggleAllowsBlankCommand implements Command {
         tableController.tryToggleAllowsBlank(tableId, columnId, oldAllowsBlank);
     }
 
+    @Override
+    public Change getChange() {
+        return Change.settings(tableId, columnId);
+    }
+
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.EventQueue;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
@@ -272,6 +273,17 @@ public class CanvasWindow {
             panel.repaint();
     }
 
+    /**
+     * Call this method if only part of the canvas is out of date.
+     * Only that part is painted again: method {@link #paint(Graphics)} is called with a Graphics object clipped to it.
+     *
+     * @param region The part of the canvas that needs to be repainted.
+     */
+    public final void repaint(Rectangle region) {
+        if (panel != null)
+            panel.repaint(region);
+    }
+
     /**
      * Called to allow you to paint on the canvas.
      *
@@ -306,6 +318,12 @@ public class CanvasWindow {
     protected void handleKeyEvent(int id, int keyCode, char keyChar,int modifier) {
     }
 
+    /**
+     * Called when the user closes the window, right before the application exits.
+     */
+    protected void handleWindowClosed() {
+    }
+
     BufferedImage captureImage() {
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         Graphics imageGraphics = image.getGraphics();
@@ -396,6 +414,7 @@ public class CanvasWindow {
                         } catch (IOException ex) {
                             throw new RuntimeException(ex);
                         }
+                    handleWindowClosed();
                     System.exit(0);
                 }
 
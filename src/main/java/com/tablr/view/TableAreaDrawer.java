@@ -10,6 +10,9 @@ import java.awt.*;
 /**
  * Utility class for rendering a TableArea and its cells.
  * Provides methods to draw the table area, its title, and individual cells.
+ * Only the cells within the clip of the Graphics object are drawn, so drawing a large table
+ * in a small window costs as much as drawing a small one.
+ * The regions of the cells are relative to the origin of their area, which is applied as a single translation.
  */
 public class TableAreaDrawer {
 
@@ -20,8 +23,18 @@ public class TableAreaDrawer {
      * @param tableArea The TableArea to be drawn.
      */
     public static void drawTableArea(Graphics g, TableArea tableArea) {
-        drawTableAreaTitle(g, tableArea);
-        drawTableAreaTable(g, tableArea);
+        if (tableArea == null) {
+            return;
+        }
+        Point origin = tableArea.getOrigin();
+        Graphics area = g.create();
+        try {
+            area.translate(origin.x, origin.y);
+            drawTableAreaTitle(area, tableArea);
+            drawTableAreaTable(area, tableArea);
+        } finally {
+            area.dispose();
+        }
     }
 
     /**
@@ -42,13 +55,13 @@ public class TableAreaDrawer {
     }
 
     /**
-     * Draws a NormalCell, including its selection state and validity.
+     * Draws a NormalCell, including its selection state and validity, relative to the origin of its area.
      *
      * @param g The Graphics object used for rendering.
      * @param cell The NormalCell to be drawn.
      */
     private static void drawNormalCell(Graphics g, NormalCell cell) {
-        Rectangle region = cell.getRegion();
+        Rectangle region = cell.getAreaRegion();
         g.setColor(Color.white);
         g.fillRect(region.x, region.y, region.width, region.height);
         g.setColor(Color.BLACK);
@@ -81,18 +94,18 @@ public class TableAreaDrawer {
     }
 
     /**
-     * Draws a BooleanCell, including its selection state and grayed-out state.
+     * Draws a BooleanCell, including its selection state and grayed-out state, relative to the origin of its area.
      *
      * @param g The Graphics object used for rendering.
      * @param cell The BooleanCell to be drawn.
      */
     public static void drawBooleanCell(Graphics g, BooleanCell cell) {
-        Rectangle region = cell.getRegion();
+        Rectangle region = cell.getAreaRegion();
         g.setColor(Color.white);
         g.fillRect(region.x, region.y, region.width, region.height);
         g.setColor(Color.BLACK);
         g.drawRect(region.x, region.y, region.width, region.height);
-        Rectangle checkBox = cell.getCheckBox();
+        Rectangle checkBox = cell.getAreaCheckBox();
         // rows mode is grayed out altijd null!!!
         if (cell.isGrayedOut() == null) {
             if (cell.isCellSelected() == null) {
@@ -134,9 +147,10 @@ public class TableAreaDrawer {
     private static void drawTableAreaTitle(Graphics g, TableArea tableArea) {
         if(tableArea != null){
             Cell[] titles = tableArea.getTitles();
-            for (Cell cell : titles) {
-                if(cell != null){
-                    drawCell(g, cell);
+            int[] columns = visibleColumns(g, tableArea);
+            for (int c = columns[0]; c < Math.min(columns[1], titles.length); c++) {
+                if(titles[c] != null){
+                    drawCell(g, titles[c]);
                 }
 
             }
@@ -153,19 +167,43 @@ public class TableAreaDrawer {
     private static void drawTableAreaTable(Graphics g, TableArea tableArea) {
         if(tableArea != null){
             Cell[][] table = tableArea.getTableCells();
-            for (Cell[] column : table) {
-                for (Cell cell : column) {
-                    if(cell != null){
-                        drawCell(g, cell);
+            int[] columns = visibleColumns(g, tableArea);
+            Rectangle clip = g.getClipBounds();
+            int[] rows = clip == null
+                    ? new int[]{0, table.length == 0 ? 0 : table[0].length}
+                    : tableArea.getCellRange(clip.y, clip.y + clip.height);
+            for (int c = columns[0]; c < columns[1]; c++) {
+                Cell[] column = table[c];
+                for (int i = rows[0]; i < Math.min(rows[1], column.length); i++) {
+                    if(column[i] != null){
+                        drawCell(g, column[i]);
                     }
                 }
             }
             if (tableArea.getSelectedRow() != -1) {
                 Rectangle selected = tableArea.getSelectedRowRectangle();
+                Point origin = tableArea.getOrigin();
+                selected.translate(-origin.x, -origin.y);
                 g.setColor(Color.RED);
                 g.fillRect(selected.x, selected.y, selected.width, selected.height);
             }
         }
 
     }
+
+    /**
+     * Computes the columns of the TableArea that lie within the clip of the Graphics object.
+     * Without a clip every column is visible.
+     *
+     * @param g The Graphics object used for rendering.
+     * @param tableArea The TableArea to be drawn.
+     * @return The index of the first visible column and the index after the last one.
+     */
+    private static int[] visibleColumns(Graphics g, TableArea tableArea) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            return new int[]{0, tableArea.getTableCells().length};
+        }
+        return tableArea.getColumnRange(clip.x, clip.x + clip.width);
+    }
 }
@@ -0,0 +1,201 @@
+package com.tablr.area;
+
+import com.tablr.model.ColumnType;
+import com.tablr.model.ColumnFactory;
+import com.tablr.model.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RowsAreaTest {
+    private static final int ROWS = 100_000;
+    private Table table;
+    private int textId;
+    private int flagId;
+
+    @BeforeEach
+    void setup() {
+        table = new Table("Big", 1);
+        table.createColumn();
+        table.createColumn();
+        textId = table.getColumnIds().get(0);
+        flagId = table.getColumnIds().get(1);
+        table.replaceColumnById(flagId, ColumnFactory.createColumn(ColumnType.BOOLEAN, table.getColumn(flagId)));
+        table.appendRows(ROWS);
+        for (int row = 0; row < ROWS; row += 1000) {
+            table.setValue(textId, row, "row" + row);
+            table.setValue(flagId, row, true);
+        }
+    }
+
+    private RowsArea area() {
+        return (RowsArea) TableAreaGenerator.GenerateRowsArea(table.snapshot());
+    }
+
+    private static Set<Cell> cells(TableArea area) {
+        Set<Cell> cells = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Cell[] column : area.getTableCells()) {
+            cells.addAll(java.util.List.of(column));
+        }
+        return cells;
+    }
+
+    @Test
+    void testOnlyFirstRowsAreBuilt() {
+        RowsArea area = area();
+
+        assertEquals(ROWS, area.getRowCount());
+        assertTrue(area.getTableCells()[0].length < 50);
+        assertEquals(ROWS * 20 + 70, area.getTotalHeight());
+        assertEquals(40 + ROWS * 20, area.getLowestY());
+    }
+
+    @Test
+    void testScrollingReusesCells() {
+        RowsArea area = area();
+        area.setViewport(1000, 1300);
+        Set<Cell> before = cells(area);
+
+        int top = 40 + 20 * 50_000;
+        area.setViewport(top, top + 300);
+
+        assertEquals(before, cells(area));
+        int first = area.getFirstBuiltRow();
+        assertEquals(50_000 - RowsArea.OVERSCAN, first);
+        Cell text = area.getTableCells()[0][50_000 - first];
+        assertEquals("row50000", ((NormalCell) text).getValue());
+        assertEquals(top, text.getRegion().y);
+        assertTrue(((BooleanCell) area.getTableCells()[1][50_000 - first]).isCellSelected());
+        assertNull(((BooleanCell) area.getTableCells()[1][50_001 - first]).isCellSelected());
+        assertEquals(50_000, area.getRowfromY(text.getRegion().y + 5));
+    }
+
+    @Test
+    void testSmallScrollKeepsCellsOnTheirRows() {
+        RowsArea area = area();
+        area.setViewport(0, 300);
+        Cell cell = area.getTableCells()[0][3];
+
+        area.setViewport(60, 360);
+
+        assertEquals(3, area.getRowfromY(cell.getRegion().y));
+    }
+
+    @Test
+    void testEditedCellSurvivesScrollingAway() {
+        RowsArea area = area();
+        area.setViewport(0, 300);
+        NormalCell edited = (NormalCell) area.getTableCells()[0][0];
+        edited.selectCell();
+        edited.setEdit();
+        edited.appendEdit('x');
+
+        area.setViewport(40 + 20 * 1000, 40 + 20 * 1000 + 300);
+        assertFalse(cells(area).contains(edited));
+
+        area.setViewport(0, 300);
+        assertSame(edited, area.getTableCells()[0][0]);
+        assertEquals("row0x", edited.getEdit());
+        assertEquals(0, area.getRowfromY(edited.getRegion().y));
+    }
+
+    @Test
+    void testSelectRowUsesTableIndices() {
+        RowsArea area = area();
+        int top = 40 + 20 * 70_000;
+        area.setViewport(top, top + 300);
+
+        area.selectRow(10, top + 5);
+
+        assertEquals(70_000, area.getSelectedRow());
+        assertEquals(top, area.getSelectedRowRectangle().y);
+    }
+
+    @Test
+    void testPatchOnlyRebindsChangedCell() {
+        RowsArea area = area();
+        int top = 40 + 20 * 2000;
+        area.setViewport(top, top + 300);
+        int first = area.getFirstBuiltRow();
+        NormalCell other = (NormalCell) area.getTableCells()[0][2001 - first];
+        other.setValue("stale");
+
+        table.setValue(textId, 2000, "edited");
+        area.patch(table.snapshot(), Integer.MAX_VALUE, (columnId, row) -> columnId == textId && row == 2000);
+
+        assertEquals("edited", ((NormalCell) area.getTableCells()[0][2000 - first]).getValue());
+        assertEquals("stale", other.getValue(), "Cells the change did not touch keep what they show");
+        assertEquals(first, area.getFirstBuiltRow());
+    }
+
+    @Test
+    void testPatchShiftsRowsAfterRemovedRow() {
+        RowsArea area = area();
+        int top = 40 + 20 * 990;
+        area.setViewport(top, top + 300);
+        int first = area.getFirstBuiltRow();
+        Set<Cell> before = cells(area);
+        NormalCell above = (NormalCell) area.getTableCells()[0][994 - first];
+        above.setValue("stale");
+
+        table.removeRow(995);
+        area.patch(table.snapshot(), 995, (columnId, row) -> false);
+
+        assertEquals(ROWS - 1, area.getRowCount());
+        assertEquals(before, cells(area));
+        assertEquals("stale", above.getValue(), "Rows before the removed one are left alone");
+        assertEquals("row1000", ((NormalCell) area.getTableCells()[0][999 - first]).getValue());
+        assertTrue(((BooleanCell) area.getTableCells()[1][999 - first]).isCellSelected());
+        assertNotEquals("row1000", ((NormalCell) area.getTableCells()[0][1000 - first]).getValue());
+    }
+
+    @Test
+    void testPatchBuildsAppendedRows() {
+        Table small = new Table("Small", 2);
+        small.createColumn();
+        small.appendRows(2);
+        RowsArea area = (RowsArea) TableAreaGenerator.GenerateRowsArea(small.snapshot());
+        area.setViewport(0, 300);
+        assertEquals(2, area.getTableCells()[0].length);
+
+        small.appendRows(1);
+        small.setValue(small.getColumnIds().getFirst(), 2, "new");
+        area.patch(small.snapshot(), 2, (columnId, row) -> false);
+
+        assertEquals(3, area.getRowCount());
+        assertEquals(3, area.getTableCells()[0].length);
+        assertEquals("new", ((NormalCell) area.getTableCells()[0][2]).getValue());
+        assertEquals(40 + 20 * 3, area.getLowestY());
+    }
+
+    @Test
+    void testHitTestResolvesTableRowAndCheckBox() {
+        RowsArea area = area();
+        int top = 40 + 20 * 70_000;
+        area.setViewport(top, top + 300);
+        area.SetBounds(200, 90);
+        Point origin = area.getOrigin();
+
+        CellHit text = area.hitTest(origin.x + 25, origin.y + top + 5);
+        assertEquals(0, text.column());
+        assertEquals(70_000, text.row());
+        assertEquals("row70000", ((NormalCell) text.cell()).getValue());
+        assertFalse(text.onCheckBox());
+
+        Rectangle checkBox = ((BooleanCell) area.getTableCells()[1][0]).getCheckBox();
+        CellHit flag = area.hitTest(checkBox.x + 1, checkBox.y + 1);
+        assertEquals(1, flag.column());
+        assertEquals(area.getFirstBuiltRow(), flag.row());
+        assertTrue(flag.onCheckBox());
+        assertFalse(area.hitTest(checkBox.x - 30, checkBox.y + 1).onCheckBox());
+
+        assertNull(area.hitTest(origin.x + 5, origin.y + top + 5));
+        assertNull(area.hitTest(origin.x + 25, origin.y - 100));
+    }
+}
@@ -197,4 +197,67 @@ public class TableAreaTest {
         assertNotNull(area.getTableCellFromTableId(5));
         assertNull(area.getTableCellFromTableId(999));
     }
+
+    @Test
+    void testColumnAndCellRangeFollowGrid() {
+        for (int i = 0; i < 3; i++) {
+            table.createColumn();
+        }
+        for (int i = 0; i < 50; i++) {
+            table.createRow();
+        }
+        TableArea area = TableAreaGenerator.GenerateRowsArea(table);
+        // Columns start at x = 20 and are 100 wide, rows start at y = 40 and are 20 high
+        assertArrayEquals(new int[]{1, 3}, area.getColumnRange(150, 250));
+        assertArrayEquals(new int[]{0, 1}, area.getColumnRange(0, 20));
+        assertArrayEquals(new int[]{2, 3}, area.getColumnRange(1000, 1200));
+        assertArrayEquals(new int[]{5, 8}, area.getCellRange(141, 180));
+        // The border of the row above reaches the top of the range
+        assertArrayEquals(new int[]{4, 8}, area.getCellRange(140, 180));
+        assertArrayEquals(new int[]{0, 0}, area.getCellRange(-100, 0));
+        assertArrayEquals(new int[]{25, 25}, area.getCellRange(5000, 6000));
+    }
+
+    @Test
+    void testCellRangeUsesSpacingOfForm() {
+        TableArea area = TableAreaGenerator.GenerateFormArea(List.of("a", "b", "c", "d"), null, null, List.of(1, 2, 3, 4));
+        // Form rows are 30 apart: 40, 70, 100, 130
+        assertArrayEquals(new int[]{2, 3}, area.getCellRange(101, 120));
+        assertArrayEquals(new int[]{0, 4}, area.getCellRange(0, 1000));
+        assertArrayEquals(new int[]{0, 4}, new TableArea(2, 4).getCellRange(100, 120));
+    }
+
+    @Test
+    void testSetBoundsOnlyMovesOrigin() {
+        TableArea area = new TableArea(2, 100_000);
+        area.setAreaTitle(List.of("A", "B"));
+        for (int c = 0; c < 2; c++) {
+            Cell[] cells = new Cell[100_000];
+            for (int r = 0; r < cells.length; r++) {
+                cells[r] = new NormalCell("v" + r, new Rectangle(20 + 100 * c, 40 + 20 * r, 100, 20));
+            }
+            area.setColumn(cells, c);
+        }
+        Cell cell = area.getTableCells()[1][3];
+        Rectangle before = new Rectangle(cell.getAreaRegion());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            area.SetBounds(i % 500, i % 300);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        area.SetBounds(300, 200);
+
+        assertTrue(millis < 1_000, "Moving took " + millis + " ms");
+        assertEquals(before, cell.getAreaRegion());
+        Rectangle region = cell.getRegion();
+        assertEquals(new Point(before.x + 300, before.y + 210), region.getLocation());
+        assertEquals(3, area.getRowfromY(region.y + 5));
+        assertEquals(1, area.getColumnFromX(region.x + 5));
+        assertTrue(area.isTableAreaClicked(region.x + 5, region.y + 5));
+        assertFalse(area.isTableAreaClicked(before.x + 5, before.y + 5));
+        assertTrue(area.leftMarginClicked(region.x - 105, region.y + 5));
+        area.selectRow(region.x - 105, region.y + 5);
+        assertEquals(new Rectangle(region.x - 120, region.y, 20, 20), area.getSelectedRowRectangle());
+    }
 }
@@ -4,6 +4,10 @@ import com.tablr.model.ColumnType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AppControllerTest {
@@ -116,4 +120,44 @@ class AppControllerTest {
 
         app.toggleDefaultValue(1,1);
     }
+
+    @Test
+    void testCloseKeepsJournalReplayable() throws IOException {
+        Path file = Files.createTempFile("tablr-", ".journal");
+        try {
+            AppController killed = new AppController(file);
+            killed.createTable();
+            int tableId = killed.getTableIds().getLast();
+            killed.renameTable(tableId, "Survivor");
+            // What the shutdown hook does when the application is killed
+            killed.close();
+            assertTrue(Files.exists(file));
+
+            AppController next = new AppController(file);
+            assertEquals(killed.getTableIds(), next.getTableIds());
+            assertEquals("Survivor", next.getTable(tableId).getName());
+            next.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testEndSessionDeletesJournal() throws IOException {
+        Path file = Files.createTempFile("tablr-", ".journal");
+        try {
+            AppController journaled = new AppController(file);
+            journaled.createTable();
+            journaled.endSession();
+            assertFalse(Files.exists(file));
+            // The shutdown hook still runs after the window is closed
+            journaled.close();
+
+            AppController next = new AppController(file);
+            assertEquals(new AppController().getTableIds(), next.getTableIds());
+            next.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
 }
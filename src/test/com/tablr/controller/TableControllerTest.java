@@ -1,10 +1,14 @@
 package com.tablr.controller;
 
 import com.tablr.model.Column;
+import com.tablr.model.ColumnStorage;
 import com.tablr.model.ColumnType;
+import com.tablr.model.Table;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TableControllerTest {
@@ -146,4 +150,69 @@ class TableControllerTest {
     void testInvalidTableAccess() {
         assertThrows(IllegalArgumentException.class, () -> controller.getTable(999));
     }
+
+    @Test
+    void testRegistryFollowsRenameAndDelete() {
+        int id = controller.createTable();
+        controller.renameTable(id, "Orders");
+        assertTrue(controller.hasTable("Orders"));
+        assertFalse(controller.hasTable("Table2"));
+        assertTrue(controller.isValidTableName("Table2"));
+
+        controller.deleteTable(id);
+        assertFalse(controller.hasTable(id));
+        assertFalse(controller.hasTable("Orders"));
+    }
+
+    @Test
+    void testInsertTableAtKeepsOrder() {
+        controller.createTable();
+        Table removed = controller.getTable(1);
+        controller.deleteTable(1);
+        controller.insertTableAt(removed, 0);
+        assertEquals(0, controller.getTableIndex(1));
+        assertEquals(List.of(1, 2), controller.getTableIds());
+        assertThrows(IllegalArgumentException.class, () -> controller.insertTableAt(removed, 1));
+    }
+
+    @Test
+    void testTableIndexFollowsInsertAndDelete() {
+        controller.createTable();
+        controller.createTable();
+        Table middle = controller.getTable(2);
+        controller.deleteTable(2);
+        assertEquals(1, controller.getTableIndex(3));
+        assertThrows(IllegalArgumentException.class, () -> controller.getTableIndex(2));
+
+        controller.insertTableAt(middle, 0);
+        assertEquals(List.of(2, 1, 3), controller.getTableIds());
+        for (int id : controller.getTableIds()) {
+            assertEquals(controller.getTableIds().indexOf(id), controller.getTableIndex(id));
+        }
+    }
+
+    @Test
+    void testClearTables() {
+        controller.clearTables();
+        assertTrue(controller.getTables().isEmpty());
+        assertFalse(controller.hasTable(1));
+        assertFalse(controller.hasTable("Table1"));
+    }
+
+    @Test
+    void testDeleteTableFreesOffHeapStorage() {
+        controller.setStorageFactory(ColumnStorage::offHeap);
+        int tableId = controller.createTable();
+        Table table = controller.getTable(tableId);
+        assertTrue(table.getStorage().isOffHeap());
+        table.createColumn();
+        table.appendRows(10);
+        assertTrue(table.getStorage().getAllocatedBytes() > 0);
+
+        Table snapshot = table.snapshot();
+        controller.deleteTable(tableId);
+        assertEquals(0, table.getStorage().getAllocatedBytes());
+        // The buffers are dropped, not freed under the snapshot, so it stays readable until it is collected
+        assertEquals(table.getColumnByIndex(0).getValue(0), snapshot.getColumnByIndex(0).getValue(0));
+    }
 }
@@ -62,5 +62,16 @@ class BooleanColumnTest {
         col.setValue(0, null);
         assertTrue(col.canChangeToType(ColumnType.STRING));
     }
-}
 
+    @Test
+    void testCounts() {
+        col.addDefaultValue();
+        col.addDefaultValue();
+        col.addDefaultValue();
+        col.setValue(0, true);
+        col.setValue(1, false);
+        assertEquals(1, col.countTrue());
+        assertEquals(1, col.countFalse());
+        assertEquals(1, col.countBlank());
+    }
+}
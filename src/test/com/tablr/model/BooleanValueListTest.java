@@ -0,0 +1,78 @@
+package com.tablr.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BooleanValueListTest {
+    BooleanValueList list;
+
+    @BeforeEach
+    void setUp() {
+        list = new BooleanValueList();
+    }
+
+    @Test
+    void testTriState() {
+        list.add(true);
+        list.add(false);
+        list.add(null);
+        assertEquals(true, list.get(0));
+        assertEquals(false, list.get(1));
+        assertNull(list.get(2));
+        list.set(2, true);
+        assertEquals(true, list.get(2));
+        list.set(0, null);
+        assertNull(list.get(0));
+    }
+
+    /** Mirrors inserts and removes on an ArrayList, across several words. */
+    @Test
+    void testInsertAndRemoveMatchArrayList() {
+        List<Boolean> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Boolean value = i % 3 == 0 ? null : i % 3 == 1;
+            expected.add(value);
+            list.add(value);
+        }
+        int[] positions = {0, 63, 64, 100, 191, 192, 250};
+        for (int position : positions) {
+            expected.add(position, true);
+            list.add(position, true);
+            expected.remove(position + 2);
+            list.remove(position + 2);
+        }
+        assertEquals(expected, list);
+        assertEquals(expected.stream().filter(Boolean.TRUE::equals).count(), list.countTrue());
+        assertEquals(expected.stream().filter(Boolean.FALSE::equals).count(), list.countFalse());
+        assertEquals(expected.stream().filter(v -> v == null).count(), list.countBlank());
+    }
+
+    /** Mirrors inserts at the front of a list spanning several blocks, then removes from the front. */
+    @Test
+    void testFrontEditsAcrossBlocks() {
+        List<Boolean> expected = new ArrayList<>();
+        for (int i = 0; i < 3 * BlockList.BLOCK_SIZE; i++) {
+            Boolean value = i % 3 == 0 ? null : i % 2 == 0;
+            expected.addFirst(value);
+            list.add(0, value);
+        }
+        for (int i = 0; i < 2 * BlockList.BLOCK_SIZE; i++) {
+            expected.removeFirst();
+            list.remove(0);
+        }
+        assertEquals(expected, list);
+        assertEquals(expected.stream().filter(Boolean.TRUE::equals).count(), list.countTrue());
+        assertEquals(expected.stream().filter(v -> v == null).count(), list.countBlank());
+    }
+
+    @Test
+    void testInvalidIndex() {
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(0));
+    }
+}
@@ -0,0 +1,77 @@
+package com.tablr.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ColumnConverter, converting columns between types.
+ */
+class ColumnConverterTest {
+
+    @SafeVarargs
+    private static <T> Column<T> filled(Column<T> column, T... values) {
+        for (int i = 0; i < values.length; i++) {
+            column.addDefaultValue();
+            column.setValue(i, values[i]);
+        }
+        return column;
+    }
+
+    /** Integers become their decimal text and back. */
+    @Test
+    void testIntegerAndStringRoundTrip() {
+        Column<Integer> ints = filled(new IntegerColumn("N", true, 7, 3), 1, null, -42);
+        Column<?> strings = ColumnConverter.convert(ints, ColumnType.STRING);
+        assertInstanceOf(StringColumn.class, strings);
+        assertEquals(Arrays.asList("1", null, "-42"), strings.getValues());
+        assertEquals("7", strings.getDefaultValue());
+        assertEquals("N", strings.getName());
+        assertEquals(3, strings.getId());
+
+        Column<?> back = ColumnConverter.convert(strings, ColumnType.INTEGER);
+        assertEquals(ints.getValues(), back.getValues());
+        assertEquals(7, back.getDefaultValue());
+    }
+
+    /** Text converts to booleans and emails when every value has the right format. */
+    @Test
+    void testStringToBooleanAndEmail() {
+        Column<String> flags = filled(new StringColumn("F", true, null, 1), "true", " FALSE ", "", "true");
+        assertEquals(Arrays.asList(true, false, null, true), ColumnConverter.convert(flags, ColumnType.BOOLEAN).getValues());
+
+        Column<String> mails = filled(new StringColumn("M", true, null, 2), "a@b", "c@d", "a@b");
+        Column<?> emails = ColumnConverter.convert(mails, ColumnType.EMAIL);
+        assertInstanceOf(EmailColumn.class, emails);
+        assertEquals(List.of("a@b", "c@d", "a@b"), emails.getValues());
+    }
+
+    /** Booleans only convert to text. */
+    @Test
+    void testBooleanConversions() {
+        Column<Boolean> booleans = filled(new BooleanColumn("B", true, null, 1), true, null, false);
+        assertEquals(Arrays.asList("true", null, "false"), ColumnConverter.convert(booleans, ColumnType.STRING).getValues());
+        assertThrows(IllegalArgumentException.class, () -> ColumnConverter.convert(booleans, ColumnType.INTEGER));
+    }
+
+    /** Conversion stops at the first bad row and leaves the source alone. */
+    @Test
+    void testFailureNamesFirstRow() {
+        Column<String> text = filled(new StringColumn("T", true, null, 1), "1", "2", "x", "y");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ColumnConverter.convert(text, ColumnType.INTEGER));
+        assertTrue(e.getMessage().startsWith("Row 2:"));
+        assertEquals(List.of("1", "2", "x", "y"), text.getValues());
+    }
+
+    /** Blank values fail when the converted column does not allow blanks. */
+    @Test
+    void testBlankNotAllowed() {
+        Column<String> text = filled(new StringColumn("T", true, "5", 1), "1", null);
+        text.allowsBlank = false;
+        assertThrows(IllegalArgumentException.class, () -> ColumnConverter.convert(text, ColumnType.INTEGER));
+    }
+}
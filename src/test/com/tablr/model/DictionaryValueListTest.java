@@ -0,0 +1,115 @@
+package com.tablr.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryValueListTest {
+    DictionaryValueList list;
+
+    @BeforeEach
+    void setUp() {
+        list = new DictionaryValueList();
+    }
+
+    @Test
+    void testRepeatedValuesStayEncoded() {
+        for (int i = 0; i < 1000; i++) {
+            list.add(i % 2 == 0 ? "open" : "closed");
+        }
+        list.add(3, null);
+        list.remove(0);
+        assertTrue(list.isDictionaryEncoded());
+        assertEquals("closed", list.get(0));
+        assertNull(list.get(2));
+        assertEquals(new HashSet<>(Arrays.asList("open", "closed", null)), new HashSet<>(list.distinctValues()));
+    }
+
+    @Test
+    void testDistinctValuesIgnoreOverwrittenValues() {
+        list.add("a");
+        list.add("b");
+        list.set(1, "a");
+        assertEquals(List.of("a"), new ArrayList<>(list.distinctValues()));
+    }
+
+    @Test
+    void testSwitchesToPlainWhenCardinalityTooHigh() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < DictionaryValueList.MIN_DICTIONARY_LIMIT + 10; i++) {
+            expected.add("value" + i);
+            list.add("value" + i);
+        }
+        assertFalse(list.isDictionaryEncoded());
+        assertEquals(expected, list);
+        list.add(0, null);
+        assertNull(list.get(0));
+        assertEquals(expected.size() + 1, list.distinctValues().size());
+    }
+
+    @Test
+    void testCompactsBeforeSwitching() {
+        list.add("start");
+        for (int i = 0; i < DictionaryValueList.MIN_DICTIONARY_LIMIT * 2; i++) {
+            list.set(0, "value" + i);
+        }
+        assertTrue(list.isDictionaryEncoded());
+        assertEquals("value" + (DictionaryValueList.MIN_DICTIONARY_LIMIT * 2 - 1), list.get(0));
+    }
+
+    @Test
+    void testNoCompactionForEveryValueAtTheLimit() {
+        int limit = DictionaryValueList.MIN_DICTIONARY_LIMIT;
+        for (int i = 0; i < limit * 4; i++) {
+            list.add(i < limit - 2 ? "unique" + i : "common");
+        }
+        // Every overwrite frees the code of the only row that held the old value
+        for (int i = 0; i < 1000; i++) {
+            list.set(i % (limit - 2), "new" + i);
+        }
+        assertTrue(list.getCompactionCount() <= 1, "Compacted " + list.getCompactionCount() + " times");
+        assertEquals("new999", list.get(999 % (limit - 2)));
+        assertEquals("common", list.get(limit * 4 - 1));
+    }
+
+    @Test
+    void testCompactionsLeaveHeadroom() {
+        list.add("start");
+        for (int i = 0; i < DictionaryValueList.MIN_DICTIONARY_LIMIT * 10; i++) {
+            list.set(0, "value" + i);
+        }
+        assertTrue(list.isDictionaryEncoded());
+        assertEquals(10, list.getCompactionCount());
+    }
+
+    @Test
+    void testCopySharesDictionaryButNotRows() {
+        list.add("a");
+        list.add("b");
+        DictionaryValueList copy = list.copy();
+        list.set(0, "c");
+        copy.set(1, "d");
+        assertEquals(List.of("c", "b"), list);
+        assertEquals(List.of("a", "d"), copy);
+        assertEquals(new HashSet<>(List.of("a", "d")), new HashSet<>(copy.distinctValues()));
+    }
+
+    @Test
+    void testCopyKeepsValuesWhenOriginalSwitchesToPlain() {
+        list.add("start");
+        DictionaryValueList copy = list.copy();
+        for (int i = 0; i < DictionaryValueList.MIN_DICTIONARY_LIMIT + 10; i++) {
+            list.add("value" + i);
+        }
+        assertFalse(list.isDictionaryEncoded());
+        assertTrue(copy.isDictionaryEncoded());
+        assertEquals(List.of("start"), copy);
+        assertEquals("start", list.get(0));
+    }
+}
@@ -0,0 +1,70 @@
+package com.tablr.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdAllocator, handing out and taking back the lowest free numbers.
+ */
+class IdAllocatorTest {
+    private IdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new IdAllocator();
+    }
+
+    /** Numbers are handed out from 1 upwards. */
+    @Test
+    void testAllocateInOrder() {
+        assertEquals(1, allocator.allocate());
+        assertEquals(2, allocator.allocate());
+        assertEquals(3, allocator.allocate());
+        assertTrue(allocator.isUsed(2));
+        assertFalse(allocator.isUsed(4));
+    }
+
+    /** A released number is handed out again before any higher one. */
+    @Test
+    void testReleaseReusesLowestNumber() {
+        for (int i = 0; i < 10; i++) allocator.allocate();
+        allocator.release(7);
+        allocator.release(3);
+        assertEquals(3, allocator.allocate());
+        assertEquals(7, allocator.allocate());
+        assertEquals(11, allocator.allocate());
+        allocator.release(42);
+        assertEquals(12, allocator.lowestFree());
+    }
+
+    /** Reserved numbers are skipped, also when they join runs together. */
+    @Test
+    void testReserve() {
+        allocator.reserve(2);
+        allocator.reserve(1_000_000);
+        allocator.reserve(0);
+        assertEquals(1, allocator.allocate());
+        assertEquals(3, allocator.allocate());
+        allocator.reserve(5);
+        allocator.reserve(4);
+        assertEquals(6, allocator.lowestFree());
+        allocator.release(1);
+        allocator.release(1);
+        assertEquals(1, allocator.lowestFree());
+        allocator.clear();
+        assertFalse(allocator.isUsed(1_000_000));
+    }
+
+    /** Only exact default names have a number. */
+    @Test
+    void testSuffixOf() {
+        assertEquals(12, IdAllocator.suffixOf("Column12", "Column"));
+        assertEquals(-1, IdAllocator.suffixOf("Column012", "Column"));
+        assertEquals(-1, IdAllocator.suffixOf("Column", "Column"));
+        assertEquals(-1, IdAllocator.suffixOf("Column1a", "Column"));
+        assertEquals(-1, IdAllocator.suffixOf("Table1", "Column"));
+        assertEquals(-1, IdAllocator.suffixOf("Column99999999999", "Column"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.tablr.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntValueListTest {
+    IntValueList list;
+
+    @BeforeEach
+    void setUp() {
+        list = new IntValueList();
+    }
+
+    @Test
+    void testAddGetAndBlanks() {
+        list.add(5);
+        list.add(null);
+        list.add(-3);
+        assertEquals(List.of(5, -3), List.of(list.get(0), list.get(2)));
+        assertNull(list.get(1));
+        assertTrue(list.isBlank(1));
+        assertEquals(1, list.blankCount());
+    }
+
+    @Test
+    void testSetOverwritesBlank() {
+        list.add(null);
+        list.set(0, 9);
+        assertFalse(list.isBlank(0));
+        assertEquals(9, list.getInt(0));
+        list.set(0, null);
+        assertTrue(list.isBlank(0));
+    }
+
+    /** Mirrors inserts and removes on an ArrayList, across several bitmap words. */
+    @Test
+    void testInsertAndRemoveMatchArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Integer value = i % 3 == 0 ? null : i;
+            expected.add(value);
+            list.add(value);
+        }
+        int[] positions = {0, 63, 64, 65, 127, 128, 150};
+        for (int position : positions) {
+            expected.add(position, null);
+            list.add(position, null);
+            expected.remove(position + 1);
+            list.remove(position + 1);
+        }
+        list.remove(199);
+        expected.remove(199);
+        assertEquals(expected, list);
+        assertEquals(expected.stream().filter(v -> v == null).count(), list.blankCount());
+    }
+
+    /** Mirrors inserts and removes that move rows across block boundaries. */
+    @Test
+    void testInsertAndRemoveAcrossBlocks() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 3 * BlockList.BLOCK_SIZE; i++) {
+            Integer value = i % 5 == 0 ? null : i;
+            expected.add(value);
+            list.add(value);
+        }
+        int[] positions = {0, BlockList.BLOCK_SIZE - 1, BlockList.BLOCK_SIZE, 2 * BlockList.BLOCK_SIZE + 1};
+        for (int position : positions) {
+            expected.add(position, -position);
+            list.add(position, -position);
+        }
+        for (int position : positions) {
+            expected.remove(position);
+            list.remove(position);
+        }
+        while (expected.size() > BlockList.BLOCK_SIZE - 2) {
+            expected.remove(expected.size() / 2);
+            list.remove(list.size() / 2);
+        }
+        assertEquals(expected, list);
+        assertEquals(expected.stream().filter(v -> v == null).count(), list.blankCount());
+    }
+
+    /** Mirrors random inserts and removes in the middle, which split and merge blocks. */
+    @Test
+    void testRandomEditsMatchArrayList() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        for (int step = 0; step < 20000; step++) {
+            boolean insert = expected.isEmpty() || (step < 12000 ? random.nextInt(4) != 0 : random.nextInt(4) == 0);
+            if (insert) {
+                int position = random.nextInt(expected.size() + 1);
+                Integer value = random.nextInt(7) == 0 ? null : step;
+                expected.add(position, value);
+                list.add(position, value);
+            } else {
+                int position = random.nextInt(expected.size());
+                assertEquals(expected.remove(position), list.remove(position));
+            }
+        }
+        assertEquals(expected, list);
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i) == null, list.isBlank(i));
+        }
+        assertEquals(expected.stream().filter(v -> v == null).count(), list.blankCount());
+    }
+
+    /** Checks that a copy and its original do not see each other's changes. */
+    @Test
+    void testCopyIsIndependent() {
+        for (int i = 0; i < 2 * BlockList.BLOCK_SIZE; i++) {
+            list.add(i);
+        }
+        IntValueList copy = list.copy();
+        list.set(0, null);
+        copy.add(0, -1);
+        list.remove(list.size() - 1);
+
+        assertEquals(0, copy.getInt(1));
+        assertFalse(copy.isBlank(1));
+        assertEquals(2 * BlockList.BLOCK_SIZE + 1, copy.size());
+        assertTrue(list.isBlank(0));
+        assertEquals(1, list.getInt(1));
+        assertEquals(2 * BlockList.BLOCK_SIZE - 1, list.size());
+    }
+
+    /** Checks that a snapshot rejects changes. */
+    @Test
+    void testSnapshotIsReadOnly() {
+        list.add(1);
+        IntValueList snapshot = (IntValueList) list.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(3));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+        list.set(0, 2);
+        assertEquals(1, snapshot.getInt(0));
+    }
+
+    @Test
+    void testInvalidIndex() {
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(1, 3));
+    }
+}
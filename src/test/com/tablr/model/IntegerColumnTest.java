@@ -50,4 +50,16 @@ class IntegerColumnTest {
         col = new IntegerColumn("WithDefault", false, 99, 3);
         assertFalse(col.canChangeToType(ColumnType.EMAIL));
     }
+
+    @Test
+    void testPrimitiveAccessors() {
+        col.addDefaultValue();
+        col.addDefaultValue();
+        col.setValue(1, 7);
+        assertTrue(col.isBlank(0));
+        assertEquals(0, col.getInt(0));
+        assertFalse(col.isBlank(1));
+        assertEquals(7, col.getInt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> col.getInt(2));
+    }
 }
@@ -0,0 +1,71 @@
+package com.tablr.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RowCursor, walking and reading the rows of a table.
+ */
+class RowCursorTest {
+    private Table table;
+
+    @BeforeEach
+    void setUp() {
+        table = new Table("T", 1);
+        table.insertColumnAt(0, new StringColumn("Name", true, "", 1));
+        table.insertColumnAt(1, new IntegerColumn("Age", true, null, 2));
+        table.insertColumnAt(2, new BooleanColumn("Active", true, true, 3));
+        table.appendRows(3);
+        table.setValue(1, 1, "Bob");
+        table.setValue(2, 1, 42);
+    }
+
+    /** Walks all rows with next(). */
+    @Test
+    void testNextVisitsEveryRow() {
+        RowCursor cursor = table.cursor();
+        assertFalse(cursor.isValid());
+        int visited = 0;
+        while (cursor.next()) {
+            assertEquals(visited++, cursor.getRow());
+        }
+        assertEquals(3, visited);
+        assertFalse(cursor.next());
+    }
+
+    /** Reads typed values after seeking to a row. */
+    @Test
+    void testTypedGetters() {
+        RowCursor cursor = table.cursor();
+        assertTrue(cursor.seek(1));
+        assertEquals(3, cursor.getColumnCount());
+        assertEquals("Age", cursor.getColumnName(1));
+        assertEquals(2, cursor.getColumnId(1));
+        assertEquals(ColumnType.INTEGER, cursor.getColumnType(1));
+        assertEquals("Bob", cursor.getString(0));
+        assertEquals(42, cursor.getInt(1));
+        assertEquals(Boolean.TRUE, cursor.getBoolean(2));
+        assertEquals(table.getRowValues(1), List.of(cursor.getValue(0), cursor.getValue(1), cursor.getValue(2)));
+
+        cursor.seek(0);
+        assertTrue(cursor.isBlank(0));
+        assertTrue(cursor.isBlank(1));
+        assertEquals(0, cursor.getInt(1));
+        assertThrows(IllegalArgumentException.class, () -> cursor.getInt(0));
+        assertThrows(IllegalArgumentException.class, () -> cursor.getString(2));
+    }
+
+    /** Reading outside the rows fails, and the cursor follows changes to the table. */
+    @Test
+    void testInvalidRow() {
+        RowCursor cursor = table.cursor();
+        assertFalse(cursor.seek(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.getValue(0));
+        table.createRow();
+        assertTrue(cursor.isValid());
+    }
+}
@@ -0,0 +1,63 @@
+package com.tablr.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpillFile, writing tables and columns to a file and reading them back.
+ */
+class SpillFileTest {
+    private Table table;
+
+    @BeforeEach
+    void setUp() {
+        table = new Table("People", 7);
+        table.insertColumnAt(0, new StringColumn("Name", true, "", 1));
+        table.insertColumnAt(1, new IntegerColumn("Age", true, 18, 2));
+        table.insertColumnAt(2, new BooleanColumn("Active", true, null, 3));
+        table.insertColumnAt(3, new EmailColumn("Mail", true, "a@b.c", 4));
+        table.appendRows(3000);
+        table.setValue(1, 0, "Ann é");
+        table.setValue(2, 1, null);
+        table.setValue(3, 2, true);
+        table.setValue(4, 2999, "x@y.z");
+    }
+
+    /** A table read back has the same columns, settings and values. */
+    @Test
+    void testTableRoundTrip() {
+        assertTrue(table.getColumn(4).setAllowsBlank(false));
+        SpillFile file = SpillFile.writeTable(table);
+        assertTrue(file.getFileSize() > 0);
+        Table read = file.readTable(ColumnStorage.heap());
+
+        assertEquals("People", read.getName());
+        assertEquals(7, read.getId());
+        assertEquals(3000, read.getRowCount());
+        assertEquals(table.getColumnNames(), read.getColumnNames());
+        assertFalse(read.getColumn(4).allowsBlank());
+        assertEquals(18, read.getColumn(2).getDefaultValue());
+        for (int row : List.of(0, 1, 2, 1500, 2999)) {
+            assertEquals(table.getRowValues(row), read.getRowValues(row));
+        }
+        file.delete();
+        assertEquals(0, file.getFileSize());
+    }
+
+    /** A column read back is detached and equal to the written one. */
+    @Test
+    void testColumnRoundTrip() {
+        Column<?> column = table.getColumn(2);
+        SpillFile file = SpillFile.writeColumn(column);
+        Column<?> read = file.readColumn();
+        assertNull(read.getOwner());
+        assertEquals(ColumnType.INTEGER, read.getColumnType());
+        assertEquals(column.getValues(), read.getValues());
+        assertThrows(IllegalStateException.class, () -> file.readTable(ColumnStorage.heap()));
+        file.delete();
+    }
+}
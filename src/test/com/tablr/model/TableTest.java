@@ -140,6 +140,22 @@ public class TableTest {
         assertThrows(NoSuchElementException.class, () -> table.replaceColumnById(999, newCol));
     }
 
+    /** Tests replacing a column with one of a different length throws and keeps the original column. */
+    @Test
+    void testReplaceColumnByIdWrongRowCount() {
+        Table table = new Table("T", 1);
+        table.createColumn();
+        table.appendRows(2);
+        Column<?> original = table.getColumns().getFirst();
+        int originalId = original.getId();
+
+        Column<?> newCol = new IntegerColumn("Age", true, 0, originalId);
+        newCol.addDefaultValue();
+        assertThrows(IllegalArgumentException.class, () -> table.replaceColumnById(originalId, newCol));
+        assertSame(original, table.getColumn(originalId));
+        assertEquals(2, table.getRowCount());
+    }
+
     /** Validates the hasColumn() method for existing and missing names. */
     @Test
     void testHasColumnByName() {
@@ -176,6 +192,47 @@ public class TableTest {
         assertEquals(table.getRowCount(), clone.getRowCount());
     }
 
+    /** Checks that a clone gets its own values instead of sharing them with the original. */
+    @Test
+    void testDeepCloneIsIndependent() {
+        Table table = new Table("T", 1);
+        table.createColumn();
+        table.createRow();
+        int colId = table.getColumns().getFirst().getId();
+        table.setValue(colId, 0, "Data");
+
+        Table clone = table.deepClone();
+        clone.setValue(colId, 0, "Changed");
+        clone.createRow();
+        assertEquals("Data", table.getColumn(colId).getValue(0));
+        assertEquals(1, table.getRowCount());
+        assertEquals("Changed", clone.getColumn(colId).getValue(0));
+    }
+
+    /** Checks that a snapshot keeps the state it was taken in and rejects changes. */
+    @Test
+    void testSnapshot() {
+        Table table = new Table("T", 1);
+        table.createColumn();
+        table.createRow();
+        int colId = table.getColumns().getFirst().getId();
+        table.setValue(colId, 0, "Data");
+
+        Table snapshot = table.snapshot();
+        assertTrue(snapshot.isReadOnly());
+        table.setValue(colId, 0, "Changed");
+        table.createRow();
+        table.setName("Renamed");
+        assertEquals("Data", snapshot.getColumn(colId).getValue(0));
+        assertEquals(1, snapshot.getRowCount());
+        assertEquals("T", snapshot.getName());
+
+        assertThrows(UnsupportedOperationException.class, snapshot::createRow);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setValue(colId, 0, "X"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getColumn(colId).setName("X"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getColumn(colId).removeValue(0));
+    }
+
     /** Tests replacing all columns using setColumns(). */
     @Test
     void testSetColumns() {
@@ -185,4 +242,188 @@ public class TableTest {
         table.setColumns(newCols);
         assertEquals(1, table.getColumns().size());
     }
+
+    /** Checks that column lookups by name and id follow renames, removals and replacements. */
+    @Test
+    void testColumnIndexesStayInSync() {
+        Table table = new Table("T", 1);
+        table.createColumn();
+        table.createColumn();
+        Column<?> first = table.getColumns().getFirst();
+        int firstId = first.getId();
+
+        first.setName("Renamed");
+        assertTrue(table.hasColumn("Renamed"));
+        assertFalse(table.hasColumn("Column1"));
+        assertThrows(IllegalArgumentException.class, () -> first.setName("Column2"));
+
+        Column<?> replacement = new IntegerColumn("Number", true, null, firstId);
+        table.replaceColumnById(firstId, replacement);
+        assertSame(replacement, table.getColumn(firstId));
+        assertFalse(table.hasColumn("Renamed"));
+        first.setName("Column2");
+        assertTrue(table.hasColumn("Number"));
+
+        table.removeColumn(firstId);
+        assertFalse(table.hasColumnId(firstId));
+        assertFalse(table.hasColumn("Number"));
+        assertThrows(NoSuchElementException.class, () -> table.getColumn(firstId));
+
+        table.insertColumnAt(0, replacement);
+        assertSame(replacement, table.getColumnByIndex(0));
+        assertTrue(table.hasColumn("Number"));
+        assertThrows(IllegalArgumentException.class, () -> table.insertColumnAt(0, replacement));
+    }
+
+    /** Checks that setColumns rebuilds the lookups. */
+    @Test
+    void testSetColumnsReplacesIndexes() {
+        Table table = new Table("T", 1);
+        table.createColumn();
+        List<Column<?>> newCols = new ArrayList<>();
+        newCols.add(new StringColumn("S", true, "", 7));
+        table.setColumns(newCols);
+        assertFalse(table.hasColumn("Column1"));
+        assertTrue(table.hasColumn("S"));
+        assertTrue(table.hasColumnId(7));
+    }
+
+    /** Checks the row count kept by the table through row and column changes. */
+    @Test
+    void testMaintainedRowCount() {
+        Table table = new Table("T", 1);
+        table.createRow();
+        assertEquals(0, table.getRowCount());
+
+        table.createColumn();
+        table.createRow();
+        table.createRow();
+        table.insertRowAt(1);
+        assertEquals(3, table.getRowCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.insertRowAt(5));
+
+        table.createColumn();
+        assertEquals(3, table.getColumnByIndex(1).size());
+
+        Column<?> removed = table.getColumnByIndex(0);
+        table.removeColumn(removed.getId());
+        table.removeColumn(table.getColumnByIndex(0).getId());
+        assertEquals(0, table.getRowCount());
+
+        table.insertColumnAt(0, removed);
+        assertEquals(3, table.getRowCount());
+        assertTrue(table.findDriftedColumns().isEmpty());
+    }
+
+    /** Checks appending and removing rows in batches. */
+    @Test
+    void testAppendAndRemoveLastRows() {
+        Table table = new Table("T", 1);
+        table.createColumn();
+        table.createRow();
+        int colId = table.getColumns().getFirst().getId();
+        table.setValue(colId, 0, "First");
+        table.insertColumnAt(1, new IntegerColumn("Number", true, 7, 50));
+
+        table.appendRows(3000);
+        assertEquals(3001, table.getRowCount());
+        assertEquals(7, table.getColumn(50).getValue(3000));
+        assertNull(table.getColumn(colId).getValue(3000));
+
+        table.removeLastRows(2999);
+        assertEquals(2, table.getRowCount());
+        assertEquals("First", table.getColumn(colId).getValue(0));
+        assertTrue(table.findDriftedColumns().isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.removeLastRows(3));
+        assertThrows(IllegalArgumentException.class, () -> table.appendRows(-1));
+    }
+
+    /** Checks that createColumn reuses the lowest id and name number freed by a removed or renamed column. */
+    @Test
+    void testCreateColumnReusesFreedIdAndName() {
+        Table table = new Table("T", 1);
+        for (int i = 0; i < 5; i++) table.createColumn();
+        table.removeColumn(2);
+        table.getColumn(4).setName("Column9");
+        table.createColumn();
+        Column<?> created = table.getColumnByIndex(4);
+        assertEquals(2, created.getId());
+        assertEquals("Column2", created.getName());
+        table.createColumn();
+        assertEquals(6, table.getColumnByIndex(5).getId());
+        assertEquals("Column4", table.getColumnByIndex(5).getName());
+    }
+
+    /** Checks that the size estimate grows with the rows of the table. */
+    @Test
+    void testRetainedBytes() {
+        Table table = new Table("T", 1);
+        table.insertColumnAt(0, new IntegerColumn("Age", true, 5, 1));
+        long small = table.getRetainedBytes();
+        table.appendRows(10_000);
+        assertTrue(table.getRetainedBytes() >= small + 10_000L * Integer.BYTES);
+    }
+
+    /** Checks that an off-heap table behaves like a heap table and frees its storage on close. */
+    @Test
+    void testOffHeapStorage() {
+        Table table = new Table("T", 1, ColumnStorage.offHeap());
+        table.insertColumnAt(0, new StringColumn("Name", true, "", 1));
+        table.insertColumnAt(1, new IntegerColumn("Age", true, 5, 2));
+        table.insertColumnAt(2, new BooleanColumn("Active", true, false, 3));
+        table.appendRows(2000);
+        table.setValue(1, 1500, "Bob");
+        table.setValue(2, 1500, 42);
+        table.setValue(3, 1500, true);
+        table.removeRow(0);
+        table.insertRowAt(0);
+
+        Table clone = table.deepClone();
+        // The clone is not closed by anyone, so it must not hold off-heap memory
+        assertFalse(clone.getStorage().isOffHeap());
+        assertEquals(List.of("Bob", 42, true), table.getRowValues(1500));
+        assertEquals(table.getRowValues(1500), clone.getRowValues(1500));
+
+        Column<?> removed = table.getColumn(2);
+        table.removeColumn(2);
+        table.close();
+        assertEquals(0, table.getStorage().getAllocatedBytes());
+        assertEquals(42, removed.getValue(1500));
+        assertEquals(List.of("Bob", 42, true), clone.getRowValues(1500));
+    }
+
+    /** Checks that blocks replaced under a dropped snapshot are freed, so edits between snapshots do not leak. */
+    @Test
+    void testSnapshotsDoNotLeakOffHeapBlocks() throws InterruptedException {
+        Table table = new Table("T", 1, ColumnStorage.offHeap());
+        table.insertColumnAt(0, new IntegerColumn("Age", true, 5, 2));
+        table.appendRows(10_000);
+        long start = table.getStorage().getAllocatedBytes();
+
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(5, table.snapshot().getColumn(2).getValue(9_999));
+            table.setValue(2, (i * 1024) % 10_000, i);
+        }
+        // Dropped snapshots are found by the garbage collector, give it a few tries
+        for (int tries = 0; tries < 100 && table.getStorage().getAllocatedBytes() > 2 * start; tries++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertTrue(table.getStorage().getAllocatedBytes() <= 2 * start,
+                "Allocated " + table.getStorage().getAllocatedBytes() + " bytes, started with " + start);
+        table.close();
+    }
+
+    /** Checks that columns changed behind the table's back are reported. */
+    @Test
+    void testFindDriftedColumns() {
+        Table table = new Table("T", 1);
+        table.createColumn();
+        table.createColumn();
+        table.createRow();
+        Column<?> column = table.getColumnByIndex(1);
+        column.addDefaultValue();
+        assertEquals(List.of(column.getId()), table.findDriftedColumns());
+    }
 }
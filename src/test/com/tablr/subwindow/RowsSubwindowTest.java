@@ -138,4 +138,26 @@ class RowsSubwindowTest {
     void testNoFormsubwindow() {
         rows.onControlF(); // no effect
     }
-}
\ No newline at end of file
+
+    @Test
+    void testEditAfterScrollingFarDown() {
+        app.addRowsToTable(tableId, 999);
+        rows.updateTableArea();
+        int columnId = app.getTableColumnIds(tableId).getFirst();
+
+        rows.scrollY = 40 + 20 * 500 - rows.getY() - 25;
+        rows.updateTableAreaPositions();
+        assertTrue(rows.tableArea.getTableCells()[0].length < 50, "Only rows around the view are built");
+
+        com.tablr.area.Cell cell = null;
+        for (com.tablr.area.Cell candidate : rows.tableArea.getTableCells()[0]) {
+            if (rows.tableArea.getRowfromY(candidate.getRegion().y) == 500) cell = candidate;
+        }
+        assertNotNull(cell);
+        rows.onBodyClick(cell.getRegion().x + 2, cell.getRegion().y + 2 - rows.scrollY);
+        rows.onCharacter('Z');
+        rows.onEnter();
+
+        assertEquals("Z", app.getRowValue(tableId, columnId, 500));
+    }
+}
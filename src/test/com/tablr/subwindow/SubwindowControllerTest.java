@@ -1,9 +1,15 @@
 package com.tablr.subwindow;
 
 import com.tablr.controller.AppController;
+import com.tablr.area.NormalCell;
+import com.tablr.area.TableArea;
+import com.tablr.undoRedo.Change;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -180,4 +186,236 @@ class SubwindowControllerTest {
         assertTrue(getPrivateBoolean(sub, "showVerticalScrollbar"), "Expected vertical scrollbar");
         assertTrue(getPrivateBoolean(sub, "showHorizontalScrollbar"), "Expected horizontal scrollbar");
     }
+
+    @Test
+    void testRefreshOnlyRebuildsAffectedSubwindows() {
+        int first = app.getTableIds().get(0);
+        int second = app.getTableIds().get(1);
+        for (int tableId : List.of(first, second)) {
+            app.addColumnToTable(tableId);
+            app.addRowToTable(tableId);
+        }
+        int columnId = app.getTableColumnIds(first).getFirst();
+        TablesSubwindow tables = new TablesSubwindow(app.getTableIds(), 0, 0, controller);
+        DesignSubwindow design = new DesignSubwindow(first, 0, 0, controller);
+        RowsSubwindow rowsFirst = new RowsSubwindow(first, 0, 0, controller);
+        RowsSubwindow rowsSecond = new RowsSubwindow(second, 0, 0, controller);
+        FormSubwindow form = new FormSubwindow(first, 0, 0, 0, controller);
+        for (Subwindow sub : List.of(tables, design, rowsFirst, rowsSecond, form)) {
+            controller.addSubWindow(sub);
+        }
+        TableArea tablesArea = tables.tableArea, designArea = design.tableArea,
+                firstArea = rowsFirst.tableArea, secondArea = rowsSecond.tableArea, formArea = form.tableArea;
+
+        app.setRowValue(first, columnId, 0, "patched");
+        controller.refresh(Change.cells(first, columnId, 0, 1));
+
+        assertSame(tablesArea, tables.tableArea);
+        assertSame(designArea, design.tableArea);
+        assertSame(firstArea, rowsFirst.tableArea, "Rows are patched instead of rebuilt");
+        assertEquals("patched", ((NormalCell) rowsFirst.tableArea.getTableCells()[0][0]).getValue());
+        assertSame(secondArea, rowsSecond.tableArea);
+        assertNotSame(formArea, form.tableArea);
+
+        formArea = form.tableArea;
+        controller.refresh(Change.rows(first, 1));
+        assertSame(formArea, form.tableArea, "Rows after the shown one do not change the form");
+
+        firstArea = rowsFirst.tableArea;
+        controller.refresh(Change.settings(first, columnId));
+        assertNotSame(designArea, design.tableArea);
+        assertSame(firstArea, rowsFirst.tableArea);
+    }
+
+    @Test
+    void testRefreshRenamesTitlesWithoutRebuilding() {
+        int tableId = app.getTableIds().getFirst();
+        app.addColumnToTable(tableId);
+        RowsSubwindow rows = new RowsSubwindow(tableId, 0, 0, controller);
+        controller.addSubWindow(rows);
+        TableArea area = rows.tableArea;
+
+        app.renameTable(tableId, "Renamed");
+        controller.refresh(Change.tableName(tableId));
+
+        assertEquals("Rows: Renamed", rows.getTitle());
+        assertSame(area, rows.tableArea);
+    }
+
+    @Test
+    void testRefreshClosesSubwindowsOfDeletedTables() throws ReflectiveOperationException {
+        int tableId = app.getTableIds().getFirst();
+        DesignSubwindow design = new DesignSubwindow(tableId, 0, 0, controller);
+        controller.addSubWindow(design);
+
+        app.deleteTable(tableId);
+        controller.refresh(Change.tableList(tableId));
+
+        var field = SubwindowController.class.getDeclaredField("subWindows");
+        field.setAccessible(true);
+        assertFalse(((List<?>) field.get(controller)).contains(design));
+    }
+
+    @Test
+    void testMovingSubwindowReusesItsBuffer() {
+        AppController app = new AppController() {
+            @Override public int getCanvasWidth() { return 800; }
+            @Override public int getCanvasHeight() { return 600; }
+        };
+        SubwindowController controller = new SubwindowController(app);
+        TablesSubwindow below = initTablesSubwindowWithApp(app, 5, controller);
+        TablesSubwindow above = new TablesSubwindow(app.getTableIds(), 300, 300, controller);
+        controller.addSubWindow(above);
+        BufferedImage canvas = new BufferedImage(850, 650, BufferedImage.TYPE_INT_RGB);
+        controller.paint(canvas.getGraphics());
+        assertFalse(below.isDirty());
+        assertFalse(above.isDirty());
+        int titleColor = canvas.getRGB(above.getX() + 3, above.getY() + 3);
+
+        above.onMousePressed(above.getX() + 5, above.getY() + 5);
+        above.onMouseDragged(above.getX() - 150, above.getY() - 150);
+        above.onMouseReleased();
+        controller.paint(canvas.getGraphics());
+
+        assertFalse(above.isDirty(), "Moving does not change what the subwindow shows");
+        assertFalse(below.isDirty());
+        assertEquals(titleColor, canvas.getRGB(above.getX() + 3, above.getY() + 3));
+
+        above.onMousePressed(above.getX() + above.getWidth() - 2, above.getY() + above.getHeight() - 2);
+        above.onMouseDragged(above.getX() + above.getWidth() + 50, above.getY() + above.getHeight() + 50);
+        assertTrue(above.isDirty(), "Resizing does");
+    }
+
+    @Test
+    void testInputOnlyDirtiesFocusedSubwindow() {
+        TablesSubwindow first = new TablesSubwindow(app.getTableIds(), 0, 0, controller);
+        TablesSubwindow second = new TablesSubwindow(app.getTableIds(), 400, 300, controller);
+        controller.addSubWindow(first);
+        controller.addSubWindow(second);
+        controller.paint(new BufferedImage(850, 650, BufferedImage.TYPE_INT_RGB).getGraphics());
+
+        controller.onEnter();
+        assertTrue(second.isDirty());
+        assertFalse(first.isDirty());
+
+        controller.paint(new BufferedImage(850, 650, BufferedImage.TYPE_INT_RGB).getGraphics());
+        controller.onMousePressed(first.getX() + 5, first.getY() + 5);
+        assertTrue(first.isDirty(), "Focus shows in the title bar");
+        assertTrue(second.isDirty());
+    }
+
+    @Test
+    void testRefreshDirtiesOnlyAffectedSubwindows() {
+        int first = app.getTableIds().get(0);
+        int second = app.getTableIds().get(1);
+        for (int tableId : List.of(first, second)) {
+            app.addColumnToTable(tableId);
+            app.addRowToTable(tableId);
+        }
+        RowsSubwindow rowsFirst = new RowsSubwindow(first, 0, 0, controller);
+        RowsSubwindow rowsSecond = new RowsSubwindow(second, 0, 0, controller);
+        controller.addSubWindow(rowsFirst);
+        controller.addSubWindow(rowsSecond);
+        controller.paint(new BufferedImage(850, 650, BufferedImage.TYPE_INT_RGB).getGraphics());
+
+        controller.refresh(Change.schema(first));
+
+        assertTrue(rowsFirst.isDirty());
+        assertFalse(rowsSecond.isDirty());
+    }
+
+    @Test
+    void testKeystrokeDamagesOnlyEditedCell() {
+        int tableId = app.getTableIds().getFirst();
+        app.addColumnToTable(tableId);
+        app.addColumnToTable(tableId);
+        app.addRowToTable(tableId);
+        app.addRowToTable(tableId);
+        RowsSubwindow rows = new RowsSubwindow(tableId, 50, 50, controller);
+        controller.addSubWindow(rows);
+        Rectangle cell = rows.tableArea.getTableCells()[0][1].getRegion();
+        controller.onClick(cell.x + 2, cell.y + 2);
+        BufferedImage canvas = new BufferedImage(850, 650, BufferedImage.TYPE_INT_RGB);
+        controller.paint(canvas.getGraphics());
+        controller.takeDamage();
+
+        controller.onCharacter('a');
+        controller.onCharacter('b');
+        controller.onBackspace();
+        Rectangle damage = controller.takeDamage();
+
+        assertNotNull(damage);
+        assertTrue(damage.contains(cell));
+        assertTrue(damage.height <= cell.height + 1, "Damage " + damage + " is one row high");
+        assertTrue(damage.width < rows.getWidth());
+        assertNull(controller.takeDamage());
+
+        // Painting only the damage gives the same picture as painting everything again
+        Graphics partial = canvas.getGraphics();
+        partial.setClip(damage);
+        controller.paint(partial);
+        BufferedImage expected = new BufferedImage(850, 650, BufferedImage.TYPE_INT_RGB);
+        rows.markDirty();
+        controller.paint(expected.getGraphics());
+        for (int x = 0; x < 850; x++) {
+            for (int y = 0; y < 650; y++) {
+                assertEquals(expected.getRGB(x, y), canvas.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testMovingAndClosingDamageOldAndNewBounds() {
+        AppController app = new AppController() {
+            @Override public int getCanvasWidth() { return 800; }
+            @Override public int getCanvasHeight() { return 600; }
+        };
+        SubwindowController controller = new SubwindowController(app);
+        TablesSubwindow sub = initTablesSubwindowWithApp(app, 3, controller);
+        Rectangle before = sub.getBounds();
+        controller.takeDamage();
+
+        sub.onMousePressed(sub.getX() + 5, sub.getY() + 5);
+        sub.onMouseDragged(sub.getX() + 105, sub.getY() + 5);
+
+        assertEquals(before.union(sub.getBounds()), controller.takeDamage());
+
+        Rectangle after = sub.getBounds();
+        controller.removeSubWindow(sub);
+        // The window that gets the focus is damaged as well
+        assertTrue(controller.takeDamage().contains(after));
+    }
+
+    @Test
+    void testClickFocusesTopmostSubwindowAtPoint() {
+        AppController app = new AppController() {
+            @Override public int getCanvasWidth() { return 800; }
+            @Override public int getCanvasHeight() { return 600; }
+        };
+        SubwindowController controller = new SubwindowController(app);
+        TablesSubwindow lower = initTablesSubwindowWithApp(app, 1, controller);
+        TablesSubwindow upper = new TablesSubwindow(app.getTableIds(), 100, 100, controller);
+        controller.addSubWindow(upper);
+
+        controller.onMousePressed(upper.getX() + 50, upper.getY() + 5);
+        assertTrue(upper.isFocused());
+
+        // Once the upper one moved, the part of the lower one it uncovered raises the lower one
+        controller.onMouseDragged(upper.getX() + 200, upper.getY() + 5);
+        controller.onMouseReleased();
+        Rectangle overlap = lower.getBounds().intersection(upper.getBounds());
+        assertFalse(overlap.isEmpty());
+        controller.onMousePressed(lower.getX() + 5, lower.getY() + 5);
+        assertTrue(lower.isFocused());
+        controller.onMousePressed(overlap.x + 5, overlap.y + 5);
+        assertTrue(lower.isFocused());
+        // The index follows the move, so the part of the upper one past the others finds it
+        controller.onMousePressed(upper.getX() + 250, upper.getY() + 50);
+        assertTrue(upper.isFocused());
+        controller.onMousePressed(lower.getX() + 5, lower.getY() + 5);
+
+        controller.removeSubWindow(lower);
+        controller.onMousePressed(overlap.x + 5, overlap.y + 5);
+        assertTrue(upper.isFocused());
+    }
 }
@@ -0,0 +1,128 @@
+package com.tablr.undoRedo;
+
+import com.tablr.controller.TableController;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeTest {
+
+    @Test
+    public void testCellChangeOnlyTouchesItsRows() {
+        Change change = Change.cells(1, 7, 3, 5);
+
+        assertTrue(change.affectsTable(1));
+        assertFalse(change.affectsTable(2));
+        assertFalse(change.affectsTableList());
+        assertFalse(change.isSchemaChanged(1));
+        assertFalse(change.isDesignChanged(1));
+        assertTrue(change.areRowsChanged(1));
+        assertFalse(change.isRowChanged(1, 2));
+        assertTrue(change.isRowChanged(1, 4));
+        assertFalse(change.isRowChanged(1, 5));
+        assertEquals(Set.of(7), change.getColumnIds(1));
+    }
+
+    @Test
+    public void testRowChangeMovesAllLaterRows() {
+        Change change = Change.rows(1, 4);
+
+        assertFalse(change.isRowChanged(1, 3));
+        assertTrue(change.isRowChanged(1, 4));
+        assertTrue(change.isRowChanged(1, 1000));
+        assertEquals(4, change.getFirstMovedRow(1));
+        assertEquals(Integer.MAX_VALUE, change.getFirstMovedRow(2));
+        assertTrue(change.isCellChanged(1, 7, 4));
+        assertFalse(change.isCellChanged(1, 7, 3));
+    }
+
+    @Test
+    public void testCellChangeOnlyTouchesItsColumn() {
+        Change change = Change.cells(1, 7, 3, 5);
+
+        assertTrue(change.isCellChanged(1, 7, 3));
+        assertFalse(change.isCellChanged(1, 8, 3));
+        assertFalse(change.isCellChanged(1, 7, 5));
+        assertEquals(Integer.MAX_VALUE, change.getFirstMovedRow(1));
+        assertTrue(Change.schema(1).isCellChanged(1, 8, 0));
+    }
+
+    @Test
+    public void testCombinedChangesCoverBoth() {
+        Change change = Change.cells(1, 7, 2, 3)
+                .with(Change.cells(1, 8, 9, 10))
+                .with(Change.settings(2, 4));
+
+        assertEquals(Set.of(1, 2), change.getTableIds());
+        assertEquals(Set.of(7, 8), change.getColumnIds(1));
+        assertTrue(change.isRowChanged(1, 2));
+        assertTrue(change.isRowChanged(1, 9));
+        assertFalse(change.isRowChanged(1, 10));
+        assertTrue(change.isDesignChanged(2));
+        assertFalse(change.areRowsChanged(2));
+        assertSame(Change.EVERYTHING, change.with(Change.EVERYTHING));
+        assertSame(change, change.with(Change.NONE));
+    }
+
+    @Test
+    public void testTableChanges() {
+        assertTrue(Change.tableList(1).affectsTableList());
+        assertTrue(Change.tableList(1).areRowsChanged(1));
+        assertTrue(Change.tableName(1).affectsTableList());
+        assertTrue(Change.tableName(1).isNameChanged(1));
+        assertFalse(Change.tableName(1).areRowsChanged(1));
+        assertFalse(Change.NONE.affectsTable(1));
+        assertTrue(Change.EVERYTHING.isRowChanged(1, 0));
+    }
+
+    @Test
+    public void testManagerReportsChangeOfUndoneCommand() {
+        TableController tableController = new TableController();
+        CommandManager manager = new CommandManager();
+        CreateTableCommand create = new CreateTableCommand(tableController);
+        manager.executeCommand(create);
+        int tableId = create.getCreatedTableId();
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        manager.executeCommand(new AddRowCommand(tableController, tableId));
+        manager.executeCommand(new AddRowsCommand(tableController, tableId, 3));
+        int columnId = tableController.getColumnIdsOfTable(tableId).getFirst();
+        manager.executeCommand(new SetCellValueCommand(tableController, tableId, columnId, 2, "", "x"));
+
+        Change edit = manager.undo();
+        assertEquals(Set.of(tableId), edit.getTableIds());
+        assertTrue(edit.isRowChanged(tableId, 2));
+        assertFalse(edit.isRowChanged(tableId, 1));
+        assertFalse(edit.isSchemaChanged(tableId));
+
+        Change rows = manager.undo();
+        assertFalse(rows.isRowChanged(tableId, 0), "Rows were appended after the existing one");
+        assertTrue(rows.isRowChanged(tableId, 1));
+
+        manager.undo();
+
+        assertTrue(manager.undo().isSchemaChanged(tableId));
+        assertTrue(manager.undo().affectsTableList());
+        assertSame(Change.NONE, manager.undo());
+        assertTrue(manager.redo().affectsTableList());
+    }
+
+    @Test
+    public void testTransactionReportsAllItsChanges() {
+        TableController tableController = new TableController();
+        CommandManager manager = new CommandManager();
+        CreateTableCommand create = new CreateTableCommand(tableController);
+        manager.executeCommand(create);
+        int tableId = create.getCreatedTableId();
+
+        manager.begin();
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        manager.executeCommand(new AddRowCommand(tableController, tableId));
+        Change change = manager.rollback();
+
+        assertTrue(change.isSchemaChanged(tableId));
+        assertTrue(change.isRowChanged(tableId, 0));
+        assertFalse(change.affectsTableList());
+    }
+}
@@ -0,0 +1,230 @@
+package com.tablr.undoRedo;
+
+import com.tablr.controller.TableController;
+import com.tablr.model.ColumnType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandJournalTest {
+    private Path file;
+    private TableController tableController;
+    private CommandManager manager;
+    private CommandJournal journal;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        file = Files.createTempFile("tablr-", ".journal");
+        tableController = new TableController();
+        manager = new CommandManager();
+        journal = CommandJournal.open(file);
+        manager.setListener(journal);
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        journal.close();
+        Files.deleteIfExists(file);
+    }
+
+    private int createTable() {
+        CreateTableCommand create = new CreateTableCommand(tableController);
+        manager.executeCommand(create);
+        return create.getCreatedTableId();
+    }
+
+    /**
+     * Everything visible in the tables, to compare two sessions.
+     */
+    private static List<Object> contents(TableController tableController) {
+        List<Object> contents = new ArrayList<>();
+        for (int tableId : tableController.getTableIds()) {
+            contents.add(tableController.getTableName(tableId));
+            contents.add(tableController.getTableColumnNames(tableId));
+            contents.add(tableController.getColumnTypesOfTable(tableId));
+            for (int row = 0; row < tableController.getRowCount(tableId); row++) {
+                contents.add(tableController.getTableRowValues(tableId, row));
+            }
+        }
+        return contents;
+    }
+
+    private CommandManager replay(TableController target) {
+        journal.close();
+        manager.setListener(null);
+        CommandManager replayed = new CommandManager();
+        journal = CommandJournal.open(file);
+        journal.replay(replayed, target);
+        return replayed;
+    }
+
+    @Test
+    public void testReplayRebuildsTablesAndHistory() {
+        int tableId = createTable();
+        manager.executeCommand(new RenameTableCommand(tableController, tableId, tableController.getTableName(tableId), "Orders"));
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        int first = tableController.getColumnIdsOfTable(tableId).get(0);
+        int second = tableController.getColumnIdsOfTable(tableId).get(1);
+        manager.executeCommand(new ChangeColumnTypeCommand(tableController, tableId, second, ColumnType.INTEGER));
+        manager.executeCommand(new AddRowsCommand(tableController, tableId, 3));
+        manager.executeCommand(new SetCellValueCommand(tableController, tableId, first, 0, "", "héllo"));
+        manager.executeCommand(new SetCellValueCommand(tableController, tableId, second, 1, null, 42));
+        manager.undo();
+        manager.redo();
+        manager.undo();
+        manager.begin();
+        manager.executeCommand(new DeleteRowCommand(tableController, tableId, 2));
+        manager.executeCommand(new RenameColumnCommand(tableController, tableId, first, tableController.getColumnName(tableId, first), "Name"));
+        manager.commit();
+        createTable();
+        manager.executeCommand(new DeleteTableCommand(tableController, tableId));
+        manager.undo();
+
+        TableController restored = new TableController();
+        CommandManager replayed = replay(restored);
+
+        assertEquals(contents(tableController), contents(restored));
+        assertEquals(manager.getUndoDepth(), replayed.getUndoDepth());
+        assertEquals(manager.getRedoDepth(), replayed.getRedoDepth());
+        // The restored history can be undone like the original one
+        manager.undo();
+        replayed.undo();
+        assertEquals(contents(tableController), contents(restored));
+    }
+
+    @Test
+    public void testReplayRepeatsMerges() {
+        int tableId = createTable();
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        manager.executeCommand(new AddRowCommand(tableController, tableId));
+        int columnId = tableController.getColumnIdsOfTable(tableId).get(0);
+        long[] now = {1000};
+        manager.setClock(() -> now[0]);
+        manager.executeCommand(new SetCellValueCommand(tableController, tableId, columnId, 0, "", "a"));
+        manager.executeCommand(new SetCellValueCommand(tableController, tableId, columnId, 0, "a", "ab"));
+        now[0] += 10 * CommandManager.DEFAULT_MERGE_WINDOW;
+        manager.executeCommand(new SetCellValueCommand(tableController, tableId, columnId, 0, "ab", "abc"));
+
+        TableController restored = new TableController();
+        CommandManager replayed = replay(restored);
+
+        assertEquals(manager.getUndoDepth(), replayed.getUndoDepth());
+        replayed.undo();
+        assertEquals("ab", restored.getRowValue(tableId, columnId, 0));
+    }
+
+    @Test
+    public void testTornRecordIsCutOff() throws IOException {
+        int tableId = createTable();
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        journal.sync();
+        long valid = Files.size(file);
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        journal.close();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+
+        TableController restored = new TableController();
+        CommandManager replayed = replay(restored);
+
+        assertEquals(1, restored.getColumnCount(tableId));
+        assertEquals(2, replayed.getUndoDepth());
+        assertEquals(valid, Files.size(file));
+
+        // New records follow the last valid one
+        replayed.setListener(journal);
+        replayed.executeCommand(new AddRowCommand(restored, tableId));
+        TableController again = new TableController();
+        replay(again);
+        assertEquals(1, again.getRowCount(tableId));
+    }
+
+    @Test
+    public void testDamagedRecordEndsReplay() throws IOException {
+        int tableId = createTable();
+        journal.sync();
+        long valid = Files.size(file);
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        journal.close();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(file, bytes);
+
+        TableController restored = new TableController();
+        replay(restored);
+
+        assertEquals(0, restored.getColumnCount(tableId));
+        assertEquals(valid, Files.size(file));
+    }
+
+    @Test
+    public void testOpenTransactionIsRolledBack() {
+        int tableId = createTable();
+        manager.begin();
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        manager.executeCommand(new AddRowCommand(tableController, tableId));
+
+        TableController restored = new TableController();
+        CommandManager replayed = replay(restored);
+
+        assertFalse(replayed.isInTransaction());
+        assertEquals(0, restored.getColumnCount(tableId));
+        assertEquals(1, replayed.getUndoDepth());
+
+        // The rollback is journaled, so the next replay does not need to repeat it
+        TableController again = new TableController();
+        assertFalse(replay(again).isInTransaction());
+        assertEquals(0, again.getColumnCount(tableId));
+    }
+
+    @Test
+    public void testReplayOfManyEditsIsFast() {
+        int tableId = createTable();
+        manager.executeCommand(new AddColumnCommand(tableController, tableId));
+        int columnId = tableController.getColumnIdsOfTable(tableId).get(0);
+        manager.executeCommand(new ChangeColumnTypeCommand(tableController, tableId, columnId, ColumnType.INTEGER));
+        manager.executeCommand(new AddRowsCommand(tableController, tableId, 1000));
+        for (int i = 0; i < 100_000; i++) {
+            int row = i % 1000;
+            Object old = tableController.getRowValue(tableId, columnId, row);
+            manager.executeCommand(new SetCellValueCommand(tableController, tableId, columnId, row, old, i));
+        }
+
+        TableController restored = new TableController();
+        long start = System.nanoTime();
+        replay(restored);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(contents(tableController), contents(restored));
+        assertTrue(millis < 10_000, "Replay took " + millis + " ms");
+    }
+
+    @Test
+    public void testClosedJournalRejectsRecords() {
+        journal.close();
+        journal.close();
+        assertThrows(IllegalStateException.class, () -> journal.executed(new CreateTableCommand(tableController), 0));
+        assertThrows(IllegalStateException.class, journal::sync);
+    }
+
+    @Test
+    public void testDeleteRemovesFile() {
+        createTable();
+        journal.delete();
+        assertFalse(Files.exists(file));
+        assertThrows(IllegalStateException.class, () -> journal.executed(new CreateTableCommand(tableController), 0));
+        journal.close();
+    }
+}
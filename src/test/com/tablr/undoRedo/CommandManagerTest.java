@@ -0,0 +1,256 @@
+package com.tablr.undoRedo;
+
+import com.tablr.controller.TableController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandManagerTest {
+
+    /**
+     * Command that only records what happened to it.
+     */
+    private static class SizedCommand implements Command {
+        private final long bytes;
+        private int executed;
+        private boolean discarded;
+
+        SizedCommand(long bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void execute() { executed++; }
+
+        @Override
+        public void undo() { executed--; }
+
+        @Override
+        public long getRetainedBytes() { return bytes; }
+
+        @Override
+        public void discard() { discarded = true; }
+    }
+
+    private CommandManager manager;
+    private List<SizedCommand> commands;
+
+    @BeforeEach
+    public void setup() {
+        manager = new CommandManager(1000, 3);
+        commands = new ArrayList<>();
+    }
+
+    private void run(long bytes) {
+        SizedCommand command = new SizedCommand(bytes);
+        commands.add(command);
+        manager.executeCommand(command);
+    }
+
+    @Test
+    public void testFootprintFollowsHistory() {
+        run(100);
+        run(200);
+        assertEquals(300, manager.getFootprint());
+
+        manager.undo();
+        assertEquals(300, manager.getFootprint());
+        assertEquals(1, manager.getRedoDepth());
+
+        run(50);
+        assertEquals(150, manager.getFootprint());
+        assertEquals(0, manager.getRedoDepth());
+        assertFalse(commands.get(1).discarded);
+    }
+
+    @Test
+    public void testMaxDepthDropsOldest() {
+        for (int i = 0; i < 5; i++) run(10);
+        assertEquals(3, manager.getUndoDepth());
+        assertEquals(30, manager.getFootprint());
+        assertTrue(commands.get(0).discarded);
+        assertTrue(commands.get(1).discarded);
+        assertFalse(commands.get(2).discarded);
+
+        manager.undo();
+        manager.undo();
+        manager.undo();
+        manager.undo();
+        assertEquals(0, commands.get(2).executed);
+        assertEquals(1, commands.get(1).executed);
+    }
+
+    @Test
+    public void testMemoryBudgetDropsOldest() {
+        run(400);
+        run(400);
+        run(400);
+        assertEquals(2, manager.getUndoDepth());
+        assertEquals(800, manager.getFootprint());
+        assertTrue(commands.get(0).discarded);
+
+        manager.setMemoryBudget(100);
+        assertEquals(1, manager.getUndoDepth());
+        assertSame(commands.get(2), manager.peekUndo());
+    }
+
+    @Test
+    public void testLargestCommandIsKept() {
+        run(5000);
+        assertEquals(1, manager.getUndoDepth());
+        assertEquals(5000, manager.getFootprint());
+
+        manager.undo();
+        assertEquals(0, commands.getFirst().executed);
+        assertEquals(0, manager.getRedoDepth());
+        assertEquals(0, manager.getFootprint());
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> manager.setMemoryBudget(-1));
+        assertThrows(IllegalArgumentException.class, () -> manager.setMaxDepth(0));
+    }
+
+    private TableController tableController;
+    private int tableId;
+    private int columnId;
+    private long now;
+
+    private void setupTable() {
+        tableController = new TableController();
+        tableId = tableController.createTable();
+        tableController.addColumnToTable(tableId);
+        tableController.appendRowsToTable(tableId, 10);
+        columnId = tableController.getColumns(tableId).getFirst().getId();
+        manager = new CommandManager();
+        manager.setClock(() -> now);
+    }
+
+    private void edit(int row, String value) {
+        Object oldValue = tableController.getRowValue(tableId, columnId, row);
+        manager.executeCommand(new SetCellValueCommand(tableController, tableId, columnId, row, oldValue, value));
+    }
+
+    private Object valueAt(int row) {
+        return tableController.getRowValue(tableId, columnId, row);
+    }
+
+    @Test
+    public void testRepeatedEditsMergeWithinWindow() {
+        setupTable();
+        edit(0, "a");
+        now += 500;
+        edit(0, "ab");
+        now += 500;
+        edit(0, "abc");
+        assertEquals(1, manager.getUndoDepth());
+
+        now += 5000;
+        edit(0, "abcd");
+        edit(1, "x");
+        assertEquals(3, manager.getUndoDepth());
+
+        manager.undo();
+        manager.undo();
+        assertEquals("abc", valueAt(0));
+        manager.undo();
+        assertNull(valueAt(0));
+        manager.redo();
+        assertEquals("abc", valueAt(0));
+    }
+
+    @Test
+    public void testTransactionIsOneStep() {
+        setupTable();
+        manager.begin();
+        for (int pass = 0; pass < 3; pass++) {
+            for (int row = 0; row < 10; row++) {
+                edit(row, "v" + pass);
+            }
+        }
+        manager.commit();
+
+        assertEquals(1, manager.getUndoDepth());
+        CompositeCommand transaction = (CompositeCommand) manager.peekUndo();
+        assertEquals(10, transaction.size());
+
+        manager.undo();
+        for (int row = 0; row < 10; row++) assertNull(valueAt(row));
+        manager.redo();
+        for (int row = 0; row < 10; row++) assertEquals("v2", valueAt(row));
+    }
+
+    @Test
+    public void testTransactionKeepsOrderAroundStructuralChanges() {
+        setupTable();
+        manager.begin();
+        edit(0, "a");
+        manager.executeCommand(new DeleteRowCommand(tableController, tableId, 0));
+        edit(0, "b");
+        manager.commit();
+        assertEquals(3, ((CompositeCommand) manager.peekUndo()).size());
+
+        manager.undo();
+        assertEquals(10, tableController.getRowCount(tableId));
+        assertNull(valueAt(0));
+        assertNull(valueAt(1));
+    }
+
+    @Test
+    public void testRollback() {
+        setupTable();
+        edit(5, "kept");
+        now += 5000;
+        manager.begin();
+        edit(0, "a");
+        edit(5, "b");
+        manager.rollback();
+
+        assertFalse(manager.isInTransaction());
+        assertNull(valueAt(0));
+        assertEquals("kept", valueAt(5));
+        assertEquals(1, manager.getUndoDepth());
+    }
+
+    @Test
+    public void testTransactionMisuse() {
+        setupTable();
+        assertThrows(IllegalStateException.class, () -> manager.commit());
+        assertThrows(IllegalStateException.class, () -> manager.rollback());
+        manager.begin();
+        assertThrows(IllegalStateException.class, () -> manager.begin());
+        assertThrows(IllegalStateException.class, () -> manager.undo());
+        manager.commit();
+        assertEquals(0, manager.getUndoDepth());
+    }
+
+    @Test
+    public void testFailingListenerUndoesCommand() {
+        run(100);
+        manager.undo();
+        manager.setListener(new CommandListener() {
+            @Override
+            public void executed(Command command, long time) {
+                throw new IllegalStateException("journal full");
+            }
+        });
+        SizedCommand failing = new SizedCommand(50);
+        assertThrows(IllegalStateException.class, () -> manager.executeCommand(failing));
+        assertEquals(0, failing.executed);
+        assertEquals(0, manager.getUndoDepth());
+        assertEquals(1, manager.getRedoDepth());
+        assertEquals(100, manager.getFootprint());
+
+        manager.begin();
+        assertThrows(IllegalStateException.class, () -> manager.executeCommand(failing));
+        assertEquals(0, failing.executed);
+        manager.setListener(null);
+        manager.commit();
+        assertEquals(0, manager.getUndoDepth());
+    }
+}
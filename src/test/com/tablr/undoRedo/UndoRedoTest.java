@@ -1,7 +1,11 @@
 package com.tablr.undoRedo;
 
 import com.tablr.controller.AppController;
+import com.tablr.controller.TableController;
+import com.tablr.model.Column;
+import com.tablr.model.ColumnStorage;
 import com.tablr.model.ColumnType;
+import com.tablr.model.Table;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -32,7 +36,7 @@ public class UndoRedoTest {
 
     @Test
     public void testDeleteTableUndoRedo() {
-        int initialCount = app.getTables().size()-1;
+        int initialCount = app.getTables().size();
         int tableId = app.getTables().getFirst().getId();
 
         app.deleteTable(tableId);
@@ -45,6 +49,100 @@ public class UndoRedoTest {
         assertEquals(initialCount - 1, app.getTables().size());
     }
 
+    @Test
+    public void testDeleteTableCountsBackupInFootprint() {
+        int tableId = app.getTables().getFirst().getId();
+        app.addColumnToTable(tableId);
+        app.addRowsToTable(tableId, 5000);
+        long before = app.getHistoryFootprint();
+
+        app.deleteTable(tableId);
+        assertTrue(app.getHistoryFootprint() > before + 5000);
+
+        app.setHistoryLimits(0, 1);
+        app.undo();
+        assertTrue(app.getTables().stream().anyMatch(t -> t.getId() == tableId));
+    }
+
+    @Test
+    public void testDeleteTableKeepsTableInsteadOfCopy() {
+        TableController tableController = new TableController();
+        int tableId = tableController.createTable();
+        Table table = tableController.getTable(tableId);
+        DeleteTableCommand command = new DeleteTableCommand(tableController, tableId);
+
+        command.execute();
+        assertFalse(tableController.hasTable(tableId));
+        assertFalse(command.isSpilled());
+        command.undo();
+        assertSame(table, tableController.getTable(tableId));
+    }
+
+    @Test
+    public void testDiscardedDeleteTableStopsCountingOffHeapMemory() {
+        TableController tableController = new TableController();
+        tableController.setStorageFactory(ColumnStorage::offHeap);
+        int tableId = tableController.createTable();
+        Table table = tableController.getTable(tableId);
+        table.createColumn();
+        table.appendRows(5000);
+        long allocated = table.getStorage().getAllocatedBytes();
+        assertTrue(allocated > 0);
+
+        DeleteTableCommand command = new DeleteTableCommand(tableController, tableId);
+        command.execute();
+        // Kept for undo
+        assertEquals(allocated, table.getStorage().getAllocatedBytes());
+        command.discard();
+        assertEquals(0, table.getStorage().getAllocatedBytes());
+    }
+
+    @Test
+    public void testDeleteColumnKeepsOffHeapValuesUntilDiscarded() {
+        TableController tableController = new TableController();
+        tableController.setStorageFactory(ColumnStorage::offHeap);
+        int tableId = tableController.createTable();
+        Table table = tableController.getTable(tableId);
+        table.createColumn();
+        table.createColumn();
+        table.appendRows(5000);
+        int columnId = table.getColumnByIndex(1).getId();
+        table.setValue(columnId, 4000, "kept");
+        long allocated = table.getStorage().getAllocatedBytes();
+
+        DeleteColumnCommand command = new DeleteColumnCommand(tableController, tableId, columnId);
+        command.execute();
+        // The deleted column is not copied out of the storage
+        assertEquals(allocated, table.getStorage().getAllocatedBytes());
+        command.undo();
+        assertEquals("kept", table.getColumn(columnId).getValue(4000));
+
+        command.execute();
+        command.discard();
+        assertTrue(table.getStorage().getAllocatedBytes() < allocated);
+    }
+
+    @Test
+    public void testDeleteTableAndColumnUndoFromSpillFile() {
+        int tableId = app.getTables().getFirst().getId();
+        app.addColumnToTable(tableId);
+        app.addColumnToTable(tableId);
+        app.addRowsToTable(tableId, 100);
+        int columnId = app.getTable(tableId).getColumns().getLast().getId();
+        app.setRowValue(tableId, columnId, 42, "kept");
+        app.setSpillThreshold(0);
+
+        app.deleteColumn(tableId, columnId);
+        app.deleteTable(tableId);
+        assertTrue(app.getHistoryFootprint() < 1000);
+
+        app.undo();
+        app.undo();
+        assertEquals(2, app.getTable(tableId).getColumnCount());
+        assertEquals(100, app.getTable(tableId).getRowCount());
+        assertEquals("kept", app.getTable(tableId).getColumn(columnId).getValue(42));
+    }
+
     @Test
     public void testRenameTableUndoRedo() {
         int tableId = app.getTables().getFirst().getId();
@@ -81,6 +179,31 @@ public class UndoRedoTest {
         assertEquals(initialCount + 1, app.getTable(tableId).getColumnCount());
     }
 
+    @Test
+    public void testUndoAddColumnReleasesIdAndName() {
+        int tableId = app.getTables().getFirst().getId();
+        app.addColumnToTable(tableId);
+        Column<?> added = app.getTable(tableId).getColumns().getLast();
+
+        app.undo();
+        app.addColumnToTable(tableId);
+        Column<?> again = app.getTable(tableId).getColumns().getLast();
+        assertEquals(added.getId(), again.getId());
+        assertEquals(added.getName(), again.getName());
+    }
+
+    @Test
+    public void testUndoCreateTableReleasesIdAndName() {
+        app.createTable();
+        Table created = app.getTables().getLast();
+
+        app.undo();
+        app.createTable();
+        Table again = app.getTables().getLast();
+        assertEquals(created.getId(), again.getId());
+        assertEquals(created.getName(), again.getName());
+    }
+
     @Test
     public void testRenameColumnUndoRedo() {
         int tableId = app.getTables().getFirst().getId();
@@ -137,6 +260,23 @@ public class UndoRedoTest {
         assertEquals(initialRowCount + 1, app.getTable(tableId).getRowCount());
     }
 
+    @Test
+    public void testAddRowsUndoRedo() {
+        int tableId = app.getTables().getFirst().getId();
+        app.addColumnToTable(tableId);
+        int initialRowCount = app.getTable(tableId).getRowCount();
+
+        app.addRowsToTable(tableId, 2500);
+        assertEquals(initialRowCount + 2500, app.getTable(tableId).getRowCount());
+
+        app.undo();
+        assertEquals(initialRowCount, app.getTable(tableId).getRowCount());
+
+        app.redo();
+        assertEquals(initialRowCount + 2500, app.getTable(tableId).getRowCount());
+        assertThrows(IllegalArgumentException.class, () -> app.addRowsToTable(tableId, -1));
+    }
+
     @Test
     public void testChangeDefaultValueUndoRedo() {
         int tableId = app.getTables().getFirst().getId();
@@ -97,5 +97,70 @@ public class TableAreaDrawerTest {
 
         assertDoesNotThrow(() -> TableAreaDrawer.drawBooleanCell(g, cell));
     }
-}
 
+    private static TableArea gridArea(int rows) {
+        TableArea grid = new TableArea(3, rows);
+        grid.setAreaTitle(java.util.List.of("A", "B", "C"));
+        for (int c = 0; c < 3; c++) {
+            Cell[] cells = new Cell[rows];
+            for (int r = 0; r < rows; r++) {
+                Rectangle region = new Rectangle(20 + 100 * c, 40 + 20 * r, 100, 20);
+                cells[r] = c == 1 ? new BooleanCell(r % 2 == 0, null, region)
+                        : new NormalCell("value " + r + " of a long text", region);
+            }
+            grid.setColumn(cells, c);
+        }
+        return grid;
+    }
+
+    @Test
+    void testClippedDrawingMatchesFullDrawing() {
+        TableArea grid = gridArea(40);
+        BufferedImage full = new BufferedImage(400, 900, BufferedImage.TYPE_INT_ARGB);
+        TableAreaDrawer.drawTableArea(full.getGraphics(), grid);
+
+        Rectangle clip = new Rectangle(150, 200, 230, 95);
+        BufferedImage clipped = new BufferedImage(400, 900, BufferedImage.TYPE_INT_ARGB);
+        Graphics clippedGraphics = clipped.getGraphics();
+        clippedGraphics.setClip(clip);
+        TableAreaDrawer.drawTableArea(clippedGraphics, grid);
+
+        for (int x = clip.x; x < clip.x + clip.width; x++) {
+            for (int y = clip.y; y < clip.y + clip.height; y++) {
+                assertEquals(full.getRGB(x, y), clipped.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void testClippedDrawingOfLargeTableIsFast() {
+        TableArea grid = gridArea(200_000);
+        Graphics clipped = new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB).getGraphics();
+        clipped.setClip(0, 0, 400, 300);
+        TableAreaDrawer.drawTableArea(clipped, grid);
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            TableAreaDrawer.drawTableArea(clipped, grid);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(millis < 2_000, "Drawing took " + millis + " ms");
+    }
+
+    @Test
+    void testMovedAreaDrawsAsTranslatedCopy() {
+        TableArea grid = gridArea(10);
+        grid.SetBounds(0, -10);
+        BufferedImage home = new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB);
+        TableAreaDrawer.drawTableArea(home.getGraphics(), grid);
+
+        grid.SetBounds(70, 30);
+        BufferedImage moved = new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB);
+        TableAreaDrawer.drawTableArea(moved.getGraphics(), grid);
+
+        for (int x = 0; x < 330; x++) {
+            for (int y = 0; y < 260; y++) {
+                assertEquals(home.getRGB(x, y), moved.getRGB(x + 70, y + 40), "pixel " + x + "," + y);
+            }
+        }
+    }
+}